@@ -6,6 +6,7 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.scene.image.Image;
+import app.service.SuggestionEngine;
 
 public class Main extends Application {
     
@@ -36,6 +37,11 @@ public class Main extends Application {
         }
         
         stage.show();
+        
+        // Compile the suggestion tables while the user logs in
+        Thread warmup = new Thread(SuggestionEngine::getInstance, "suggestion-warmup");
+        warmup.setDaemon(true);
+        warmup.start();
     }
     
     public static Stage getPrimaryStage() {
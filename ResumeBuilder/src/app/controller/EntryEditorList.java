@@ -0,0 +1,237 @@
+package app.controller;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Repeatable form entries (education, experience, projects) bound to a model list
+ * Every keystroke is committed straight to the bound list by replacing the
+ * entry with an edited copy, so snapshots already taken never change and
+ * nothing has to be read back from the form on navigation. Editors for
+ * removed entries are kept in a pool and reused, so adding an entry costs
+ * the same however many are already on screen.
+ */
+final class EntryEditorList<T> {
+
+    // Removed editors kept for reuse
+    private static final int MAX_POOLED = 8;
+
+    private final Pane container;
+    private final String title;
+    private final Supplier<T> factory;
+    private final UnaryOperator<T> copier;
+    private final List<List<EntryField<T>>> rows = new ArrayList<>();
+    private final List<Editor> editors = new ArrayList<>();
+    private final Deque<Editor> pool = new ArrayDeque<>();
+    private List<T> model;
+
+    /**
+     * @param factory Creates a blank entry
+     * @param copier Copies an entry, so edits never touch the instance a snapshot holds
+     */
+    EntryEditorList(Pane container, String title, Supplier<T> factory, UnaryOperator<T> copier) {
+        this.container = container;
+        this.title = title;
+        this.factory = factory;
+        this.copier = copier;
+    }
+
+    /**
+     * Adds a form row; several fields share the row side by side
+     */
+    @SafeVarargs
+    final EntryEditorList<T> row(EntryField<T>... fields) {
+        List<EntryField<T>> row = new ArrayList<>(fields.length);
+        for (EntryField<T> field : fields) {
+            row.add(field);
+        }
+        rows.add(row);
+        return this;
+    }
+
+    /**
+     * Shows the model's entries and commits later edits to it
+     */
+    void bind(List<T> model) {
+        this.model = model;
+        while (editors.size() > model.size()) {
+            release(editors.remove(editors.size() - 1));
+        }
+        while (editors.size() < model.size()) {
+            Editor editor = acquire();
+            editors.add(editor);
+            container.getChildren().add(editor.node);
+        }
+        for (int i = 0; i < editors.size(); i++) {
+            editors.get(i).show(i, model.get(i));
+        }
+    }
+
+    /**
+     * Appends a blank entry and focuses its first field
+     */
+    void add() {
+        T entry = factory.get();
+        if (model != null) {
+            model.add(entry);
+        }
+        Editor editor = acquire();
+        editor.show(editors.size(), entry);
+        editors.add(editor);
+        container.getChildren().add(editor.node);
+        editor.inputs.get(0).requestFocus();
+    }
+
+    private void remove(int index) {
+        if (model != null) {
+            model.remove(index);
+        }
+        release(editors.remove(index));
+        for (int i = index; i < editors.size(); i++) {
+            editors.get(i).index = i;
+        }
+    }
+
+    private void commit(int index, EntryField<T> field, String text) {
+        if (model == null || index < 0) {
+            return;
+        }
+        T edited = copier.apply(model.get(index));
+        field.setter.accept(edited, text.trim());
+        model.set(index, edited);
+    }
+
+    private Editor acquire() {
+        return pool.isEmpty() ? new Editor() : pool.pop();
+    }
+
+    private void release(Editor editor) {
+        editor.index = -1;
+        container.getChildren().remove(editor.node);
+        if (pool.size() < MAX_POOLED) {
+            pool.push(editor);
+        }
+    }
+
+    private final class Editor {
+        final VBox node = new VBox();
+        final List<TextInputControl> inputs = new ArrayList<>();
+        int index = -1;
+        boolean showing;
+
+        Editor() {
+            node.setSpacing(12);
+            node.getStyleClass().add("form-section");
+
+            // Header with remove button
+            HBox header = new HBox();
+            header.setAlignment(Pos.CENTER_LEFT);
+            header.setSpacing(12);
+
+            Label titleLabel = new Label(title);
+            titleLabel.getStyleClass().add("label-subheading");
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+
+            Button removeButton = new Button("Remove");
+            removeButton.getStyleClass().add("button-secondary");
+            removeButton.setOnAction(event -> remove(index));
+
+            header.getChildren().addAll(titleLabel, spacer, removeButton);
+            node.getChildren().add(header);
+
+            for (List<EntryField<T>> row : rows) {
+                HBox line = row.size() > 1 ? new HBox() : null;
+                if (line != null) {
+                    line.setSpacing(16);
+                    node.getChildren().add(line);
+                }
+                for (EntryField<T> field : row) {
+                    TextInputControl input = field.create();
+                    input.textProperty().addListener((observable, oldValue, newValue) -> {
+                        if (!showing) {
+                            commit(index, field, newValue);
+                        }
+                    });
+                    inputs.add(input);
+                    if (line != null) {
+                        HBox.setHgrow(input, Priority.ALWAYS);
+                        line.getChildren().add(input);
+                    } else {
+                        node.getChildren().add(input);
+                    }
+                }
+            }
+        }
+
+        void show(int index, T entry) {
+            this.index = index;
+            showing = true;
+            int i = 0;
+            for (List<EntryField<T>> row : rows) {
+                for (EntryField<T> field : row) {
+                    String value = field.getter.apply(entry);
+                    inputs.get(i++).setText(value != null ? value : "");
+                }
+            }
+            showing = false;
+        }
+    }
+
+    /**
+     * One text input bound to a property of the entry
+     */
+    static final class EntryField<T> {
+        final String prompt;
+        final Function<T, String> getter;
+        final BiConsumer<T, String> setter;
+        final boolean multiline;
+
+        private EntryField(String prompt, Function<T, String> getter, BiConsumer<T, String> setter, boolean multiline) {
+            this.prompt = prompt;
+            this.getter = getter;
+            this.setter = setter;
+            this.multiline = multiline;
+        }
+
+        static <T> EntryField<T> text(String prompt, Function<T, String> getter, BiConsumer<T, String> setter) {
+            return new EntryField<>(prompt, getter, setter, false);
+        }
+
+        static <T> EntryField<T> area(String prompt, Function<T, String> getter, BiConsumer<T, String> setter) {
+            return new EntryField<>(prompt, getter, setter, true);
+        }
+
+        TextInputControl create() {
+            if (multiline) {
+                TextArea area = new TextArea();
+                area.setPromptText(prompt);
+                area.setPrefRowCount(3);
+                area.setWrapText(true);
+                return area;
+            }
+            TextField field = new TextField();
+            field.setPromptText(prompt);
+            return field;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package app.controller;
+
+import app.service.ValidationEngine;
+import javafx.animation.PauseTransition;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.layout.Pane;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shows validation errors under form fields as the user types
+ * Each attached field is re-checked on its own once typing pauses, using the
+ * shared {@link ValidationEngine} rules; the error appears in a label placed
+ * right after the field and the field gets the "field-invalid" style class.
+ */
+final class InlineValidator {
+
+    private static final Duration DEBOUNCE = Duration.millis(300);
+
+    private final ValidationEngine engine = ValidationEngine.getInstance();
+    private final List<FieldCheck> checks = new ArrayList<>();
+
+    void attach(ValidationEngine.Field field, TextInputControl control) {
+        if (control != null) {
+            checks.add(new FieldCheck(field, control));
+        }
+    }
+
+    /**
+     * Checks every attached field now, skipping any pending debounce
+     *
+     * @return true if all fields are valid; otherwise the first invalid field is focused
+     */
+    boolean validateAll() {
+        FieldCheck firstInvalid = null;
+        for (FieldCheck check : checks) {
+            check.pause.stop();
+            if (!check.run() && firstInvalid == null) {
+                firstInvalid = check;
+            }
+        }
+        if (firstInvalid != null) {
+            firstInvalid.control.requestFocus();
+        }
+        return firstInvalid == null;
+    }
+
+    private final class FieldCheck {
+        final ValidationEngine.Field field;
+        final TextInputControl control;
+        final PauseTransition pause = new PauseTransition(DEBOUNCE);
+        Label errorLabel;
+
+        FieldCheck(ValidationEngine.Field field, TextInputControl control) {
+            this.field = field;
+            this.control = control;
+            pause.setOnFinished(event -> run());
+            control.textProperty().addListener((observable, oldValue, newValue) -> pause.playFromStart());
+        }
+
+        boolean run() {
+            String message = engine.validateField(field, control.getText());
+            show(message);
+            return message == null;
+        }
+
+        private void show(String message) {
+            control.getStyleClass().remove("field-invalid");
+            if (message == null) {
+                if (errorLabel != null) {
+                    errorLabel.setVisible(false);
+                    errorLabel.setManaged(false);
+                }
+                return;
+            }
+
+            control.getStyleClass().add("field-invalid");
+            if (errorLabel == null) {
+                errorLabel = new Label();
+                errorLabel.getStyleClass().add("field-error");
+                errorLabel.setWrapText(true);
+                Parent parent = control.getParent();
+                if (parent instanceof Pane) {
+                    List<Node> children = ((Pane) parent).getChildren();
+                    children.add(children.indexOf(control) + 1, errorLabel);
+                }
+            }
+            errorLabel.setText(message);
+            errorLabel.setVisible(true);
+            errorLabel.setManaged(true);
+        }
+    }
+}
@@ -10,6 +10,8 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.event.ActionEvent;
 import app.Main;
+import app.service.SessionManager;
+import app.service.ValidationEngine;
 
 import java.net.URL;
 import java.util.ResourceBundle;
@@ -40,7 +42,8 @@ public class LoginController implements Initializable {
     private static final Logger logger = Logger.getLogger(LoginController.class.getName());
     private final Preferences prefs = Preferences.userNodeForPackage(LoginController.class);
     
-    private static String currentUser = "Guest";
+    // Session of the user signed in at this window; its state lives in the SessionManager
+    private static volatile String currentSessionId;
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -95,14 +98,10 @@ public class LoginController implements Initializable {
                          !confirmPasswordField.getText().trim().isEmpty() &&
                          !emailField.getText().trim().isEmpty() &&
                          registerPasswordField.getText().equals(confirmPasswordField.getText()) &&
-                         isValidEmail(emailField.getText());
+                         ValidationEngine.isValidEmail(emailField.getText());
         registerButton.setDisable(!isValid);
     }
     
-    private boolean isValidEmail(String email) {
-        return email.matches("^[A-Za-z0-9+_.-]+@(.+)$");
-    }
-    
     private void loadSavedCredentials() {
         String savedUsername = prefs.get("username", "");
         boolean rememberMe = prefs.getBoolean("rememberMe", false);
@@ -125,7 +124,7 @@ public class LoginController implements Initializable {
         
         // Simple authentication (in real app, this would be more secure)
         if (authenticateUser(username, password)) {
-            currentUser = username;
+            startSession(username);
             
             // Save credentials if remember me is checked
             if (rememberMeCheckBox.isSelected()) {
@@ -164,7 +163,7 @@ public class LoginController implements Initializable {
             return;
         }
         
-        if (!isValidEmail(email)) {
+        if (!ValidationEngine.isValidEmail(email)) {
             showStatus("Please enter a valid email address", "error");
             return;
         }
@@ -176,7 +175,7 @@ public class LoginController implements Initializable {
         
         // Register user (in real app, this would save to database)
         if (registerUser(username, password, email)) {
-            currentUser = username;
+            startSession(username);
             logger.log(Level.INFO, "New user registered: " + username);
             showStatus("Registration successful! Redirecting...", "success");
             
@@ -189,7 +188,7 @@ public class LoginController implements Initializable {
     
     @FXML
     private void handleGuestMode(ActionEvent event) {
-        currentUser = "Guest";
+        startSession("Guest");
         logger.info("User entered guest mode");
         showStatus("Entering guest mode...", "success");
         
@@ -259,7 +258,31 @@ public class LoginController implements Initializable {
         }
     }
     
+    private static void startSession(String user) {
+        SessionManager sessions = SessionManager.getInstance();
+        if (currentSessionId != null) {
+            sessions.close(currentSessionId);
+        }
+        SessionManager.Session session = sessions.open(user);
+        
+        // The desktop user's session lives as long as the app, however long they spend in the wizard
+        session.setPinned(true);
+        currentSessionId = session.getId();
+    }
+    
+    /**
+     * The signed-in user's session; a guest session is started if there is none or it was evicted
+     */
+    public static SessionManager.Session getCurrentSession() {
+        SessionManager.Session session = SessionManager.getInstance().get(currentSessionId);
+        if (session == null) {
+            startSession("Guest");
+            session = SessionManager.getInstance().get(currentSessionId);
+        }
+        return session;
+    }
+    
     public static String getCurrentUser() {
-        return currentUser;
+        return getCurrentSession().getUser();
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package app.controller;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import app.exporter.ResumeExporter;
+import app.model.ResumeSnapshot;
+
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Renders live resume previews off the FX thread
+ * Requests are debounced and coalesced per key: a request that is superseded
+ * before its debounce delay expires (or while it is rendering) is dropped, so
+ * rapid selection changes or typing only ever render the latest state.
+ * A key's request is forgotten once it has rendered, so nothing it holds
+ * (the snapshot, the callback and the views it updates) outlives it.
+ */
+public class PreviewRenderer {
+
+    private static final Logger logger = Logger.getLogger(PreviewRenderer.class.getName());
+
+    private final ScheduledExecutorService executor;
+    private final long debounceMillis;
+    private final Map<String, Request> latest = new ConcurrentHashMap<>();
+
+    public PreviewRenderer(long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "preview-renderer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules a render; the callback runs on the FX thread with the result
+     *
+     * @param key Coalescing key (e.g. "card:template1" or "preview")
+     * @param snapshot Immutable resume state to render
+     * @param templateId Template to render with
+     * @param includeQR Whether to draw the QR placeholder
+     * @param scale Output scale relative to the full page
+     * @param onRendered Receives the rendered image on the FX thread
+     */
+    public void request(String key, ResumeSnapshot snapshot, String templateId, boolean includeQR,
+                        double scale, Consumer<Image> onRendered) {
+        Request request = new Request(snapshot, templateId, includeQR, scale, onRendered);
+        latest.put(key, request);
+        executor.schedule(() -> render(key, request), debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void render(String key, Request request) {
+        if (isSuperseded(key, request)) {
+            return;
+        }
+
+        try {
+            BufferedImage rendered = ResumeExporter.renderPreview(
+                request.snapshot.toResumeData(), request.templateId, request.includeQR, request.scale);
+            Image image = toFxImage(rendered);
+
+            Platform.runLater(() -> {
+                // Drop results that were overtaken while rendering; a newer request keeps its entry
+                if (latest.remove(key, request)) {
+                    request.onRendered.accept(image);
+                }
+            });
+        } catch (RuntimeException e) {
+            latest.remove(key, request);
+            logger.log(Level.WARNING, "Preview rendering failed for " + request.templateId, e);
+        }
+    }
+
+    // The newer request that replaced this one owns the key's entry and removes it in turn
+    private boolean isSuperseded(String key, Request request) {
+        return latest.get(key) != request;
+    }
+
+    private static Image toFxImage(BufferedImage source) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int[] pixels = source.getRGB(0, 0, width, height, null, 0, width);
+
+        WritableImage image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return image;
+    }
+
+    private static final class Request {
+        final ResumeSnapshot snapshot;
+        final String templateId;
+        final boolean includeQR;
+        final double scale;
+        final Consumer<Image> onRendered;
+
+        Request(ResumeSnapshot snapshot, String templateId, boolean includeQR,
+                double scale, Consumer<Image> onRendered) {
+            this.snapshot = snapshot;
+            this.templateId = templateId;
+            this.includeQR = includeQR;
+            this.scale = scale;
+            this.onRendered = onRendered;
+        }
+    }
+}
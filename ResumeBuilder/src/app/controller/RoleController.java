@@ -1,8 +1,10 @@
 package app.controller;
 
+import javafx.animation.AnimationTimer;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -13,6 +15,8 @@ import javafx.geometry.Pos;
 import javafx.geometry.Insets;
 import app.Main;
 import app.model.ResumeData;
+import app.service.RoleRecommender;
+import app.service.SessionManager;
 
 import java.net.URL;
 import java.util.ResourceBundle;
@@ -42,17 +46,34 @@ public class RoleController implements Initializable {
     private Map<String, Object> rolesData;
     private String selectedRoleId;
     private Map<String, Object> selectedRoleData;
-    private static ResumeData resumeData = new ResumeData();
+    private SessionManager.Session session;
+    private ResumeData resumeData;
     private List<VBox> roleCards = new ArrayList<>();
     
+    // Role catalogue compiled for skill matching
+    private RoleRecommender roleRecommender;
+    
+    // Cards are built a batch per animation pulse, and only while the user is within a screen of the end
+    private static final int CARDS_PER_PULSE = 12;
+    private List<Map<String, Object>> pendingRoles = Collections.emptyList();
+    private Map<String, RoleRecommender.RoleMatch> roleMatches = Collections.emptyMap();
+    private AnimationTimer cardBuilder;
+    
+    // Details panes are built on first selection and reused afterwards
+    private final Map<String, RoleDetails> detailsCache = new HashMap<>();
+    
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        // Resume and role selection belong to the signed-in user's session
+        session = LoginController.getCurrentSession();
+        resumeData = session.getResumeData();
+        
         // Set welcome message
-        String currentUser = LoginController.getCurrentUser();
-        welcomeLabel.setText("Welcome, " + currentUser + "! 👋");
+        welcomeLabel.setText("Welcome, " + session.getUser() + "! 👋");
         
         // Load role data
         loadRoleData();
+        roleRecommender = RoleRecommender.fromRoles(getRoles());
         
         // Create role cards
         createRoleCards();
@@ -184,21 +205,72 @@ public class RoleController implements Initializable {
     }
     
     @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> getRoles() {
+        List<Map<String, Object>> roles = (List<Map<String, Object>>) rolesData.get("roles");
+        return roles != null ? roles : Collections.emptyList();
+    }
+    
     private void createRoleCards() {
         roleCardsContainer.getChildren().clear();
         roleCards.clear();
         
-        List<Map<String, Object>> roles = (List<Map<String, Object>>) rolesData.get("roles");
-        if (roles == null) return;
+        List<Map<String, Object>> roles = getRoles();
         
-        for (Map<String, Object> role : roles) {
-            VBox roleCard = createRoleCard(role);
-            roleCards.add(roleCard);
-            roleCardsContainer.getChildren().add(roleCard);
+        // Best matches for the student's skills first; catalogue order until skills are entered
+        Map<String, RoleRecommender.RoleMatch> matches = new HashMap<>();
+        for (RoleRecommender.RoleMatch match : roleRecommender.recommend(resumeData, roles.size())) {
+            matches.put(match.getRoleId(), match);
         }
+        List<Map<String, Object>> ordered = new ArrayList<>(roles);
+        ordered.sort(Comparator.comparingDouble(role -> {
+            RoleRecommender.RoleMatch match = matches.get(String.valueOf(role.get("id")));
+            return match != null ? -match.getScore() : 0;
+        }));
+        
+        pendingRoles = ordered;
+        roleMatches = matches;
+        if (cardBuilder == null) {
+            cardBuilder = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    buildNextCards();
+                }
+            };
+            // Scrolling or resizing towards the end resumes building
+            roleScrollPane.vvalueProperty().addListener((observable, oldValue, newValue) -> cardBuilder.start());
+            roleScrollPane.viewportBoundsProperty().addListener((observable, oldValue, newValue) -> cardBuilder.start());
+        }
+        cardBuilder.start();
     }
     
-    private VBox createRoleCard(Map<String, Object> role) {
+    private void buildNextCards() {
+        int built = roleCards.size();
+        if (built >= pendingRoles.size() || !needsMoreCards()) {
+            cardBuilder.stop();
+            return;
+        }
+        
+        int end = Math.min(pendingRoles.size(), built + CARDS_PER_PULSE);
+        List<VBox> batch = new ArrayList<>(end - built);
+        for (Map<String, Object> role : pendingRoles.subList(built, end)) {
+            batch.add(createRoleCard(role, roleMatches.get(String.valueOf(role.get("id")))));
+        }
+        roleCards.addAll(batch);
+        roleCardsContainer.getChildren().addAll(batch);
+    }
+    
+    private boolean needsMoreCards() {
+        double viewportHeight = roleScrollPane.getViewportBounds().getHeight();
+        if (viewportHeight <= 0) {
+            // Not laid out yet; build the first batch so there is something to measure
+            return roleCards.isEmpty();
+        }
+        double contentHeight = roleScrollPane.getContent().getLayoutBounds().getHeight();
+        double scrolled = roleScrollPane.getVvalue() * Math.max(0, contentHeight - viewportHeight);
+        return contentHeight - scrolled - viewportHeight < viewportHeight;
+    }
+    
+    private VBox createRoleCard(Map<String, Object> role, RoleRecommender.RoleMatch match) {
         VBox card = new VBox();
         card.setAlignment(Pos.CENTER);
         card.setSpacing(12);
@@ -224,6 +296,14 @@ public class RoleController implements Initializable {
         
         card.getChildren().addAll(icon, name, description);
         
+        // Skill match badge, with the matched skills on hover
+        if (match != null) {
+            Label matchLabel = new Label("⭐ " + Math.round(match.getScore() * 100) + "% skill match");
+            matchLabel.getStyleClass().add("role-match");
+            matchLabel.setTooltip(new Tooltip("Matches: " + String.join(", ", match.getMatchedSkills())));
+            card.getChildren().add(matchLabel);
+        }
+        
         // Add click handler
         card.setOnMouseClicked(event -> selectRole((String) role.get("id"), role, card));
         
@@ -242,6 +322,7 @@ public class RoleController implements Initializable {
         
         selectedRoleId = roleId;
         selectedRoleData = roleData;
+        session.setSelectedRole(roleData);
         
         // Update resume data
         resumeData.setSelectedRole((String) roleData.get("name"));
@@ -257,17 +338,29 @@ public class RoleController implements Initializable {
         logger.info("Role selected: " + roleData.get("name"));
     }
     
-    @SuppressWarnings("unchecked")
     private void showRoleDetails(Map<String, Object> roleData) {
-        // Clear existing content
-        skillsContainer.getChildren().clear();
-        tipsContainer.getChildren().clear();
-        projectsContainer.getChildren().clear();
+        RoleDetails details = detailsCache.computeIfAbsent(String.valueOf(roleData.get("id")),
+            id -> buildRoleDetails(roleData));
+        
+        skillsContainer.getChildren().setAll(details.skills);
+        tipsContainer.getChildren().setAll(details.tips);
+        projectsContainer.getChildren().setAll(details.projects);
+        
+        // Show objective preview
+        objectivePreview.setText((String) roleData.get("objective_template"));
+        
+        // Make details visible
+        roleDetailsContainer.setVisible(true);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private RoleDetails buildRoleDetails(Map<String, Object> roleData) {
+        RoleDetails details = new RoleDetails();
         
-        // Show skills
+        // Skills
         Label skillsTitle = new Label("💡 Recommended Skills:");
         skillsTitle.getStyleClass().add("label-subheading");
-        skillsContainer.getChildren().add(skillsTitle);
+        details.skills.add(skillsTitle);
         
         FlowPane skillsFlow = new FlowPane();
         skillsFlow.setHgap(8);
@@ -281,45 +374,41 @@ public class RoleController implements Initializable {
                 skillsFlow.getChildren().add(skillTag);
             }
         }
-        skillsContainer.getChildren().add(skillsFlow);
+        details.skills.add(skillsFlow);
         
-        // Show tips
+        // Tips
         Label tipsTitle = new Label("💡 Resume Tips:");
         tipsTitle.getStyleClass().add("label-subheading");
-        tipsContainer.getChildren().add(tipsTitle);
+        details.tips.add(tipsTitle);
         
         List<String> tips = (List<String>) roleData.get("tips");
         if (tips != null) {
             for (String tip : tips) {
-                Label tipLabel = new Label("• " + tip);
-                tipLabel.getStyleClass().add("label");
-                tipLabel.setWrapText(true);
-                tipLabel.setMaxWidth(300);
-                tipsContainer.getChildren().add(tipLabel);
+                details.tips.add(createBulletLabel(tip));
             }
         }
         
-        // Show project suggestions
+        // Project suggestions
         Label projectsTitle = new Label("🚀 Project Ideas:");
         projectsTitle.getStyleClass().add("label-subheading");
-        projectsContainer.getChildren().add(projectsTitle);
+        details.projects.add(projectsTitle);
         
         List<String> projects = (List<String>) roleData.get("projects");
         if (projects != null) {
             for (String project : projects) {
-                Label projectLabel = new Label("• " + project);
-                projectLabel.getStyleClass().add("label");
-                projectLabel.setWrapText(true);
-                projectLabel.setMaxWidth(300);
-                projectsContainer.getChildren().add(projectLabel);
+                details.projects.add(createBulletLabel(project));
             }
         }
         
-        // Show objective preview
-        objectivePreview.setText((String) roleData.get("objective_template"));
-        
-        // Make details visible
-        roleDetailsContainer.setVisible(true);
+        return details;
+    }
+    
+    private Label createBulletLabel(String text) {
+        Label label = new Label("• " + text);
+        label.getStyleClass().add("label");
+        label.setWrapText(true);
+        label.setMaxWidth(300);
+        return label;
     }
     
     @FXML
@@ -381,6 +470,13 @@ public class RoleController implements Initializable {
     }
     
     public static ResumeData getResumeData() {
-        return resumeData;
+        return LoginController.getCurrentSession().getResumeData();
+    }
+    
+    // Nodes of one role's details pane, moved into the shared containers on selection
+    private static final class RoleDetails {
+        final List<Node> skills = new ArrayList<>();
+        final List<Node> tips = new ArrayList<>();
+        final List<Node> projects = new ArrayList<>();
     }
-}
\ No newline at end of file
+}
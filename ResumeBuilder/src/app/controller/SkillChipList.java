@@ -0,0 +1,157 @@
+package app.controller;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.HBox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Skill chips kept in step with an observable list of skills
+ * The list is the source of truth: each change touches only the affected
+ * chips, removed chips go back to a small pool for reuse, and every change
+ * is written straight through to the bound model list. Nothing ever has to
+ * walk the chip nodes to find out which skills exist.
+ */
+final class SkillChipList {
+
+    // Removed chips kept for reuse
+    private static final int MAX_POOLED = 64;
+
+    private final ObservableList<String> skills = FXCollections.observableArrayList();
+    private final Set<String> present = new HashSet<>();
+    private final Deque<Chip> pool = new ArrayDeque<>();
+    private final FlowPane pane;
+    private List<String> model;
+
+    SkillChipList(FlowPane pane) {
+        this.pane = pane;
+        skills.addListener(this::onChanged);
+    }
+
+    /**
+     * Shows the model's skills and writes later changes back to it
+     */
+    void bind(List<String> model) {
+        this.model = null;
+        Set<String> distinct = new LinkedHashSet<>(model);
+        skills.setAll(distinct);
+        if (distinct.size() != model.size()) {
+            model.clear();
+            model.addAll(distinct);
+        }
+        this.model = model;
+    }
+
+    /**
+     * Adds a skill unless it is already present
+     */
+    boolean add(String skill) {
+        if (present.contains(skill)) {
+            return false;
+        }
+        return skills.add(skill);
+    }
+
+    boolean isEmpty() {
+        return skills.isEmpty();
+    }
+
+    private void onChanged(ListChangeListener.Change<? extends String> change) {
+        List<Node> chips = pane.getChildren();
+        while (change.next()) {
+            int from = change.getFrom();
+            if (change.wasPermutated() || change.wasUpdated()) {
+                for (int i = from; i < change.getTo(); i++) {
+                    chip(chips.get(i)).setSkill(skills.get(i));
+                }
+                if (model != null) {
+                    for (int i = from; i < change.getTo(); i++) {
+                        model.set(i, skills.get(i));
+                    }
+                }
+                continue;
+            }
+
+            int removed = change.getRemovedSize();
+            int added = change.getAddedSize();
+            for (String skill : change.getRemoved()) {
+                present.remove(skill);
+            }
+            present.addAll(change.getAddedSubList());
+
+            // Relabel chips in place where one skill replaces another
+            int reused = Math.min(removed, added);
+            for (int i = 0; i < reused; i++) {
+                chip(chips.get(from + i)).setSkill(skills.get(from + i));
+            }
+            if (removed > reused) {
+                List<Node> extra = chips.subList(from + reused, from + removed);
+                for (Node node : extra) {
+                    if (pool.size() < MAX_POOLED) {
+                        pool.push(chip(node));
+                    }
+                }
+                extra.clear();
+            } else if (added > reused) {
+                List<Node> created = new ArrayList<>(added - reused);
+                for (int i = from + reused; i < from + added; i++) {
+                    Chip chip = pool.isEmpty() ? new Chip() : pool.pop();
+                    chip.setSkill(skills.get(i));
+                    created.add(chip.node);
+                }
+                chips.addAll(from + reused, created);
+            }
+
+            if (model != null) {
+                for (int i = 0; i < reused; i++) {
+                    model.set(from + i, skills.get(from + i));
+                }
+                if (removed > reused) {
+                    model.subList(from + reused, from + removed).clear();
+                } else if (added > reused) {
+                    model.addAll(from + reused, skills.subList(from + reused, from + added));
+                }
+            }
+        }
+    }
+
+    private static Chip chip(Node node) {
+        return (Chip) node.getUserData();
+    }
+
+    private final class Chip {
+        final HBox node = new HBox();
+        final Label label = new Label();
+
+        Chip() {
+            node.setAlignment(Pos.CENTER);
+            node.setSpacing(8);
+            node.getStyleClass().add("skill-tag");
+            node.setUserData(this);
+
+            Button removeButton = new Button("\u00d7");
+            removeButton.getStyleClass().addAll("button-secondary");
+            removeButton.setStyle("-fx-min-width: 20px; -fx-min-height: 20px; -fx-padding: 0;");
+            removeButton.setOnAction(event -> skills.remove(label.getText()));
+
+            node.getChildren().addAll(label, removeButton);
+        }
+
+        void setSkill(String skill) {
+            label.setText(skill);
+        }
+    }
+}
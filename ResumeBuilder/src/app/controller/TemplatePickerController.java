@@ -1,5 +1,6 @@
 package app.controller;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
@@ -13,21 +14,32 @@ import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import app.Main;
 import app.model.ResumeData;
+import app.model.ResumeSnapshot;
+import app.exporter.HtmlExporter;
+import app.exporter.LayoutPlan;
+import app.exporter.RenderScheduler;
 import app.exporter.ResumeExporter;
+import app.exporter.TemplateRegistry;
+import app.utils.OutputWriter;
 import app.utils.QRGenerator;
+import app.utils.RenderEnvironment;
 
 import java.net.URL;
 import java.util.ResourceBundle;
 import java.util.logging.Logger;
 import java.util.logging.Level;
-import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 public class TemplatePickerController implements Initializable {
     
@@ -39,6 +51,7 @@ public class TemplatePickerController implements Initializable {
     @FXML private Label selectedTemplateLabel;
     @FXML private VBox previewContainer;
     @FXML private TextArea previewArea;
+    @FXML private ImageView previewImage;
     @FXML private CheckBox includeQRCheckBox;
     @FXML private ComboBox<String> formatComboBox;
     @FXML private TextField fileNameField;
@@ -49,17 +62,25 @@ public class TemplatePickerController implements Initializable {
     private String selectedTemplate;
     private List<VBox> templateCards = new ArrayList<>();
     
-    // Template configurations
-    private static final String[] TEMPLATE_NAMES = {
-        "Modern Professional", "Clean & Simple", "Creative", "Technical"
-    };
+    // Preview text per section, with the section version it was built from
+    private final Map<ResumeData.Section, String> previewBlocks = new EnumMap<>(ResumeData.Section.class);
+    private final Map<ResumeData.Section, Long> previewBlockVersions = new EnumMap<>(ResumeData.Section.class);
     
-    private static final String[] TEMPLATE_DESCRIPTIONS = {
-        "Clean, modern design perfect for corporate roles",
-        "Minimalist layout focusing on content clarity", 
-        "Stylish design with subtle colors and graphics",
-        "Technical layout optimized for engineering roles"
-    };
+    // Live rendered previews (low DPI, rendered off the FX thread)
+    private static final double THUMBNAIL_SCALE = 0.3;
+    private static final double PREVIEW_SCALE = 0.6;
+    private static final long PREVIEW_DEBOUNCE_MS = 150;
+    
+    // One renderer (and its thread) for every visit to the picker; a new visit's
+    // requests supersede any still pending from a picker that has been left
+    private static final PreviewRenderer previewRenderer = new PreviewRenderer(PREVIEW_DEBOUNCE_MS);
+    private final Map<String, ImageView> cardThumbnails = new HashMap<>();
+    private final Map<String, long[]> cardThumbnailVersions = new HashMap<>();
+    
+    // Print-quality export renders at 300 DPI (banded, multi-threaded)
+    private static final String PRINT_FORMAT = "PDF (Print 300 DPI)";
+    private static final int SCREEN_DPI = 72;
+    private static final int PRINT_DPI = 300;
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -72,6 +93,7 @@ public class TemplatePickerController implements Initializable {
     
     public void setResumeData(ResumeData resumeData) {
         this.resumeData = resumeData;
+        refreshCardThumbnails();
         updatePreview();
         
         // Set default filename
@@ -81,7 +103,7 @@ public class TemplatePickerController implements Initializable {
     
     private void setupUI() {
         // Setup format combo box
-        formatComboBox.getItems().addAll("PDF", "HTML (Preview)");
+        formatComboBox.getItems().addAll("PDF", PRINT_FORMAT, "HTML (Preview)");
         formatComboBox.setValue("PDF");
         
         // Setup other defaults
@@ -103,14 +125,15 @@ public class TemplatePickerController implements Initializable {
         templateContainer.getChildren().clear();
         templateCards.clear();
         
-        for (int i = 0; i < TEMPLATE_NAMES.length; i++) {
-            VBox templateCard = createTemplateCard(i);
+        // Built-in and externally installed templates
+        for (LayoutPlan template : TemplateRegistry.getInstance().getTemplates()) {
+            VBox templateCard = createTemplateCard(template);
             templateCards.add(templateCard);
             templateContainer.getChildren().add(templateCard);
         }
     }
     
-    private VBox createTemplateCard(int templateIndex) {
+    private VBox createTemplateCard(LayoutPlan template) {
         VBox card = new VBox();
         card.setAlignment(Pos.CENTER);
         card.setSpacing(12);
@@ -125,20 +148,34 @@ public class TemplatePickerController implements Initializable {
         previewBox.setPrefHeight(260);
         previewBox.getStyleClass().add("template-preview");
         
-        // Create a simple preview representation
-        Label previewLabel = new Label(createTemplatePreview(templateIndex));
+        // Placeholder shown until the live thumbnail is rendered
+        Label previewLabel = new Label(template.getName() + "\n\nRendering preview...");
         previewLabel.setStyle("-fx-font-size: 10px; -fx-text-alignment: center;");
         previewLabel.setWrapText(true);
         previewLabel.setMaxWidth(180);
         
-        previewBox.getChildren().add(previewLabel);
+        ImageView thumbnail = new ImageView();
+        thumbnail.setFitWidth(180);
+        thumbnail.setPreserveRatio(true);
+        thumbnail.setSmooth(true);
+        thumbnail.setVisible(false);
+        thumbnail.setManaged(false);
+        thumbnail.imageProperty().addListener((observable, oldImage, newImage) -> {
+            boolean rendered = newImage != null;
+            thumbnail.setVisible(rendered);
+            thumbnail.setManaged(rendered);
+            previewLabel.setVisible(!rendered);
+            previewLabel.setManaged(!rendered);
+        });
+        
+        previewBox.getChildren().addAll(thumbnail, previewLabel);
         
         // Template name
-        Label nameLabel = new Label(TEMPLATE_NAMES[templateIndex]);
+        Label nameLabel = new Label(template.getName());
         nameLabel.getStyleClass().add("template-name");
         
         // Template description
-        Label descLabel = new Label(TEMPLATE_DESCRIPTIONS[templateIndex]);
+        Label descLabel = new Label(template.getDescription());
         descLabel.getStyleClass().add("label-muted");
         descLabel.setWrapText(true);
         descLabel.setMaxWidth(200);
@@ -147,80 +184,13 @@ public class TemplatePickerController implements Initializable {
         card.getChildren().addAll(previewBox, nameLabel, descLabel);
         
         // Add click handler
-        final String templateId = "template" + (templateIndex + 1);
+        final String templateId = template.getId();
         card.setOnMouseClicked(event -> selectTemplate(templateId, card));
+        cardThumbnails.put(templateId, thumbnail);
         
         return card;
     }
     
-    private String createTemplatePreview(int templateIndex) {
-        switch (templateIndex) {
-            case 0: // Modern Professional
-                return "JOHN DOE\n" +
-                       "Software Developer\n" +
-                       "john@email.com | +91 12345\n\n" +
-                       "OBJECTIVE\n" +
-                       "Aspiring software developer...\n\n" +
-                       "SKILLS\n" +
-                       "• Java  • Python  • React\n\n" +
-                       "EDUCATION\n" +
-                       "B.Tech Computer Science\n" +
-                       "XYZ University (2024)\n\n" +
-                       "PROJECTS\n" +
-                       "Web Application\n" +
-                       "Mobile App";
-                       
-            case 1: // Clean & Simple
-                return "JOHN DOE\n" +
-                       "john@email.com\n" +
-                       "+91 12345 67890\n\n" +
-                       "OBJECTIVE\n" +
-                       "Aspiring software developer with strong\n" +
-                       "programming fundamentals...\n\n" +
-                       "EDUCATION\n" +
-                       "B.Tech Computer Science\n" +
-                       "XYZ University\n\n" +
-                       "SKILLS\n" +
-                       "Java, Python, JavaScript\n\n" +
-                       "PROJECTS\n" +
-                       "E-commerce Website\n" +
-                       "Task Management App";
-                       
-            case 2: // Creative
-                return "🎯 JOHN DOE\n" +
-                       "Software Developer\n\n" +
-                       "📧 john@email.com\n" +
-                       "📱 +91 12345 67890\n\n" +
-                       "💡 OBJECTIVE\n" +
-                       "Creative developer passionate about...\n\n" +
-                       "🎓 EDUCATION\n" +
-                       "B.Tech Computer Science\n\n" +
-                       "⚡ SKILLS\n" +
-                       "[Java] [Python] [React]\n\n" +
-                       "🚀 PROJECTS\n" +
-                       "Innovative Web App\n" +
-                       "Mobile Solution";
-                       
-            case 3: // Technical
-                return "JOHN DOE\n" +
-                       "SOFTWARE ENGINEER\n" +
-                       "═══════════════════\n" +
-                       "CONTACT\n" +
-                       "📧 john@email.com\n" +
-                       "🔗 github.com/johndoe\n\n" +
-                       "TECHNICAL SKILLS\n" +
-                       "Languages: Java, Python, C++\n" +
-                       "Frameworks: Spring, React\n" +
-                       "Tools: Git, Docker, Jenkins\n\n" +
-                       "PROJECTS\n" +
-                       "Distributed System\n" +
-                       "ML Algorithm Implementation";
-                       
-            default:
-                return "Resume Template Preview";
-        }
-    }
-    
     private void selectTemplate(String templateId, VBox clickedCard) {
         // Remove selection from all cards
         for (VBox card : templateCards) {
@@ -231,7 +201,7 @@ public class TemplatePickerController implements Initializable {
         clickedCard.getStyleClass().add("template-card-selected");
         
         selectedTemplate = templateId;
-        selectedTemplateLabel.setText("Selected: " + TEMPLATE_NAMES[getTemplateIndex(templateId)]);
+        selectedTemplateLabel.setText("Selected: " + TemplateRegistry.getInstance().getOrDefault(templateId).getName());
         exportButton.setDisable(false);
         
         // Update preview
@@ -240,8 +210,29 @@ public class TemplatePickerController implements Initializable {
         logger.info("Template selected: " + templateId);
     }
     
-    private int getTemplateIndex(String templateId) {
-        return Integer.parseInt(templateId.replace("template", "")) - 1;
+    /**
+     * Re-renders card thumbnails whose template has not yet seen the current content
+     */
+    private void refreshCardThumbnails() {
+        if (resumeData == null) {
+            return;
+        }
+        
+        ResumeSnapshot snapshot = resumeData.snapshot();
+        long[] versions = sectionVersions(snapshot);
+        
+        for (Map.Entry<String, ImageView> entry : cardThumbnails.entrySet()) {
+            String templateId = entry.getKey();
+            if (Arrays.equals(cardThumbnailVersions.get(templateId), versions)) {
+                continue; // Cached thumbnail is still current
+            }
+            
+            ImageView thumbnail = entry.getValue();
+            previewRenderer.request("card:" + templateId, snapshot, templateId, false, THUMBNAIL_SCALE, image -> {
+                thumbnail.setImage(image);
+                cardThumbnailVersions.put(templateId, versions);
+            });
+        }
     }
     
     private void updatePreview() {
@@ -251,6 +242,25 @@ public class TemplatePickerController implements Initializable {
         
         String preview = generatePreviewText();
         previewArea.setText(preview);
+        
+        // Rendered preview replaces the text preview once available
+        previewRenderer.request("preview", resumeData.snapshot(), selectedTemplate,
+            includeQRCheckBox.isSelected(), PREVIEW_SCALE, image -> {
+                previewImage.setImage(image);
+                previewImage.setVisible(true);
+                previewImage.setManaged(true);
+                previewArea.setVisible(false);
+                previewArea.setManaged(false);
+            });
+    }
+    
+    private static long[] sectionVersions(ResumeSnapshot snapshot) {
+        ResumeData.Section[] sections = ResumeData.Section.values();
+        long[] versions = new long[sections.length];
+        for (int i = 0; i < sections.length; i++) {
+            versions[i] = snapshot.getSectionVersion(sections[i]);
+        }
+        return versions;
     }
     
     private String generatePreviewText() {
@@ -259,6 +269,46 @@ public class TemplatePickerController implements Initializable {
         // Header
         preview.append("====== RESUME PREVIEW ======\n\n");
         
+        // Each block is rebuilt only when its section changed since the last preview
+        preview.append(previewBlock(ResumeData.Section.HEADER, this::buildHeaderPreview));
+        preview.append(previewBlock(ResumeData.Section.OBJECTIVE, this::buildObjectivePreview));
+        preview.append(previewBlock(ResumeData.Section.SKILLS, this::buildSkillsPreview));
+        
+        // Education (placeholder)
+        preview.append("EDUCATION\n");
+        preview.append("Your educational background will appear here\n\n");
+        
+        // Experience (placeholder)
+        preview.append("EXPERIENCE\n");
+        preview.append("Your work experience will appear here\n\n");
+        
+        // Projects (placeholder)
+        preview.append("PROJECTS\n");
+        preview.append("Your projects will appear here\n\n");
+        
+        // QR Code note
+        if (includeQRCheckBox.isSelected()) {
+            preview.append("Note: QR code will be included in the exported PDF\n");
+        }
+        
+        preview.append("\n====== END PREVIEW ======");
+        
+        return preview.toString();
+    }
+    
+    private String previewBlock(ResumeData.Section section, Supplier<String> builder) {
+        long version = resumeData.getSectionVersion(section);
+        Long cachedVersion = previewBlockVersions.get(section);
+        if (cachedVersion == null || cachedVersion != version) {
+            previewBlocks.put(section, builder.get());
+            previewBlockVersions.put(section, version);
+        }
+        return previewBlocks.get(section);
+    }
+    
+    private String buildHeaderPreview() {
+        StringBuilder preview = new StringBuilder();
+        
         // Personal Information
         preview.append(resumeData.getFullName() != null ? resumeData.getFullName().toUpperCase() : "YOUR NAME");
         preview.append("\n");
@@ -282,47 +332,33 @@ public class TemplatePickerController implements Initializable {
         }
         preview.append("\n");
         
-        // Objective
-        if (resumeData.getObjective() != null && !resumeData.getObjective().trim().isEmpty()) {
-            preview.append("CAREER OBJECTIVE\n");
-            preview.append(resumeData.getObjective()).append("\n\n");
+        return preview.toString();
+    }
+    
+    private String buildObjectivePreview() {
+        if (resumeData.getObjective() == null || resumeData.getObjective().trim().isEmpty()) {
+            return "";
+        }
+        return "CAREER OBJECTIVE\n" + resumeData.getObjective() + "\n\n";
+    }
+    
+    private String buildSkillsPreview() {
+        if (resumeData.getTechnicalSkills().isEmpty() && resumeData.getSoftSkills().isEmpty()) {
+            return "";
         }
         
-        // Skills
-        if (!resumeData.getTechnicalSkills().isEmpty() || !resumeData.getSoftSkills().isEmpty()) {
-            preview.append("SKILLS\n");
-            if (!resumeData.getTechnicalSkills().isEmpty()) {
-                preview.append("Technical: ");
-                preview.append(String.join(", ", resumeData.getTechnicalSkills()));
-                preview.append("\n");
-            }
-            if (!resumeData.getSoftSkills().isEmpty()) {
-                preview.append("Soft Skills: ");
-                preview.append(String.join(", ", resumeData.getSoftSkills()));
-                preview.append("\n");
-            }
+        StringBuilder preview = new StringBuilder("SKILLS\n");
+        if (!resumeData.getTechnicalSkills().isEmpty()) {
+            preview.append("Technical: ");
+            preview.append(String.join(", ", resumeData.getTechnicalSkills()));
             preview.append("\n");
         }
-        
-        // Education (placeholder)
-        preview.append("EDUCATION\n");
-        preview.append("Your educational background will appear here\n\n");
-        
-        // Experience (placeholder)
-        preview.append("EXPERIENCE\n");
-        preview.append("Your work experience will appear here\n\n");
-        
-        // Projects (placeholder)
-        preview.append("PROJECTS\n");
-        preview.append("Your projects will appear here\n\n");
-        
-        // QR Code note
-        if (includeQRCheckBox.isSelected()) {
-            preview.append("Note: QR code will be included in the exported PDF\n");
+        if (!resumeData.getSoftSkills().isEmpty()) {
+            preview.append("Soft Skills: ");
+            preview.append(String.join(", ", resumeData.getSoftSkills()));
+            preview.append("\n");
         }
-        
-        preview.append("\n====== END PREVIEW ======");
-        
+        preview.append("\n");
         return preview.toString();
     }
     
@@ -349,7 +385,9 @@ public class TemplatePickerController implements Initializable {
         
         try {
             if ("PDF".equals(format)) {
-                exportToPDF(fileName);
+                exportToPDF(fileName, SCREEN_DPI);
+            } else if (PRINT_FORMAT.equals(format)) {
+                exportToPDF(fileName, PRINT_DPI);
             } else {
                 exportToHTML(fileName);
             }
@@ -359,7 +397,7 @@ public class TemplatePickerController implements Initializable {
         }
     }
     
-    private void exportToPDF(String fileName) throws Exception {
+    private void exportToPDF(String fileName, int dpi) throws Exception {
         statusLabel.setText("Generating PDF...");
         
         // Ensure .pdf extension
@@ -367,12 +405,7 @@ public class TemplatePickerController implements Initializable {
             fileName += ".pdf";
         }
         
-        // Create output directory if it doesn't exist
-        File outputDir = new File("output");
-        if (!outputDir.exists()) {
-            outputDir.mkdirs();
-        }
-        
+        // The output writer creates the directory on first use
         String outputPath = "output/" + fileName;
         
         // Generate QR code if requested
@@ -381,22 +414,33 @@ public class TemplatePickerController implements Initializable {
             qrPath = generateQRCode(fileName);
         }
         
-        // Export using ResumeExporter
-        boolean success = ResumeExporter.exportResume(resumeData, selectedTemplate, outputPath, qrPath);
-        
-        if (success) {
-            statusLabel.setText("✅ PDF exported successfully: " + outputPath);
-            logger.info("Resume exported to: " + outputPath);
-            
-            // Show success dialog
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Export Successful");
-            alert.setHeaderText(null);
-            alert.setContentText("Your resume has been exported to: " + outputPath);
-            alert.showAndWait();
-        } else {
-            throw new Exception("Failed to generate PDF");
-        }
+        // Rendered in the interactive lane, ahead of any batch work sharing the render workers;
+        // the snapshot keeps later edits out of an export already under way
+        ResumeData snapshot = resumeData.snapshot().toResumeData();
+        String templateId = selectedTemplate;
+        String qrCodePath = qrPath;
+        RenderScheduler.getInstance()
+            .submit(RenderScheduler.Lane.INTERACTIVE,
+                () -> ResumeExporter.exportResume(snapshot, templateId, outputPath, qrCodePath, dpi))
+            .whenComplete((success, error) -> Platform.runLater(() -> {
+                if (error != null || !success) {
+                    logger.log(Level.SEVERE, "Export failed", error);
+                    statusLabel.setText("");
+                    showAlert("Export failed: Failed to generate PDF");
+                    return;
+                }
+                
+                statusLabel.setText("✅ PDF exported successfully: " + outputPath);
+                logger.info("Resume exported to: " + outputPath);
+                LoginController.getCurrentSession().recordExport(outputPath, templateId);
+                
+                // Show success dialog
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Export Successful");
+                alert.setHeaderText(null);
+                alert.setContentText("Your resume has been exported to: " + outputPath);
+                alert.showAndWait();
+            }));
     }
     
     private void exportToHTML(String fileName) throws Exception {
@@ -408,98 +452,26 @@ public class TemplatePickerController implements Initializable {
         }
         
         String outputPath = "output/" + fileName;
-        String htmlContent = generateHTMLPreview();
-        
-        try (FileOutputStream fos = new FileOutputStream(outputPath)) {
-            fos.write(htmlContent.getBytes("UTF-8"));
-        }
-        
-        statusLabel.setText("✅ HTML preview exported: " + outputPath);
-        
-        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-        alert.setTitle("Export Successful");
-        alert.setHeaderText(null);
-        alert.setContentText("HTML preview exported to: " + outputPath);
-        alert.showAndWait();
-    }
-    
-    private String generateHTMLPreview() {
-        StringBuilder html = new StringBuilder();
-        
-        html.append("<!DOCTYPE html>\n");
-        html.append("<html><head>\n");
-        html.append("<meta charset='UTF-8'>\n");
-        html.append("<title>Resume - ").append(resumeData.getFullName()).append("</title>\n");
-        html.append("<style>\n");
-        html.append("body { font-family: Arial, sans-serif; margin: 40px; line-height: 1.6; }\n");
-        html.append("h1 { color: #2563eb; margin-bottom: 5px; }\n");
-        html.append("h2 { color: #1e40af; border-bottom: 2px solid #e5e7eb; padding-bottom: 5px; }\n");
-        html.append(".contact { color: #6b7280; margin-bottom: 20px; }\n");
-        html.append(".skills { display: flex; flex-wrap: wrap; gap: 8px; }\n");
-        html.append(".skill { background: #e0e7ff; padding: 4px 8px; border-radius: 4px; font-size: 14px; }\n");
-        html.append("</style>\n");
-        html.append("</head><body>\n");
-        
-        // Header
-        html.append("<h1>").append(resumeData.getFullName() != null ? resumeData.getFullName() : "").append("</h1>\n");
-        if (resumeData.getSelectedRole() != null) {
-            html.append("<p><strong>").append(resumeData.getSelectedRole()).append("</strong></p>\n");
-        }
-        
-        // Contact
-        html.append("<div class='contact'>\n");
-        if (resumeData.getEmail() != null) {
-            html.append("📧 ").append(resumeData.getEmail()).append(" | ");
-        }
-        if (resumeData.getPhone() != null) {
-            html.append("📱 ").append(resumeData.getPhone()).append("<br>");
-        }
-        if (resumeData.getLinkedinUrl() != null) {
-            html.append("🔗 <a href='").append(resumeData.getLinkedinUrl()).append("'>LinkedIn</a> | ");
-        }
-        if (resumeData.getGithubUrl() != null) {
-            html.append("🔗 <a href='").append(resumeData.getGithubUrl()).append("'>GitHub</a>");
-        }
-        html.append("</div>\n");
-        
-        // Objective
-        if (resumeData.getObjective() != null && !resumeData.getObjective().trim().isEmpty()) {
-            html.append("<h2>Career Objective</h2>\n");
-            html.append("<p>").append(resumeData.getObjective()).append("</p>\n");
-        }
-        
-        // Skills
-        if (!resumeData.getTechnicalSkills().isEmpty() || !resumeData.getSoftSkills().isEmpty()) {
-            html.append("<h2>Skills</h2>\n");
-            html.append("<div class='skills'>\n");
-            
-            for (String skill : resumeData.getTechnicalSkills()) {
-                html.append("<span class='skill'>").append(skill).append("</span>\n");
-            }
-            for (String skill : resumeData.getSoftSkills()) {
-                html.append("<span class='skill'>").append(skill).append("</span>\n");
-            }
-            
-            html.append("</div>\n");
-        }
-        
-        html.append("<h2>Education</h2>\n");
-        html.append("<p><em>Educational background will be displayed here</em></p>\n");
-        
-        html.append("<h2>Experience</h2>\n");
-        html.append("<p><em>Work experience will be displayed here</em></p>\n");
-        
-        html.append("<h2>Projects</h2>\n");
-        html.append("<p><em>Projects will be displayed here</em></p>\n");
-        
-        html.append("<hr><p style='font-size: 12px; color: #6b7280;'>");
-        html.append("Generated by AI-Powered Resume Builder on ");
-        html.append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")));
-        html.append("</p>\n");
-        
-        html.append("</body></html>");
-        
-        return html.toString();
+        String htmlContent = HtmlExporter.generate(resumeData);
+        
+        // Written on the output I/O thread; report back on the FX thread once the file is in place
+        OutputWriter.getInstance().write(Paths.get(outputPath), htmlContent.getBytes(StandardCharsets.UTF_8))
+            .whenComplete((path, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    logger.log(Level.SEVERE, "Export failed", error);
+                    showAlert("Export failed: " + error.getMessage());
+                    return;
+                }
+                
+                statusLabel.setText("✅ HTML preview exported: " + outputPath);
+                LoginController.getCurrentSession().recordExport(outputPath, selectedTemplate);
+                
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Export Successful");
+                alert.setHeaderText(null);
+                alert.setContentText("HTML preview exported to: " + outputPath);
+                alert.showAndWait();
+            }));
     }
     
     private String generateQRCode(String fileName) {
@@ -542,7 +514,7 @@ public class TemplatePickerController implements Initializable {
     private String generateDefaultFileName() {
         String name = resumeData != null && resumeData.getFullName() != null ? 
                      resumeData.getFullName().replaceAll("[^a-zA-Z0-9]", "_") : "resume";
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String timestamp = RenderEnvironment.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
         return name + "_" + timestamp;
     }
     
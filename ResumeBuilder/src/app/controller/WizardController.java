@@ -15,6 +15,9 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import app.Main;
 import app.model.ResumeData;
+import app.service.SuggestionEngine;
+import app.service.ValidationEngine;
+import app.controller.EntryEditorList.EntryField;
 
 import java.net.URL;
 import java.util.*;
@@ -74,19 +77,26 @@ public class WizardController implements Initializable {
     @FXML private Button generateSuggestionsButton;
     
     private static final Logger logger = Logger.getLogger(WizardController.class.getName());
+    private static final int SUGGESTION_COUNT = 3;
     private ResumeData resumeData;
     private Map<String, Object> selectedRoleData;
     private int currentStep = 1;
     private final int totalSteps = 6;
     private List<VBox> steps;
-    private List<VBox> educationEntries = new ArrayList<>();
-    private List<VBox> experienceEntries = new ArrayList<>();
-    private List<VBox> projectEntries = new ArrayList<>();
+    private EntryEditorList<ResumeData.Education> educationEditors;
+    private EntryEditorList<ResumeData.Experience> experienceEditors;
+    private EntryEditorList<ResumeData.Project> projectEditors;
+    private final InlineValidator personalInfoValidator = new InlineValidator();
+    private final InlineValidator summaryValidator = new InlineValidator();
+    private SkillChipList technicalSkillChips;
+    private SkillChipList softSkillChips;
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         setupSteps();
         setupSkillsUI();
+        setupEntryEditors();
+        setupValidation();
         setupNavigation();
         
         logger.info("Resume wizard initialized");
@@ -123,10 +133,66 @@ public class WizardController implements Initializable {
         ));
         skillCategoryCombo.setValue("Technical Skills");
         
+        technicalSkillChips = new SkillChipList(technicalSkillsPane);
+        softSkillChips = new SkillChipList(softSkillsPane);
+        
         // Add skill input handler
         skillInput.setOnAction(event -> addSkill());
     }
     
+    private void setupEntryEditors() {
+        educationEditors = new EntryEditorList<>(educationContainer, "🎓 Education Entry",
+                ResumeData.Education::new, ResumeData.Education::new)
+            .row(EntryField.text("Degree (e.g., B.Tech in Computer Science)",
+                ResumeData.Education::getDegree, ResumeData.Education::setDegree))
+            .row(EntryField.text("Institution Name",
+                ResumeData.Education::getInstitution, ResumeData.Education::setInstitution))
+            .row(EntryField.text("Year (e.g., 2020-2024)",
+                    ResumeData.Education::getYear, ResumeData.Education::setYear),
+                EntryField.text("Grade/CGPA (e.g., 8.5/10)",
+                    ResumeData.Education::getGrade, ResumeData.Education::setGrade))
+            .row(EntryField.text("Location (City, State)",
+                ResumeData.Education::getLocation, ResumeData.Education::setLocation));
+        
+        experienceEditors = new EntryEditorList<>(experienceContainer, "💼 Experience Entry",
+                ResumeData.Experience::new, ResumeData.Experience::new)
+            .row(EntryField.text("Position (e.g., Software Intern)",
+                ResumeData.Experience::getPosition, ResumeData.Experience::setPosition))
+            .row(EntryField.text("Company Name",
+                ResumeData.Experience::getCompany, ResumeData.Experience::setCompany))
+            .row(EntryField.text("Duration (e.g., Jun 2023 - Aug 2023)",
+                    ResumeData.Experience::getDuration, ResumeData.Experience::setDuration),
+                EntryField.text("Location (City, State)",
+                    ResumeData.Experience::getLocation, ResumeData.Experience::setLocation))
+            .row(EntryField.area("What did you do? Use action verbs and numbers",
+                ResumeData.Experience::getDescription, ResumeData.Experience::setDescription));
+        
+        projectEditors = new EntryEditorList<>(projectsContainer, "🚀 Project Entry",
+                ResumeData.Project::new, ResumeData.Project::new)
+            .row(EntryField.text("Project Title",
+                ResumeData.Project::getTitle, ResumeData.Project::setTitle))
+            .row(EntryField.text("Technologies (e.g., Java, JavaFX, MySQL)",
+                    ResumeData.Project::getTechnologies, ResumeData.Project::setTechnologies),
+                EntryField.text("Duration (e.g., 2 months)",
+                    ResumeData.Project::getDuration, ResumeData.Project::setDuration))
+            .row(EntryField.area("Describe the problem, your solution and the outcome",
+                ResumeData.Project::getDescription, ResumeData.Project::setDescription))
+            .row(EntryField.text("GitHub URL (optional)",
+                    ResumeData.Project::getGithubUrl, ResumeData.Project::setGithubUrl),
+                EntryField.text("Live Demo URL (optional)",
+                    ResumeData.Project::getLiveUrl, ResumeData.Project::setLiveUrl));
+    }
+    
+    private void setupValidation() {
+        personalInfoValidator.attach(ValidationEngine.Field.FULL_NAME, fullNameField);
+        personalInfoValidator.attach(ValidationEngine.Field.EMAIL, emailField);
+        personalInfoValidator.attach(ValidationEngine.Field.PHONE, phoneField);
+        personalInfoValidator.attach(ValidationEngine.Field.LINKEDIN, linkedinField);
+        personalInfoValidator.attach(ValidationEngine.Field.GITHUB, githubField);
+        personalInfoValidator.attach(ValidationEngine.Field.PORTFOLIO, portfolioField);
+        summaryValidator.attach(ValidationEngine.Field.OBJECTIVE, objectiveArea);
+    }
+    
     private void setupNavigation() {
         updateNavigationButtons();
         updateProgressBar();
@@ -192,20 +258,17 @@ public class WizardController implements Initializable {
         
         // Skills
         populateSkills();
+        
+        // Repeatable sections; edits are committed to these lists as they happen
+        educationEditors.bind(resumeData.getEducationList());
+        experienceEditors.bind(resumeData.getExperiences());
+        projectEditors.bind(resumeData.getProjects());
     }
     
     private void populateSkills() {
-        if (technicalSkillsPane != null && resumeData.getTechnicalSkills() != null) {
-            for (String skill : resumeData.getTechnicalSkills()) {
-                addSkillChip(skill, technicalSkillsPane);
-            }
-        }
-        
-        if (softSkillsPane != null && resumeData.getSoftSkills() != null) {
-            for (String skill : resumeData.getSoftSkills()) {
-                addSkillChip(skill, softSkillsPane);
-            }
-        }
+        // Chip edits are written straight through to the resume's skill lists
+        technicalSkillChips.bind(resumeData.getTechnicalSkills());
+        softSkillChips.bind(resumeData.getSoftSkills());
     }
     
     @FXML
@@ -315,29 +378,13 @@ public class WizardController implements Initializable {
     }
     
     private boolean validatePersonalInfo() {
-        if (fullNameField.getText().trim().isEmpty()) {
-            showValidationError("Please enter your full name");
-            fullNameField.requestFocus();
-            return false;
-        }
-        
-        if (emailField.getText().trim().isEmpty()) {
-            showValidationError("Please enter your email address");
-            emailField.requestFocus();
-            return false;
-        }
-        
-        if (!isValidEmail(emailField.getText().trim())) {
-            showValidationError("Please enter a valid email address");
-            emailField.requestFocus();
-            return false;
-        }
-        
-        return true;
+        // Errors are shown inline next to each field
+        return personalInfoValidator.validateAll();
     }
     
     private boolean validateEducation() {
-        if (educationEntries.isEmpty()) {
+        // Entries added but left empty are not exported, so they do not count
+        if (resumeData.getEducationList().stream().allMatch(ResumeData.Education::isBlank)) {
             showValidationError("Please add at least one education entry");
             return false;
         }
@@ -345,7 +392,7 @@ public class WizardController implements Initializable {
     }
     
     private boolean validateSkills() {
-        if (technicalSkillsPane.getChildren().isEmpty()) {
+        if (technicalSkillChips.isEmpty()) {
             showValidationError("Please add at least a few technical skills");
             return false;
         }
@@ -353,16 +400,7 @@ public class WizardController implements Initializable {
     }
     
     private boolean validateSummary() {
-        if (objectiveArea.getText().trim().isEmpty()) {
-            showValidationError("Please provide an objective or career summary");
-            objectiveArea.requestFocus();
-            return false;
-        }
-        return true;
-    }
-    
-    private boolean isValidEmail(String email) {
-        return email.matches("^[A-Za-z0-9+_.-]+@(.+)$");
+        return summaryValidator.validateAll();
     }
     
     private void showValidationError(String message) {
@@ -381,16 +419,10 @@ public class WizardController implements Initializable {
                 savePersonalInfo();
                 break;
             case 2:
-                saveEducation();
-                break;
             case 3:
-                saveSkills();
-                break;
             case 4:
-                saveExperience();
-                break;
             case 5:
-                saveProjects();
+                // Entries and skills are committed to the model as they are edited
                 break;
             case 6:
                 saveSummary();
@@ -398,6 +430,9 @@ public class WizardController implements Initializable {
         }
         
         resumeData.updateLastModified();
+        
+        // Looking the session up refreshes its last access
+        LoginController.getCurrentSession();
     }
     
     private void savePersonalInfo() {
@@ -410,45 +445,6 @@ public class WizardController implements Initializable {
         resumeData.setPortfolioUrl(portfolioField.getText().trim());
     }
     
-    private void saveEducation() {
-        // Implementation for saving education data
-        // This would iterate through educationEntries and extract data
-    }
-    
-    private void saveSkills() {
-        List<String> technicalSkills = new ArrayList<>();
-        List<String> softSkills = new ArrayList<>();
-        
-        // Extract technical skills
-        technicalSkillsPane.getChildren().forEach(node -> {
-            if (node instanceof HBox) {
-                HBox skillChip = (HBox) node;
-                Label skillLabel = (Label) skillChip.getChildren().get(0);
-                technicalSkills.add(skillLabel.getText());
-            }
-        });
-        
-        // Extract soft skills
-        softSkillsPane.getChildren().forEach(node -> {
-            if (node instanceof HBox) {
-                HBox skillChip = (HBox) node;
-                Label skillLabel = (Label) skillChip.getChildren().get(0);
-                softSkills.add(skillLabel.getText());
-            }
-        });
-        
-        resumeData.setTechnicalSkills(technicalSkills);
-        resumeData.setSoftSkills(softSkills);
-    }
-    
-    private void saveExperience() {
-        // Implementation for saving experience data
-    }
-    
-    private void saveProjects() {
-        // Implementation for saving projects data
-    }
-    
     private void saveSummary() {
         resumeData.setSummary(summaryArea.getText().trim());
         resumeData.setObjective(objectiveArea.getText().trim());
@@ -459,117 +455,35 @@ public class WizardController implements Initializable {
         String skill = skillInput.getText().trim();
         if (!skill.isEmpty()) {
             String category = skillCategoryCombo.getValue();
-            FlowPane targetPane = "Technical Skills".equals(category) ? technicalSkillsPane : softSkillsPane;
+            SkillChipList target = "Technical Skills".equals(category) ? technicalSkillChips : softSkillChips;
             
-            addSkillChip(skill, targetPane);
+            target.add(skill);
             skillInput.clear();
         }
     }
     
     private void addSuggestedSkill(String skill) {
-        addSkillChip(skill, technicalSkillsPane);
-    }
-    
-    private void addSkillChip(String skill, FlowPane targetPane) {
-        // Check if skill already exists
-        for (javafx.scene.Node node : targetPane.getChildren()) {
-            if (node instanceof HBox) {
-                HBox existingChip = (HBox) node;
-                Label existingLabel = (Label) existingChip.getChildren().get(0);
-                if (existingLabel.getText().equals(skill)) {
-                    return; // Skill already exists
-                }
-            }
-        }
-        
-        HBox skillChip = new HBox();
-        skillChip.setAlignment(Pos.CENTER);
-        skillChip.setSpacing(8);
-        skillChip.getStyleClass().add("skill-tag");
-        
-        Label skillLabel = new Label(skill);
-        Button removeButton = new Button("×");
-        removeButton.getStyleClass().addAll("button-secondary");
-        removeButton.setStyle("-fx-min-width: 20px; -fx-min-height: 20px; -fx-padding: 0;");
-        removeButton.setOnAction(event -> targetPane.getChildren().remove(skillChip));
-        
-        skillChip.getChildren().addAll(skillLabel, removeButton);
-        targetPane.getChildren().add(skillChip);
+        technicalSkillChips.add(skill);
     }
     
     @FXML
     private void addEducation() {
-        VBox educationEntry = createEducationEntry();
-        educationContainer.getChildren().add(educationEntry);
-        educationEntries.add(educationEntry);
-    }
-    
-    private VBox createEducationEntry() {
-        VBox entry = new VBox();
-        entry.setSpacing(12);
-        entry.getStyleClass().add("form-section");
-        
-        // Header with remove button
-        HBox header = new HBox();
-        header.setAlignment(Pos.CENTER_LEFT);
-        header.setSpacing(12);
-        
-        Label title = new Label("🎓 Education Entry");
-        title.getStyleClass().add("label-subheading");
-        
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-        
-        Button removeButton = new Button("Remove");
-        removeButton.getStyleClass().add("button-secondary");
-        removeButton.setOnAction(event -> {
-            educationContainer.getChildren().remove(entry);
-            educationEntries.remove(entry);
-        });
-        
-        header.getChildren().addAll(title, spacer, removeButton);
-        
-        // Form fields
-        TextField degreeField = new TextField();
-        degreeField.setPromptText("Degree (e.g., B.Tech in Computer Science)");
-        
-        TextField institutionField = new TextField();
-        institutionField.setPromptText("Institution Name");
-        
-        HBox yearGradeRow = new HBox();
-        yearGradeRow.setSpacing(16);
-        
-        TextField yearField = new TextField();
-        yearField.setPromptText("Year (e.g., 2020-2024)");
-        yearField.setPrefWidth(150);
-        
-        TextField gradeField = new TextField();
-        gradeField.setPromptText("Grade/CGPA (e.g., 8.5/10)");
-        gradeField.setPrefWidth(150);
-        
-        yearGradeRow.getChildren().addAll(yearField, gradeField);
-        
-        TextField locationField = new TextField();
-        locationField.setPromptText("Location (City, State)");
-        
-        entry.getChildren().addAll(header, degreeField, institutionField, yearGradeRow, locationField);
-        
-        return entry;
+        educationEditors.add();
     }
     
     @FXML
     private void addExperience() {
-        // Similar to addEducation but for work experience
+        experienceEditors.add();
     }
     
     @FXML
     private void addProject() {
-        // Similar to addEducation but for projects
+        projectEditors.add();
     }
     
     @FXML
     private void generateAISuggestions() {
-        // Placeholder for AI suggestions
+        // Generated locally from the role catalogue; no network involved
         showAISuggestions();
     }
     
@@ -580,10 +494,26 @@ public class WizardController implements Initializable {
         
         Label title = new Label("🤖 AI Suggestions");
         title.getStyleClass().add("label-subheading");
+        aiSuggestionsContainer.getChildren().add(title);
         
-        String currentObjective = objectiveArea.getText().trim();
-        String suggestion = generateObjectiveSuggestion(currentObjective);
+        // Suggestions draw on the skills and projects entered in earlier steps
+        SuggestionEngine engine = SuggestionEngine.getInstance();
+        String role = selectedRoleData != null ? (String) selectedRoleData.get("id") : null;
         
+        for (String suggestion : engine.suggestObjectives(resumeData, role, SUGGESTION_COUNT)) {
+            addSuggestion(suggestion, objectiveArea);
+        }
+        if (summaryArea != null) {
+            Label summaryTitle = new Label("Summary ideas");
+            summaryTitle.getStyleClass().add("label-subheading");
+            aiSuggestionsContainer.getChildren().add(summaryTitle);
+            for (String suggestion : engine.suggestSummaries(resumeData, role, SUGGESTION_COUNT)) {
+                addSuggestion(suggestion, summaryArea);
+            }
+        }
+    }
+    
+    private void addSuggestion(String suggestion, TextArea target) {
         TextArea suggestionArea = new TextArea(suggestion);
         suggestionArea.setPrefRowCount(3);
         suggestionArea.setWrapText(true);
@@ -591,23 +521,9 @@ public class WizardController implements Initializable {
         
         Button applyButton = new Button("Apply Suggestion");
         applyButton.getStyleClass().addAll("button", "button-success");
-        applyButton.setOnAction(event -> objectiveArea.setText(suggestion));
-        
-        aiSuggestionsContainer.getChildren().addAll(title, suggestionArea, applyButton);
-    }
-    
-    private String generateObjectiveSuggestion(String current) {
-        // Simple AI suggestion based on role
-        if (selectedRoleData == null) return current;
-        
-        String roleName = (String) selectedRoleData.get("name");
-        String template = (String) selectedRoleData.get("objective_template");
-        
-        if (template != null && !template.isEmpty()) {
-            return template + " Passionate about leveraging technology to solve real-world problems and create meaningful impact.";
-        }
+        applyButton.setOnAction(event -> target.setText(suggestion));
         
-        return "Motivated " + roleName + " with strong foundational skills seeking to contribute to innovative projects while continuously learning and growing in a dynamic environment.";
+        aiSuggestionsContainer.getChildren().addAll(suggestionArea, applyButton);
     }
     
     private void navigateToTemplatePicker() {
@@ -0,0 +1,162 @@
+package app.exporter;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parallel band rasterizer for high-resolution pages
+ * A recorded page is replayed into horizontal bands, each on its own thread
+ * with its own Graphics2D; only operations overlapping a band are replayed.
+ * Finished bands are handed to the sink in page order, and at most a few
+ * bands per thread are in flight, so memory stays bounded by the band size
+ * rather than the page size.
+ *
+ * Batch tasks on the {@link RenderScheduler} render their bands one after
+ * another on their own worker instead. Queued on the shared pool they would
+ * sit ahead of an interactive export's bands and slip past the batch lane's
+ * cap; batch work already keeps every core busy with whole pages. Between
+ * bands they give way to any interactive export that is running.
+ */
+public final class BandRasterizer {
+
+    private static final int DEFAULT_BAND_HEIGHT = 256;
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    private static final ExecutorService bandPool = Executors.newFixedThreadPool(THREADS, new BandThreadFactory());
+
+    private BandRasterizer() {
+    }
+
+    /**
+     * Rasterizes the page at the given scale on the shared band pool
+     * A batch task renders on its own thread and leaves the pool to everyone else.
+     */
+    public static void rasterize(DisplayList page, double scale, BandSink sink) throws IOException {
+        if (RenderScheduler.currentLane() == RenderScheduler.Lane.BATCH) {
+            rasterize(page, scale, DEFAULT_BAND_HEIGHT, 1, null, sink);
+        } else {
+            rasterize(page, scale, DEFAULT_BAND_HEIGHT, THREADS * 2, bandPool, sink);
+        }
+    }
+
+    /**
+     * Rasterizes the page into bands of the given height
+     * If anything fails the sink is aborted rather than finished.
+     *
+     * @param maxInFlight Upper bound on bands rendered but not yet written
+     * @param executor Pool that renders the bands, or null to render them in order on this thread
+     */
+    public static void rasterize(DisplayList page, double scale, int bandHeight, int maxInFlight,
+                                 ExecutorService executor, BandSink sink) throws IOException {
+        try {
+            if (executor == null) {
+                rasterizeInline(page, scale, bandHeight, sink);
+            } else {
+                rasterizeParallel(page, scale, bandHeight, maxInFlight, executor, sink);
+            }
+        } catch (Throwable e) {
+            sink.abort();
+            throw e;
+        }
+    }
+
+    private static void rasterizeParallel(DisplayList page, double scale, int bandHeight, int maxInFlight,
+                                          ExecutorService executor, BandSink sink) throws IOException {
+        int width = Math.max(1, (int) Math.round(ResumeExporter.PAGE_WIDTH * scale));
+        int height = Math.max(1, (int) Math.round(ResumeExporter.PAGE_HEIGHT * scale));
+        int bands = (height + bandHeight - 1) / bandHeight;
+
+        // Band buffers are recycled once the sink has consumed them
+        ConcurrentLinkedQueue<BufferedImage> freeBuffers = new ConcurrentLinkedQueue<>();
+        Deque<Future<BufferedImage>> inFlight = new ArrayDeque<>();
+
+        sink.begin(width, height);
+        int next = 0;
+        try {
+            for (int written = 0; written < bands; written++) {
+                while (next < bands && inFlight.size() < maxInFlight) {
+                    int y = next * bandHeight;
+                    int rows = Math.min(bandHeight, height - y);
+                    inFlight.add(executor.submit(() -> renderBand(page, scale, width, bandHeight, y, rows, freeBuffers)));
+                    next++;
+                }
+
+                BufferedImage band = inFlight.removeFirst().get();
+                int y = written * bandHeight;
+                sink.writeBand(band, y, Math.min(bandHeight, height - y));
+                freeBuffers.add(band);
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IOException("Band rendering failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while rasterizing");
+        } finally {
+            for (Future<BufferedImage> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+        sink.finish();
+    }
+
+    /**
+     * Renders the bands in order on the calling thread, reusing one buffer
+     */
+    private static void rasterizeInline(DisplayList page, double scale, int bandHeight, BandSink sink) throws IOException {
+        int width = Math.max(1, (int) Math.round(ResumeExporter.PAGE_WIDTH * scale));
+        int height = Math.max(1, (int) Math.round(ResumeExporter.PAGE_HEIGHT * scale));
+        ConcurrentLinkedQueue<BufferedImage> freeBuffers = new ConcurrentLinkedQueue<>();
+
+        sink.begin(width, height);
+        for (int y = 0; y < height; y += bandHeight) {
+            RenderScheduler.yieldToInteractive();
+            int rows = Math.min(bandHeight, height - y);
+            BufferedImage band = renderBand(page, scale, width, bandHeight, y, rows, freeBuffers);
+            sink.writeBand(band, y, rows);
+            freeBuffers.add(band);
+        }
+        sink.finish();
+    }
+
+    private static BufferedImage renderBand(DisplayList page, double scale, int width, int bandHeight,
+                                            int y, int rows, ConcurrentLinkedQueue<BufferedImage> freeBuffers) {
+        BufferedImage band = freeBuffers.poll();
+        if (band == null) {
+            band = new BufferedImage(width, bandHeight, BufferedImage.TYPE_INT_RGB);
+        }
+
+        Graphics2D g2d = band.createGraphics();
+        ResumeExporter.prepareGraphics(g2d);
+        g2d.clipRect(0, 0, width, rows);
+        g2d.translate(0, -y);
+        g2d.scale(scale, scale);
+        page.replay(g2d, y / scale, (y + rows) / scale);
+        g2d.dispose();
+        return band;
+    }
+
+    private static final class BandThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "raster-band-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
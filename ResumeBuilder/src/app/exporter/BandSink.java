@@ -0,0 +1,38 @@
+package app.exporter;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Consumer of a page rasterized in horizontal bands
+ * Bands arrive strictly top to bottom on the rasterizing caller's thread.
+ * The band image is reused once writeBand returns, so sinks must copy or
+ * encode the rows before returning.
+ */
+public interface BandSink {
+
+    /**
+     * Called once before the first band
+     */
+    void begin(int width, int height) throws IOException;
+
+    /**
+     * Receives the next band; only the first {@code rows} rows are valid
+     *
+     * @param y Page row of the band's first row
+     */
+    void writeBand(BufferedImage band, int y, int rows) throws IOException;
+
+    /**
+     * Called once after the last band
+     */
+    void finish() throws IOException;
+
+    /**
+     * Called instead of finish() when rasterizing fails part way
+     * The output is incomplete; the sink only releases what it holds. Does
+     * nothing by default.
+     */
+    default void abort() {
+    }
+}
@@ -0,0 +1,182 @@
+package app.exporter;
+
+import app.model.ResumeData;
+import app.service.ValidationEngine;
+import app.utils.OutputWriter;
+import app.utils.ResumeJsonlReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Batch export of many resumes into a single output file
+ * Records are streamed from JSON Lines (as exported by the placement ERP)
+ * into either one shared-resource PDF or one zip of individual exports, so
+ * a whole class never turns into thousands of loose files and memory stays
+ * flat however large the class is.
+ */
+public final class BatchExporter {
+
+    private static final Logger logger = Logger.getLogger(BatchExporter.class.getName());
+
+    // Progress is logged every this many pages
+    private static final int LOG_INTERVAL = 500;
+
+    // Validation problems printed per batch; the rest are only counted
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    private BatchExporter() {
+    }
+
+    /**
+     * Renders every record in the JSONL file as one page of a combined PDF
+     *
+     * @param templateId Template for every page (unknown ids use the default)
+     * @param qrCodePath QR image drawn on every page, or null for none
+     * @return the number of pages written
+     */
+    public static int exportCombinedPdf(Path input, String templateId, String qrCodePath, Path output) throws IOException {
+        long start = System.nanoTime();
+        int[] pages = new int[1];
+        try (ResumeJsonlReader reader = ResumeJsonlReader.open(input)) {
+            OutputWriter.getInstance().writeAtomically(output, channel -> {
+                try (PdfBatchWriter pdf = new PdfBatchWriter(channel)) {
+                    ResumeData resumeData;
+                    while ((resumeData = reader.next()) != null) {
+                        pdf.addPage(ResumeExporter.recordPage(resumeData, templateId, qrCodePath));
+                        if (pdf.getPageCount() % LOG_INTERVAL == 0) {
+                            logger.info("Batch export: " + pdf.getPageCount() + " pages, " + pdf.getSize() + " bytes");
+                        }
+                    }
+                    pages[0] = pdf.getPageCount();
+                }
+            });
+        }
+
+        logger.info(String.format("Batch export of %d resumes finished in %d ms",
+            pages[0], (System.nanoTime() - start) / 1_000_000));
+        return pages[0];
+    }
+
+    /**
+     * Renders every record in the JSONL file into a zip, one entry per resume
+     * Each entry holds exactly what a single export writes at this resolution;
+     * rendering and compression run in parallel while one thread writes the
+     * archive, and the archive ends with a CRC-32 manifest.
+     *
+     * @param dpi Output resolution of each entry
+     * @return the number of resumes written
+     */
+    public static int exportArchive(Path input, String templateId, String qrCodePath, Path output, int dpi) throws IOException {
+        long start = System.nanoTime();
+        double scale = dpi / 72.0;
+        int[] count = new int[1];
+        try (ResumeJsonlReader reader = ResumeJsonlReader.open(input)) {
+            OutputWriter.getInstance().writeAtomically(output, channel -> {
+                try (ZipArchiveWriter archive = new ZipArchiveWriter(channel)) {
+                    ResumeData resumeData;
+                    while ((resumeData = reader.next()) != null) {
+                        ResumeData record = resumeData;
+                        archive.add(entryName(++count[0], record), () -> renderEntry(record, templateId, qrCodePath, scale));
+                        if (count[0] % LOG_INTERVAL == 0) {
+                            logger.info("Batch export: " + count[0] + " resumes queued");
+                        }
+                    }
+                }
+            });
+        }
+
+        logger.info(String.format("Batch archive of %d resumes finished in %d ms",
+            count[0], (System.nanoTime() - start) / 1_000_000));
+        return count[0];
+    }
+
+    static byte[] renderEntry(ResumeData resumeData, String templateId, String qrCodePath, double scale) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        ResumeExporter.writePng(ResumeExporter.recordPage(resumeData, templateId, qrCodePath), scale,
+            Channels.newChannel(bytes), PngBandEncoder.BEST_SPEED, PngBandEncoder.FilterStrategy.DOCUMENT);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Numbered so entries stay unique and in input order; named like single
+     * exports (PNG content under a .pdf name)
+     */
+    static String entryName(int index, ResumeData resumeData) {
+        String name = resumeData.getFullName() != null && !resumeData.getFullName().isEmpty()
+            ? resumeData.getFullName().replaceAll("[^a-zA-Z0-9]", "_") : "resume";
+        return String.format("%05d_%s.pdf", index, name);
+    }
+
+    /**
+     * Command-line entry point: [--strict] input.jsonl output.(pdf|zip) [templateId] [qrImage]
+     * A .zip output holds one export per resume, an existing directory or a
+     * path ending in a slash gets one file per resume, and anything else is a
+     * combined PDF. -Dbatch.maxInFlight caps the files rendered or written at once.
+     *
+     * Records are validated first. Problems are reported and every record is
+     * still rendered, as before validation existed; with --strict any problem
+     * stops the batch before anything is exported.
+     */
+    public static void main(String[] rawArgs) {
+        boolean strict = false;
+        List<String> positional = new ArrayList<>(rawArgs.length);
+        for (String arg : rawArgs) {
+            if (arg.equals("--strict")) {
+                strict = true;
+            } else {
+                positional.add(arg);
+            }
+        }
+        String[] args = positional.toArray(new String[0]);
+        if (args.length < 2) {
+            System.err.println("Usage: BatchExporter [--strict] <resumes.jsonl> <output.pdf|output.zip|outputDir/> [templateId] [qrImage]");
+            System.exit(2);
+        }
+        String templateId = args.length > 2 ? args[2] : TemplateRegistry.DEFAULT_TEMPLATE;
+        String qrCodePath = args.length > 3 ? args[3] : null;
+        try {
+            Path input = Paths.get(args[0]);
+            Path output = Paths.get(args[1]);
+
+            // Check every record up front rather than fail halfway through a long render
+            List<ValidationEngine.Violation> violations = ValidationEngine.getInstance().validateFile(input);
+            if (!violations.isEmpty()) {
+                violations.stream().limit(MAX_REPORTED_VIOLATIONS).forEach(System.err::println);
+                long records = violations.stream().mapToLong(ValidationEngine.Violation::getRecord).distinct().count();
+                if (strict) {
+                    System.err.println(violations.size() + " validation problems in " + records + " records of "
+                        + args[0] + "; nothing exported");
+                    System.exit(1);
+                }
+                System.err.println(violations.size() + " validation problems in " + records + " records of "
+                    + args[0] + "; exporting every record anyway (--strict refuses instead)");
+            }
+
+            int pages;
+            if (args[1].endsWith("/") || args[1].endsWith(File.separator) || Files.isDirectory(output)) {
+                Integer maxInFlight = Integer.getInteger("batch.maxInFlight");
+                try (BatchRenderer renderer = maxInFlight != null ? new BatchRenderer(maxInFlight) : new BatchRenderer()) {
+                    pages = renderer.renderToDirectory(input, templateId, qrCodePath, output, 72);
+                }
+            } else if (args[1].toLowerCase().endsWith(".zip")) {
+                pages = exportArchive(input, templateId, qrCodePath, output, 72);
+            } else {
+                pages = exportCombinedPdf(input, templateId, qrCodePath, output);
+            }
+            System.out.println("Wrote " + pages + " resumes to " + args[1]);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Batch export failed", e);
+            System.exit(1);
+        }
+    }
+}
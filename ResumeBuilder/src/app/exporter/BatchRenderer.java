@@ -0,0 +1,134 @@
+package app.exporter;
+
+import app.model.ResumeData;
+import app.utils.OutputWriter;
+import app.utils.ResumeJsonlReader;
+import app.utils.VirtualThreads;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Batch export of many resumes into one file each
+ * Rendering and PNG encoding run in the batch lane of the shared
+ * {@link RenderScheduler} workers, one per core, while every record's
+ * blocking work (waiting for its render, then writing and renaming the
+ * file) runs on its own virtual thread. A single limit on records in flight
+ * keeps memory flat and stops the output stage oversubscribing the disk, so
+ * the same settings saturate any machine.
+ */
+public final class BatchRenderer implements Closeable {
+
+    private static final Logger logger = Logger.getLogger(BatchRenderer.class.getName());
+
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    // Progress is logged every this many files
+    private static final int LOG_INTERVAL = 500;
+
+    private final RenderScheduler scheduler = RenderScheduler.getInstance();
+    private final ExecutorService ioExecutor;
+    private final int maxInFlight;
+
+    /**
+     * A renderer with a few records in flight per core
+     */
+    public BatchRenderer() {
+        this(THREADS * 4);
+    }
+
+    /**
+     * @param maxInFlight Upper bound on records being rendered or written at once
+     */
+    public BatchRenderer(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        this.ioExecutor = VirtualThreads.newPerTaskExecutor("batch-io");
+    }
+
+    /**
+     * Renders every record in the JSONL file to its own file in the directory
+     * Files are named like archive entries, numbered in input order.
+     *
+     * @param dpi Output resolution of each file
+     * @return the number of resumes written
+     * @throws IOException if the input cannot be read or any file fails to render or write
+     */
+    public int renderToDirectory(Path input, String templateId, String qrCodePath, Path outputDir, int dpi) throws IOException {
+        long start = System.nanoTime();
+        double scale = dpi / 72.0;
+        OutputWriter.getInstance().ensureDirectory(outputDir);
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicInteger written = new AtomicInteger();
+        int count = 0;
+        try (ResumeJsonlReader reader = ResumeJsonlReader.open(input)) {
+            ResumeData resumeData;
+            while (failure.get() == null && (resumeData = reader.next()) != null) {
+                acquire(inFlight, 1);
+                ResumeData record = resumeData;
+                Path target = outputDir.resolve(BatchExporter.entryName(++count, record));
+                ioExecutor.execute(() -> {
+                    try {
+                        byte[] contents = scheduler.submit(RenderScheduler.Lane.BATCH, () ->
+                            BatchExporter.renderEntry(record, templateId, qrCodePath, scale)).get();
+                        OutputWriter.getInstance().writeAtomically(target, channel -> {
+                            ByteBuffer buffer = ByteBuffer.wrap(contents);
+                            while (buffer.hasRemaining()) {
+                                channel.write(buffer);
+                            }
+                        });
+                        if (written.incrementAndGet() % LOG_INTERVAL == 0) {
+                            logger.info("Batch render: " + written.get() + " files written");
+                        }
+                    } catch (ExecutionException e) {
+                        failure.compareAndSet(null, e.getCause());
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            // Every permit is back once the last write has finished
+            acquire(inFlight, maxInFlight);
+            inFlight.release(maxInFlight);
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            throw error instanceof IOException ? (IOException) error
+                : new IOException("Batch render failed after " + written.get() + " files", error);
+        }
+        logger.info(String.format("Batch render of %d resumes finished in %d ms",
+            count, (System.nanoTime() - start) / 1_000_000));
+        return count;
+    }
+
+    private static void acquire(Semaphore semaphore, int permits) throws InterruptedIOException {
+        try {
+            semaphore.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during batch render");
+        }
+    }
+
+    @Override
+    public void close() {
+        ioExecutor.shutdown();
+    }
+}
@@ -0,0 +1,316 @@
+package app.exporter;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recorded drawing operations for one resume page
+ * Templates paint into a display list once, in unscaled page coordinates;
+ * the list can then be replayed into any number of Graphics2D targets (the
+ * whole page, or horizontal bands on several threads) or walked by vector
+ * back ends. A recorded list is immutable once painting finishes and safe to
+ * replay concurrently.
+ */
+public final class DisplayList {
+
+    private final GlyphCache glyphCache;
+    private final List<Op> ops = new ArrayList<>(128);
+    private Paint paint = Color.BLACK;
+
+    DisplayList(GlyphCache glyphCache) {
+        this.glyphCache = glyphCache;
+    }
+
+    /**
+     * Receives recorded operations in paint order
+     */
+    public interface Visitor {
+        void paint(Paint paint);
+
+        void fillRect(int x, int y, int width, int height);
+
+        void drawRect(int x, int y, int width, int height);
+
+        void drawLine(int x1, int y1, int x2, int y2);
+
+        /**
+         * Text in a single font; glyphs holds the shaped runs used for rasterizing
+         */
+        void drawText(Font font, String text, float x, float y, GlyphCache.ShapedText glyphs);
+
+        void drawImage(BufferedImage image, int x, int y, int width, int height);
+    }
+
+    // Recording
+
+    public void setPaint(Paint paint) {
+        this.paint = paint;
+        ops.add(new PaintOp(paint));
+    }
+
+    public Paint getPaint() {
+        return paint;
+    }
+
+    public void fillRect(int x, int y, int width, int height) {
+        ops.add(new RectOp(true, x, y, width, height));
+    }
+
+    public void drawRect(int x, int y, int width, int height) {
+        ops.add(new RectOp(false, x, y, width, height));
+    }
+
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        ops.add(new LineOp(x1, y1, x2, y2));
+    }
+
+    /**
+     * Records text at the given baseline, shaped through the glyph cache
+     *
+     * @return the advance width of the text
+     */
+    public float drawText(Font font, String text, float x, float y) {
+        if (text.isEmpty()) {
+            return 0;
+        }
+        GlyphCache.ShapedText glyphs = glyphCache.get(font, text);
+        ops.add(new TextOp(font, text, x, y, glyphs));
+        return glyphs.getAdvance();
+    }
+
+    public void drawImage(BufferedImage image, int x, int y, int width, int height) {
+        ops.add(new ImageOp(image, x, y, width, height));
+    }
+
+    // Playback
+
+    public int size() {
+        return ops.size();
+    }
+
+    public void accept(Visitor visitor) {
+        for (Op op : ops) {
+            op.accept(visitor);
+        }
+    }
+
+    /**
+     * Replays every operation into the graphics context
+     */
+    public void replay(Graphics2D g2d) {
+        accept(new GraphicsVisitor(g2d));
+    }
+
+    /**
+     * Replays only operations that can touch the page rows [top, bottom)
+     * Paint changes are always applied so later operations keep their colour.
+     */
+    public void replay(Graphics2D g2d, double top, double bottom) {
+        GraphicsVisitor visitor = new GraphicsVisitor(g2d);
+        for (Op op : ops) {
+            if (op.bottom() >= top && op.top() < bottom) {
+                op.accept(visitor);
+            }
+        }
+    }
+
+    private static final class GraphicsVisitor implements Visitor {
+        private final Graphics2D g2d;
+
+        GraphicsVisitor(Graphics2D g2d) {
+            this.g2d = g2d;
+        }
+
+        @Override
+        public void paint(Paint paint) {
+            g2d.setPaint(paint);
+        }
+
+        @Override
+        public void fillRect(int x, int y, int width, int height) {
+            g2d.fillRect(x, y, width, height);
+        }
+
+        @Override
+        public void drawRect(int x, int y, int width, int height) {
+            g2d.drawRect(x, y, width, height);
+        }
+
+        @Override
+        public void drawLine(int x1, int y1, int x2, int y2) {
+            g2d.drawLine(x1, y1, x2, y2);
+        }
+
+        @Override
+        public void drawText(Font font, String text, float x, float y, GlyphCache.ShapedText glyphs) {
+            glyphs.draw(g2d, x, y);
+        }
+
+        @Override
+        public void drawImage(BufferedImage image, int x, int y, int width, int height) {
+            g2d.drawImage(image, x, y, width, height, null);
+        }
+    }
+
+    // Operations, each with the vertical page extent it can paint
+
+    private interface Op {
+        void accept(Visitor visitor);
+
+        double top();
+
+        double bottom();
+    }
+
+    private static final class PaintOp implements Op {
+        private final Paint paint;
+
+        PaintOp(Paint paint) {
+            this.paint = paint;
+        }
+
+        @Override
+        public void accept(Visitor visitor) {
+            visitor.paint(paint);
+        }
+
+        @Override
+        public double top() {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        @Override
+        public double bottom() {
+            return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    private static final class RectOp implements Op {
+        private final boolean fill;
+        private final int x, y, width, height;
+
+        RectOp(boolean fill, int x, int y, int width, int height) {
+            this.fill = fill;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void accept(Visitor visitor) {
+            if (fill) {
+                visitor.fillRect(x, y, width, height);
+            } else {
+                visitor.drawRect(x, y, width, height);
+            }
+        }
+
+        @Override
+        public double top() {
+            return y - 1;
+        }
+
+        @Override
+        public double bottom() {
+            return y + height + 1;
+        }
+    }
+
+    private static final class LineOp implements Op {
+        private final int x1, y1, x2, y2;
+
+        LineOp(int x1, int y1, int x2, int y2) {
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+        }
+
+        @Override
+        public void accept(Visitor visitor) {
+            visitor.drawLine(x1, y1, x2, y2);
+        }
+
+        @Override
+        public double top() {
+            return Math.min(y1, y2) - 1;
+        }
+
+        @Override
+        public double bottom() {
+            return Math.max(y1, y2) + 1;
+        }
+    }
+
+    private static final class TextOp implements Op {
+        private final Font font;
+        private final String text;
+        private final float x, y;
+        private final GlyphCache.ShapedText glyphs;
+        private final double top, bottom;
+
+        TextOp(Font font, String text, float x, float y, GlyphCache.ShapedText glyphs) {
+            this.font = font;
+            this.text = text;
+            this.x = x;
+            this.y = y;
+            this.glyphs = glyphs;
+
+            // Visual bounds can exceed the logical line (accents, emoji); pad by a line
+            Rectangle2D bounds = glyphs.getBounds();
+            this.top = y + bounds.getMinY() - font.getSize2D();
+            this.bottom = y + bounds.getMaxY() + font.getSize2D();
+        }
+
+        @Override
+        public void accept(Visitor visitor) {
+            visitor.drawText(font, text, x, y, glyphs);
+        }
+
+        @Override
+        public double top() {
+            return top;
+        }
+
+        @Override
+        public double bottom() {
+            return bottom;
+        }
+    }
+
+    private static final class ImageOp implements Op {
+        private final BufferedImage image;
+        private final int x, y, width, height;
+
+        ImageOp(BufferedImage image, int x, int y, int width, int height) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void accept(Visitor visitor) {
+            visitor.drawImage(image, x, y, width, height);
+        }
+
+        @Override
+        public double top() {
+            return y - 1;
+        }
+
+        @Override
+        public double bottom() {
+            return y + height + 1;
+        }
+    }
+}
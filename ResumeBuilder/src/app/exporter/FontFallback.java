@@ -0,0 +1,143 @@
+package app.exporter;
+
+import app.utils.IntIntMap;
+
+import java.awt.Font;
+import java.awt.GraphicsEnvironment;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Per-font fallback resolution for characters the font cannot display
+ * Contact lines and the Creative template use emoji that fonts such as Arial
+ * lack. Each code point is resolved to a capable installed font once and
+ * remembered in a primitive table, so splitting text into font runs never
+ * repeats the fallback search.
+ */
+final class FontFallback {
+
+    private static final Logger logger = Logger.getLogger(FontFallback.class.getName());
+
+    // Preferred fallbacks, most specific first; only installed families are used
+    private static final String[] FALLBACK_FAMILIES = {
+        "Noto Color Emoji", "Segoe UI Emoji", "Apple Color Emoji", "Segoe UI Symbol",
+        "Noto Sans Symbols2", "Noto Sans Symbols", "Symbola", "DejaVu Sans", Font.DIALOG
+    };
+
+    private static final String[] INSTALLED_FALLBACKS = findInstalledFallbacks();
+
+    private static final Map<Font, FontFallback> resolvers = new ConcurrentHashMap<>();
+
+    // Table values: 0 = the base font, n = INSTALLED_FALLBACKS[n - 1]
+    private static final int BASE_FONT = 0;
+
+    private final Font base;
+    private final Font[] fonts;
+    private final IntIntMap fontForCodePoint = new IntIntMap(128);
+
+    private FontFallback(Font base) {
+        this.base = base;
+        this.fonts = new Font[INSTALLED_FALLBACKS.length + 1];
+        this.fonts[BASE_FONT] = base;
+    }
+
+    static FontFallback forFont(Font font) {
+        return resolvers.computeIfAbsent(font, FontFallback::new);
+    }
+
+    /**
+     * Consecutive characters that render with the same font
+     */
+    static final class Run {
+        final Font font;
+        final int start;
+        final int end;
+
+        Run(Font font, int start, int end) {
+            this.font = font;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Splits text into runs of characters sharing a capable font
+     * Characters no installed font can display stay in the base font.
+     */
+    List<Run> split(String text) {
+        List<Run> runs = new ArrayList<>(1);
+        int runStart = 0;
+        int runFont = -1;
+
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            int fontIndex = resolve(codePoint);
+            if (fontIndex != runFont) {
+                if (runFont >= 0) {
+                    runs.add(new Run(font(runFont), runStart, i));
+                }
+                runStart = i;
+                runFont = fontIndex;
+            }
+            i += Character.charCount(codePoint);
+        }
+
+        if (runFont >= 0) {
+            runs.add(new Run(font(runFont), runStart, text.length()));
+        }
+        return runs;
+    }
+
+    private synchronized int resolve(int codePoint) {
+        // Printable ASCII is always taken from the base font
+        if (codePoint < 0x80) {
+            return BASE_FONT;
+        }
+
+        int cached = fontForCodePoint.get(codePoint, -1);
+        if (cached >= 0) {
+            return cached;
+        }
+
+        int resolved = BASE_FONT;
+        if (!base.canDisplay(codePoint)) {
+            for (int i = 0; i < INSTALLED_FALLBACKS.length; i++) {
+                if (font(i + 1).canDisplay(codePoint)) {
+                    resolved = i + 1;
+                    break;
+                }
+            }
+        }
+        fontForCodePoint.put(codePoint, resolved);
+        return resolved;
+    }
+
+    private synchronized Font font(int index) {
+        Font font = fonts[index];
+        if (font == null) {
+            font = new Font(INSTALLED_FALLBACKS[index - 1], base.getStyle(), base.getSize());
+            fonts[index] = font;
+        }
+        return font;
+    }
+
+    private static String[] findInstalledFallbacks() {
+        Set<String> installed = new HashSet<>(Arrays.asList(
+            GraphicsEnvironment.getLocalGraphicsEnvironment().getAvailableFontFamilyNames()));
+
+        List<String> available = new ArrayList<>();
+        for (String family : FALLBACK_FAMILIES) {
+            if (installed.contains(family) || Font.DIALOG.equals(family)) {
+                available.add(family);
+            }
+        }
+        logger.fine("Fallback fonts: " + available);
+        return available.toArray(new String[0]);
+    }
+}
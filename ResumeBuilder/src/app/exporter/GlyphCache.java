@@ -0,0 +1,170 @@
+package app.exporter;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.Rectangle2D;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of shaped text
+ * Section titles, divider characters, footer text and common skill lines are
+ * drawn with the same fonts on every resume; caching their GlyphVectors skips
+ * text layout on repeat draws. Glyphs are shaped in unscaled page space, so
+ * one entry serves previews and full-size exports alike. Text is split into
+ * font runs (see FontFallback) when it is shaped, so emoji and symbols render
+ * with a capable font without a fallback search on every draw.
+ */
+public class GlyphCache {
+
+    private static final int DEFAULT_CAPACITY = 2048;
+
+    // Matches the exporter's measuring context (antialiased, integer metrics)
+    private static final FontRenderContext FRC = new FontRenderContext(null, true, false);
+
+    private final Map<Key, ShapedText> glyphs;
+    private long hits;
+    private long misses;
+
+    public GlyphCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GlyphCache(int capacity) {
+        this.glyphs = new LinkedHashMap<Key, ShapedText>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ShapedText> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the shaped glyph runs for the text, shaping it on a miss
+     */
+    public ShapedText get(Font font, String text) {
+        Key key = new Key(font, text);
+        synchronized (this) {
+            ShapedText cached = glyphs.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // Shape outside the lock; a duplicate race only wastes work
+        ShapedText shaped = shape(font, text);
+        synchronized (this) {
+            glyphs.put(key, shaped);
+        }
+        return shaped;
+    }
+
+    private static ShapedText shape(Font font, String text) {
+        char[] chars = text.toCharArray();
+        List<FontFallback.Run> split = FontFallback.forFont(font).split(text);
+
+        GlyphVector[] runs = new GlyphVector[split.size()];
+        float[] offsets = new float[runs.length];
+        float advance = 0;
+        Rectangle2D bounds = null;
+        for (int i = 0; i < runs.length; i++) {
+            FontFallback.Run run = split.get(i);
+            runs[i] = run.font.layoutGlyphVector(FRC, chars, run.start, run.end, Font.LAYOUT_LEFT_TO_RIGHT);
+            offsets[i] = advance;
+
+            Rectangle2D runBounds = runs[i].getLogicalBounds();
+            runBounds.setRect(runBounds.getX() + advance, runBounds.getY(), runBounds.getWidth(), runBounds.getHeight());
+            if (bounds == null) {
+                bounds = runBounds;
+            } else {
+                bounds.add(runBounds);
+            }
+            advance += (float) runBounds.getWidth();
+        }
+        return new ShapedText(runs, offsets, advance, bounds);
+    }
+
+    public synchronized void clear() {
+        glyphs.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    /**
+     * Text shaped as one glyph vector per font run
+     */
+    public static final class ShapedText {
+        private final GlyphVector[] runs;
+        private final float[] offsets;
+        private final float advance;
+        private final Rectangle2D bounds;
+
+        ShapedText(GlyphVector[] runs, float[] offsets, float advance, Rectangle2D bounds) {
+            this.runs = runs;
+            this.offsets = offsets;
+            this.advance = advance;
+            this.bounds = bounds;
+        }
+
+        /**
+         * Draws the runs with their baseline origin at (x, y)
+         */
+        public void draw(Graphics2D g2d, float x, float y) {
+            for (int i = 0; i < runs.length; i++) {
+                g2d.drawGlyphVector(runs[i], x + offsets[i], y);
+            }
+        }
+
+        public float getAdvance() {
+            return advance;
+        }
+
+        /**
+         * Logical bounds relative to the baseline origin
+         */
+        public Rectangle2D getBounds() {
+            return (Rectangle2D) bounds.clone();
+        }
+    }
+
+    private static final class Key {
+        private final Font font;
+        private final String text;
+        private final int hash;
+
+        Key(Font font, String text) {
+            this.font = font;
+            this.text = text;
+            this.hash = 31 * font.hashCode() + text.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return hash == other.hash && text.equals(other.text) && font.equals(other.font);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package app.exporter;
+
+import app.model.ResumeData;
+import app.service.ValidationEngine;
+import app.utils.RenderEnvironment;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renders a resume as a standalone HTML page
+ * Used for the HTML preview export and by the local render service. Section
+ * text comes from {@link ResumeContent}, as in the PDF and PNG templates, so
+ * every format shows the same entries. All resume text is escaped, and only
+ * http(s) web addresses become links (anything else is printed as plain
+ * text), since records served over HTTP come from outside the app.
+ */
+public final class HtmlExporter {
+
+    private static final DateTimeFormatter FOOTER_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private HtmlExporter() {
+    }
+
+    public static String generate(ResumeData resumeData) {
+        StringBuilder html = new StringBuilder(4096);
+
+        html.append("<!DOCTYPE html>\n");
+        html.append("<html><head>\n");
+        html.append("<meta charset='UTF-8'>\n");
+        html.append("<title>Resume - ").append(escape(resumeData.getFullName())).append("</title>\n");
+        html.append("<style>\n");
+        html.append("body { font-family: Arial, sans-serif; margin: 40px; line-height: 1.6; }\n");
+        html.append("h1 { color: #2563eb; margin-bottom: 5px; }\n");
+        html.append("h2 { color: #1e40af; border-bottom: 2px solid #e5e7eb; padding-bottom: 5px; }\n");
+        html.append(".contact { color: #6b7280; margin-bottom: 20px; }\n");
+        html.append(".skills { display: flex; flex-wrap: wrap; gap: 8px; }\n");
+        html.append(".skill { background: #e0e7ff; padding: 4px 8px; border-radius: 4px; font-size: 14px; }\n");
+        html.append("</style>\n");
+        html.append("</head><body>\n");
+
+        // Header
+        html.append("<h1>").append(escape(resumeData.getFullName())).append("</h1>\n");
+        if (resumeData.getSelectedRole() != null) {
+            html.append("<p><strong>").append(escape(resumeData.getSelectedRole())).append("</strong></p>\n");
+        }
+
+        // Contact
+        html.append("<div class='contact'>\n");
+        if (resumeData.getEmail() != null) {
+            html.append("\uD83D\uDCE7 ").append(escape(resumeData.getEmail())).append(" | ");
+        }
+        if (resumeData.getPhone() != null) {
+            html.append("\uD83D\uDCF1 ").append(escape(resumeData.getPhone())).append("<br>");
+        }
+        if (resumeData.getLinkedinUrl() != null) {
+            html.append("\uD83D\uDD17 ");
+            appendLink(html, resumeData.getLinkedinUrl(), "LinkedIn");
+            html.append(" | ");
+        }
+        if (resumeData.getGithubUrl() != null) {
+            html.append("\uD83D\uDD17 ");
+            appendLink(html, resumeData.getGithubUrl(), "GitHub");
+        }
+        html.append("</div>\n");
+
+        // Objective
+        if (resumeData.getObjective() != null && !resumeData.getObjective().trim().isEmpty()) {
+            html.append("<h2>Career Objective</h2>\n");
+            html.append("<p>").append(escape(resumeData.getObjective())).append("</p>\n");
+        }
+
+        // Skills
+        if (!resumeData.getTechnicalSkills().isEmpty() || !resumeData.getSoftSkills().isEmpty()) {
+            html.append("<h2>Skills</h2>\n");
+            html.append("<div class='skills'>\n");
+            for (String skill : resumeData.getTechnicalSkills()) {
+                html.append("<span class='skill'>").append(escape(skill)).append("</span>\n");
+            }
+            for (String skill : resumeData.getSoftSkills()) {
+                html.append("<span class='skill'>").append(escape(skill)).append("</span>\n");
+            }
+            html.append("</div>\n");
+        }
+
+        // Same text as the PDF and PNG templates lay out
+        appendSection(html, "Education", ResumeContent.education(resumeData));
+        appendSection(html, "Experience", ResumeContent.experience(resumeData));
+        appendSection(html, "Projects", ResumeContent.projects(resumeData));
+
+        html.append("<hr><p style='font-size: 12px; color: #6b7280;'>");
+        html.append("Generated by AI-Powered Resume Builder on ");
+        html.append(RenderEnvironment.now().format(FOOTER_FORMAT));
+        html.append("</p>\n");
+
+        html.append("</body></html>");
+
+        return html.toString();
+    }
+
+    /**
+     * Appends a heading and the section's lines, or nothing when it is empty
+     */
+    private static void appendSection(StringBuilder html, String title, String text) {
+        if (text.isEmpty()) {
+            return;
+        }
+        html.append("<h2>").append(title).append("</h2>\n<p>");
+        html.append(escape(text).replace("\n", "<br>\n"));
+        html.append("</p>\n");
+    }
+
+    /**
+     * Links to web addresses only; a bare host gets https://, and anything
+     * else (javascript:, data: and the like) is shown as text, never as an href
+     */
+    private static void appendLink(StringBuilder html, String url, String label) {
+        String trimmed = url.trim();
+        if (!ValidationEngine.URL.matcher(trimmed).matches()) {
+            html.append(escape(label)).append(": ").append(escape(trimmed));
+            return;
+        }
+        String href = trimmed.startsWith("http://") || trimmed.startsWith("https://") ? trimmed : "https://" + trimmed;
+        html.append("<a href='").append(escape(href)).append("'>").append(escape(label)).append("</a>");
+    }
+
+    /**
+     * Escapes text for element content and single- or double-quoted attributes
+     */
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String entity;
+            switch (c) {
+                case '<': entity = "&lt;"; break;
+                case '>': entity = "&gt;"; break;
+                case '&': entity = "&amp;"; break;
+                case '"': entity = "&quot;"; break;
+                case '\'': entity = "&#39;"; break;
+                default: entity = null;
+            }
+            if (entity == null) {
+                if (escaped != null) {
+                    escaped.append(c);
+                }
+                continue;
+            }
+            if (escaped == null) {
+                escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            escaped.append(entity);
+        }
+        return escaped != null ? escaped.toString() : text;
+    }
+}
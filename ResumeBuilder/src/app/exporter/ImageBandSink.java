@@ -0,0 +1,37 @@
+package app.exporter;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * Band sink that stitches bands into one full-page image
+ * Used where a complete BufferedImage is still required (ImageIO output);
+ * streaming sinks avoid holding the whole page.
+ */
+public class ImageBandSink implements BandSink {
+
+    private BufferedImage image;
+
+    @Override
+    public void begin(int width, int height) {
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Override
+    public void writeBand(BufferedImage band, int y, int rows) {
+        // Both images are TYPE_INT_RGB of the same width, so rows copy directly
+        int[] source = ((DataBufferInt) band.getRaster().getDataBuffer()).getData();
+        int[] target = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int width = band.getWidth();
+        System.arraycopy(source, 0, target, y * width, rows * width);
+    }
+
+    @Override
+    public void finish() {
+        // Nothing buffered
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+}
@@ -0,0 +1,710 @@
+package app.exporter;
+
+import app.model.ResumeData;
+import app.model.ResumeData.Section;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Paint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Compiled resume template
+ * Built once from a declarative template definition (see TemplateRegistry);
+ * fonts, colours, gradients and section lookups are resolved at compile time,
+ * so rendering is a straight walk over an array of paint steps.
+ *
+ * Definition format:
+ * <pre>
+ * {
+ *   "id": "template1", "name": "...", "description": "...",
+ *   "margin": 50,
+ *   "colors": { "primary": "#2563eb", ... },
+ *   "fonts":  { "title": { "family": "Arial", "style": "bold", "size": 14 }, ... },
+ *   "header": [
+ *     { "type": "rect", "x": 0, "y": 0, "width": 595, "height": 120, "fill": "primary" },
+ *     { "type": "text", "value": "name", "transform": "upper", "font": "name", "color": "white", "x": 50, "y": 45 },
+ *     { "type": "text", "value": "contact", "font": "contact", "align": "center", "dy": 0, "advance": 40 },
+ *     { "type": "rule", "color": "secondary", "advance": 30 },
+ *     { "type": "repeat", "text": "=", "spacing": 10, "font": "role", "color": "secondary", "advance": 30 }
+ *   ],
+ *   "sections": {
+ *     "start": 140,
+ *     "style": { "titleFont": "title", "titleColor": "primary", "titleGap": 20, "underline": 100,
+ *                "underlineGap": 15, "bodyFont": "body", "bodyColor": "text", "spacing": 20 },
+ *     "order": [ { "section": "objective", "title": "CAREER OBJECTIVE" },
+ *                { "section": "education", "title": "EDUCATION", "placeholder": "..." } ]
+ *   },
+ *   "qr": { "right": 80, "bottom": 80 },
+ *   "footer": true
+ * }
+ * </pre>
+ * Header text without "y" is drawn at the running cursor (plus "dy") and then
+ * moves the cursor down by "advance"; sections continue from the cursor unless
+ * "start" is given. Sections with no content and no placeholder are skipped.
+ *
+ * Rendering runs in two phases: section bodies that are not in the layout
+ * cache are measured and wrapped in parallel on the fork-join pool, then
+ * everything is placed and recorded sequentially into a DisplayList.
+ */
+public final class LayoutPlan {
+
+    private static final Map<String, Color> NAMED_COLORS = new HashMap<>();
+    static {
+        NAMED_COLORS.put("white", Color.WHITE);
+        NAMED_COLORS.put("black", Color.BLACK);
+    }
+
+    private final String id;
+    private final String name;
+    private final String description;
+    private final int margin;
+    private final Step[] steps;
+    private final SectionStep[] sections;
+
+    private LayoutPlan(String id, String name, String description, int margin, List<Step> steps) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.margin = margin;
+        this.steps = steps.toArray(new Step[0]);
+
+        List<SectionStep> sections = new ArrayList<>();
+        for (Step step : steps) {
+            if (step instanceof SectionStep) {
+                sections.add((SectionStep) step);
+            }
+        }
+        this.sections = sections.toArray(new SectionStep[0]);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Records the resume into a display list in page coordinates (595x842)
+     *
+     * @param qrCodePath QR image to draw, or null for none
+     */
+    public void render(DisplayList page, ResumeData resumeData, String qrCodePath) {
+        RenderState state = new RenderState(resumeData, qrCodePath, margin, layoutSections(resumeData));
+        for (Step step : steps) {
+            step.paint(page, state);
+        }
+    }
+
+    /**
+     * Layout phase: returns each section's body block (null when skipped)
+     * Cache hits are taken inline; when several sections need wrapping they
+     * are laid out concurrently and joined before painting starts. Batch
+     * tasks lay out inline on their scheduler worker, so the common pool is
+     * left to interactive exports and the batch lane cap holds.
+     */
+    private SectionBlock[] layoutSections(ResumeData resumeData) {
+        SectionBlock[] blocks = new SectionBlock[sections.length];
+        List<ForkJoinTask<?>> pending = new ArrayList<>(sections.length);
+
+        for (int i = 0; i < sections.length; i++) {
+            SectionStep section = sections[i];
+            SectionBlock cached = section.cached(resumeData);
+            if (cached != null) {
+                blocks[i] = cached;
+            } else {
+                final int slot = i;
+                pending.add(ForkJoinTask.adapt(() -> {
+                    blocks[slot] = section.layout(resumeData);
+                }));
+            }
+        }
+
+        if (pending.size() > 1 && Runtime.getRuntime().availableProcessors() > 1
+                && RenderScheduler.currentLane() != RenderScheduler.Lane.BATCH) {
+            ForkJoinTask.invokeAll(pending);
+        } else {
+            for (ForkJoinTask<?> task : pending) {
+                task.invoke();
+            }
+        }
+        return blocks;
+    }
+
+    /**
+     * Compiles a parsed template definition
+     *
+     * @throws IllegalArgumentException if the definition is incomplete or refers
+     *         to unknown fonts, colours, values or sections
+     */
+    public static LayoutPlan compile(Map<String, Object> definition) {
+        return new Compiler(definition).compile();
+    }
+
+    // Rendering
+
+    private interface Step {
+        void paint(DisplayList page, RenderState state);
+    }
+
+    private static final class RenderState {
+        final ResumeData resumeData;
+        final String qrCodePath;
+        final SectionBlock[] sectionBlocks;
+        int cursorY;
+
+        RenderState(ResumeData resumeData, String qrCodePath, int cursorY, SectionBlock[] sectionBlocks) {
+            this.resumeData = resumeData;
+            this.qrCodePath = qrCodePath;
+            this.cursorY = cursorY;
+            this.sectionBlocks = sectionBlocks;
+        }
+    }
+
+    private static final class FillStep implements Step {
+        private final Paint paint;
+        private final int x, y, width, height;
+
+        FillStep(Paint paint, int x, int y, int width, int height) {
+            this.paint = paint;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void paint(DisplayList page, RenderState state) {
+            page.setPaint(paint);
+            page.fillRect(x, y, width, height);
+        }
+    }
+
+    private static final class TextStep implements Step {
+        private final Function<ResumeData, String> value;
+        private final String prefix;
+        private final boolean upperCase;
+        private final Font font;
+        private final Color color;
+        private final boolean centered;
+        private final int x;
+        private final Integer y;
+        private final int dy;
+        private final int advance;
+
+        TextStep(Function<ResumeData, String> value, String prefix, boolean upperCase, Font font, Color color,
+                 boolean centered, int x, Integer y, int dy, int advance) {
+            this.value = value;
+            this.prefix = prefix;
+            this.upperCase = upperCase;
+            this.font = font;
+            this.color = color;
+            this.centered = centered;
+            this.x = x;
+            this.y = y;
+            this.dy = dy;
+            this.advance = advance;
+        }
+
+        @Override
+        public void paint(DisplayList page, RenderState state) {
+            String text = value.apply(state.resumeData);
+            if (text == null) {
+                return;
+            }
+            if (upperCase) {
+                text = text.toUpperCase();
+            }
+            text = prefix + text;
+
+            int drawX = centered
+                ? (ResumeExporter.PAGE_WIDTH - (int) ResumeExporter.textWidth(font, text)) / 2
+                : x;
+            int drawY = y != null ? y : state.cursorY + dy;
+
+            page.setPaint(color);
+            ResumeExporter.drawText(page, font, text, drawX, drawY);
+
+            if (y == null) {
+                state.cursorY += advance;
+            }
+        }
+    }
+
+    private static final class RuleStep implements Step {
+        private final Color color;
+        private final int x1, x2;
+        private final int advance;
+
+        RuleStep(Color color, int x1, int x2, int advance) {
+            this.color = color;
+            this.x1 = x1;
+            this.x2 = x2;
+            this.advance = advance;
+        }
+
+        @Override
+        public void paint(DisplayList page, RenderState state) {
+            page.setPaint(color);
+            page.drawLine(x1, state.cursorY, x2, state.cursorY);
+            state.cursorY += advance;
+        }
+    }
+
+    private static final class RepeatStep implements Step {
+        private final String text;
+        private final Font font;
+        private final Color color;
+        private final int x, spacing, count;
+        private final int advance;
+
+        RepeatStep(String text, Font font, Color color, int x, int spacing, int count, int advance) {
+            this.text = text;
+            this.font = font;
+            this.color = color;
+            this.x = x;
+            this.spacing = spacing;
+            this.count = count;
+            this.advance = advance;
+        }
+
+        @Override
+        public void paint(DisplayList page, RenderState state) {
+            page.setPaint(color);
+            for (int i = 0; i < count; i++) {
+                ResumeExporter.drawText(page, font, text, x + i * spacing, state.cursorY);
+            }
+            state.cursorY += advance;
+        }
+    }
+
+    private static final class CursorStep implements Step {
+        private final int y;
+
+        CursorStep(int y) {
+            this.y = y;
+        }
+
+        @Override
+        public void paint(DisplayList page, RenderState state) {
+            state.cursorY = y;
+        }
+    }
+
+    private static final class SectionStep implements Step {
+        private final int slot;
+        private final String cacheId;
+        private final Section section;
+        private final Function<ResumeData, String> content;
+        private final String title;
+        private final String placeholder;
+        private final SectionStyle style;
+
+        SectionStep(int slot, String cacheId, Section section, Function<ResumeData, String> content,
+                    String title, String placeholder, SectionStyle style) {
+            this.slot = slot;
+            this.cacheId = cacheId;
+            this.section = section;
+            this.content = content;
+            this.title = title;
+            this.placeholder = placeholder;
+            this.style = style;
+        }
+
+        SectionBlock cached(ResumeData resumeData) {
+            return ResumeExporter.cachedBody(resumeData, section, cacheId);
+        }
+
+        /**
+         * Builds and wraps the body; null when the section is skipped
+         */
+        SectionBlock layout(ResumeData resumeData) {
+            String text = content.apply(resumeData);
+            if (text == null || text.trim().isEmpty()) {
+                if (placeholder == null) {
+                    return null;
+                }
+                text = placeholder;
+            }
+
+            final String body = text;
+            return ResumeExporter.layoutBody(resumeData, section, cacheId,
+                style.bodyFont, style.width, () -> body);
+        }
+
+        @Override
+        public void paint(DisplayList page, RenderState state) {
+            SectionBlock block = state.sectionBlocks[slot];
+            if (block == null) {
+                return;
+            }
+
+            int currentY = state.cursorY;
+
+            page.setPaint(style.titleColor);
+            ResumeExporter.drawText(page, style.titleFont, title, style.x, currentY);
+            currentY += style.titleGap;
+
+            if (style.underline > 0) {
+                page.drawLine(style.x, currentY, style.x + style.underline, currentY);
+                currentY += style.underlineGap;
+            }
+
+            page.setPaint(style.bodyColor);
+            currentY = ResumeExporter.drawLines(page, block, style.bodyFont, style.x, currentY);
+
+            state.cursorY = currentY + style.spacing;
+        }
+    }
+
+    private static final class SectionStyle {
+        Font titleFont;
+        Color titleColor;
+        int titleGap;
+        int underline;
+        int underlineGap;
+        Font bodyFont;
+        Color bodyColor;
+        int spacing;
+        int x;
+        int width;
+    }
+
+    private static final class QrStep implements Step {
+        private final int x, y;
+
+        QrStep(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public void paint(DisplayList page, RenderState state) {
+            if (state.qrCodePath != null) {
+                ResumeExporter.drawQRCode(page, state.qrCodePath, x, y);
+            }
+        }
+    }
+
+    private static final class FooterStep implements Step {
+        @Override
+        public void paint(DisplayList page, RenderState state) {
+            ResumeExporter.drawFooter(page);
+        }
+    }
+
+    // Compilation
+
+    private static final class Compiler {
+        private final Map<String, Object> definition;
+        private final String id;
+        private final Map<String, Color> colors = new HashMap<>(NAMED_COLORS);
+        private final Map<String, Font> fonts = new HashMap<>();
+        private int margin;
+
+        Compiler(Map<String, Object> definition) {
+            this.definition = definition;
+            this.id = requireString(definition, "id");
+        }
+
+        LayoutPlan compile() {
+            String name = optString(definition, "name", id);
+            String description = optString(definition, "description", "");
+            margin = optInt(definition, "margin", ResumeExporter.MARGIN);
+
+            for (Map.Entry<String, Object> entry : optMap(definition, "colors").entrySet()) {
+                colors.put(entry.getKey(), parseColor(String.valueOf(entry.getValue())));
+            }
+            for (Map.Entry<String, Object> entry : optMap(definition, "fonts").entrySet()) {
+                fonts.put(entry.getKey(), parseFont(asMap(entry.getValue(), "fonts." + entry.getKey())));
+            }
+
+            List<Step> steps = new ArrayList<>();
+            for (Object element : optList(definition, "header")) {
+                steps.add(compileElement(asMap(element, "header element")));
+            }
+            compileSections(optMap(definition, "sections"), steps);
+
+            Map<String, Object> qr = optMap(definition, "qr");
+            if (!qr.isEmpty()) {
+                steps.add(new QrStep(
+                    ResumeExporter.PAGE_WIDTH - margin - optInt(qr, "right", 80),
+                    ResumeExporter.PAGE_HEIGHT - margin - optInt(qr, "bottom", 80)));
+            }
+            if (optBoolean(definition, "footer", true)) {
+                steps.add(new FooterStep());
+            }
+
+            return new LayoutPlan(id, name, description, margin, steps);
+        }
+
+        private Step compileElement(Map<String, Object> element) {
+            String type = requireString(element, "type");
+            switch (type) {
+                case "rect":
+                    return compileRect(element);
+                case "text":
+                    return new TextStep(
+                        textValue(element),
+                        optString(element, "prefix", ""),
+                        "upper".equals(optString(element, "transform", null)),
+                        font(requireString(element, "font")),
+                        color(optString(element, "color", "text")),
+                        "center".equals(optString(element, "align", "left")),
+                        optInt(element, "x", margin),
+                        element.containsKey("y") ? optInt(element, "y", 0) : null,
+                        optInt(element, "dy", 0),
+                        optInt(element, "advance", 0));
+                case "rule":
+                    return new RuleStep(
+                        color(optString(element, "color", "text")),
+                        margin, ResumeExporter.PAGE_WIDTH - margin,
+                        optInt(element, "advance", 0));
+                case "repeat":
+                    int spacing = Math.max(1, optInt(element, "spacing", 10));
+                    return new RepeatStep(
+                        requireString(element, "text"),
+                        font(requireString(element, "font")),
+                        color(optString(element, "color", "text")),
+                        margin, spacing, contentWidth() / spacing,
+                        optInt(element, "advance", 0));
+                case "cursor":
+                    return new CursorStep(optInt(element, "y", margin));
+                default:
+                    throw invalid("unknown header element type '" + type + "'");
+            }
+        }
+
+        private Step compileRect(Map<String, Object> element) {
+            int x = optInt(element, "x", 0);
+            int y = optInt(element, "y", 0);
+            int width = optInt(element, "width", ResumeExporter.PAGE_WIDTH);
+            int height = requireInt(element, "height");
+
+            Paint paint;
+            Map<String, Object> gradient = optMap(element, "gradient");
+            if (!gradient.isEmpty()) {
+                paint = new GradientPaint(x, y, color(requireString(gradient, "from")),
+                    x + width, y + height, color(requireString(gradient, "to")));
+            } else {
+                paint = color(requireString(element, "fill"));
+            }
+            return new FillStep(paint, x, y, width, height);
+        }
+
+        private Function<ResumeData, String> textValue(Map<String, Object> element) {
+            if (element.containsKey("text")) {
+                String literal = requireString(element, "text");
+                return data -> literal;
+            }
+
+            String value = requireString(element, "value");
+            switch (value) {
+                case "name":
+                    return data -> data.getFullName() != null ? data.getFullName() : "YOUR NAME";
+                case "role":
+                    return ResumeData::getSelectedRole;
+                case "contact":
+                    return ResumeContent::contact;
+                case "email":
+                    return ResumeData::getEmail;
+                case "phone":
+                    return ResumeData::getPhone;
+                case "address":
+                    return ResumeData::getAddress;
+                default:
+                    throw invalid("unknown text value '" + value + "'");
+            }
+        }
+
+        private void compileSections(Map<String, Object> sections, List<Step> steps) {
+            if (sections.containsKey("start")) {
+                steps.add(new CursorStep(requireInt(sections, "start")));
+            }
+
+            Map<String, Object> styleDefinition = optMap(sections, "style");
+            SectionStyle style = new SectionStyle();
+            style.titleFont = font(requireString(styleDefinition, "titleFont"));
+            style.titleColor = color(optString(styleDefinition, "titleColor", "text"));
+            style.titleGap = optInt(styleDefinition, "titleGap", 15);
+            style.underline = optInt(styleDefinition, "underline", 0);
+            style.underlineGap = optInt(styleDefinition, "underlineGap", 0);
+            style.bodyFont = font(requireString(styleDefinition, "bodyFont"));
+            style.bodyColor = color(optString(styleDefinition, "bodyColor", "text"));
+            style.spacing = optInt(styleDefinition, "spacing", 15);
+            style.x = margin;
+            style.width = contentWidth();
+
+            List<Object> order = optList(sections, "order");
+            int slot = 0;
+            for (int i = 0; i < order.size(); i++) {
+                Map<String, Object> entry = asMap(order.get(i), "sections.order[" + i + "]");
+                String sectionName = requireString(entry, "section");
+                String format = optString(entry, "format", "standard");
+
+                // Each entry gets its own cache id so differently formatted
+                // copies of a section never share a laid-out block
+                steps.add(new SectionStep(
+                    slot++,
+                    id + "#" + i,
+                    section(sectionName),
+                    sectionContent(sectionName, format),
+                    requireString(entry, "title"),
+                    optString(entry, "placeholder", null),
+                    style));
+            }
+        }
+
+        private Section section(String name) {
+            try {
+                return Section.valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw invalid("unknown section '" + name + "'");
+            }
+        }
+
+        private Function<ResumeData, String> sectionContent(String name, String format) {
+            switch (name) {
+                case "objective":
+                    return ResumeData::getObjective;
+                case "summary":
+                    return ResumeData::getSummary;
+                case "skills":
+                    return "technical".equals(format) ? ResumeContent::technicalSkills : ResumeContent::skills;
+                case "education":
+                    return ResumeContent::education;
+                case "experience":
+                    return ResumeContent::experience;
+                case "projects":
+                    return ResumeContent::projects;
+                case "achievements":
+                    return data -> ResumeContent.bullets(data.getAchievements());
+                case "certifications":
+                    return data -> ResumeContent.bullets(data.getCertifications());
+                case "languages":
+                    return data -> String.join(", ", data.getLanguages());
+                default:
+                    throw invalid("section '" + name + "' cannot be placed in the body");
+            }
+        }
+
+        private int contentWidth() {
+            return ResumeExporter.PAGE_WIDTH - 2 * margin;
+        }
+
+        private Font font(String name) {
+            Font font = fonts.get(name);
+            if (font == null) {
+                throw invalid("unknown font '" + name + "'");
+            }
+            return font;
+        }
+
+        private Color color(String value) {
+            if (value.startsWith("#")) {
+                return parseColor(value);
+            }
+            Color color = colors.get(value);
+            if (color == null) {
+                throw invalid("unknown color '" + value + "'");
+            }
+            return color;
+        }
+
+        private Color parseColor(String value) {
+            if (!value.matches("#[0-9a-fA-F]{6}")) {
+                throw invalid("colors must be #rrggbb, got '" + value + "'");
+            }
+            return new Color(Integer.parseInt(value.substring(1), 16));
+        }
+
+        private Font parseFont(Map<String, Object> font) {
+            String style = optString(font, "style", "plain");
+            int awtStyle;
+            switch (style) {
+                case "plain": awtStyle = Font.PLAIN; break;
+                case "bold": awtStyle = Font.BOLD; break;
+                case "italic": awtStyle = Font.ITALIC; break;
+                case "bolditalic": awtStyle = Font.BOLD | Font.ITALIC; break;
+                default: throw invalid("unknown font style '" + style + "'");
+            }
+            return new Font(requireString(font, "family"), awtStyle, requireInt(font, "size"));
+        }
+
+        // Definition accessors
+
+        private String requireString(Map<String, Object> map, String key) {
+            Object value = map.get(key);
+            if (!(value instanceof String)) {
+                throw invalid("missing or non-string '" + key + "'");
+            }
+            return (String) value;
+        }
+
+        private String optString(Map<String, Object> map, String key, String fallback) {
+            Object value = map.get(key);
+            return value instanceof String ? (String) value : fallback;
+        }
+
+        private int requireInt(Map<String, Object> map, String key) {
+            Object value = map.get(key);
+            if (!(value instanceof Number)) {
+                throw invalid("missing or non-numeric '" + key + "'");
+            }
+            return ((Number) value).intValue();
+        }
+
+        private int optInt(Map<String, Object> map, String key, int fallback) {
+            Object value = map.get(key);
+            return value instanceof Number ? ((Number) value).intValue() : fallback;
+        }
+
+        private boolean optBoolean(Map<String, Object> map, String key, boolean fallback) {
+            Object value = map.get(key);
+            return value instanceof Boolean ? (Boolean) value : fallback;
+        }
+
+        private Map<String, Object> optMap(Map<String, Object> map, String key) {
+            Object value = map.get(key);
+            return value == null ? Collections.emptyMap() : asMap(value, key);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> asMap(Object value, String what) {
+            if (!(value instanceof Map)) {
+                throw invalid("'" + what + "' must be an object");
+            }
+            return (Map<String, Object>) value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<Object> optList(Map<String, Object> map, String key) {
+            Object value = map.get(key);
+            if (value == null) {
+                return Collections.emptyList();
+            }
+            if (!(value instanceof List)) {
+                throw invalid("'" + key + "' must be an array");
+            }
+            return (List<Object>) value;
+        }
+
+        private IllegalArgumentException invalid(String message) {
+            return new IllegalArgumentException("Template " + (id != null ? id : "?") + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,552 @@
+package app.exporter;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Paint;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.zip.Deflater;
+
+/**
+ * Streaming writer for one PDF holding many resume pages
+ * Pages are written as vector content straight from their display lists and
+ * flushed as soon as they are added, so a batch of thousands of resumes never
+ * sits in memory. Everything pages have in common is written once and shared:
+ * the standard-14 fonts, gradient shadings used by template artwork, images
+ * (identical QR codes or logos are stored once, keyed by pixel content) and a
+ * single resources dictionary that every page points to. The page tree,
+ * resources and cross-reference table follow at the end of the file.
+ *
+ * Text uses the built-in Helvetica, Courier and Times faces with
+ * WinAnsiEncoding, so no font programs are embedded; characters outside that
+ * encoding (emoji section icons) are left out.
+ */
+public class PdfBatchWriter implements Closeable {
+
+    private static final byte[] HEADER = "%PDF-1.4\n%\u00E2\u00E3\u00CF\u00D3\n".getBytes(StandardCharsets.ISO_8859_1);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Objects written at close, reserved first so pages can refer to them
+    private static final int CATALOG = 1;
+    private static final int PAGE_TREE = 2;
+    private static final int RESOURCES = 3;
+
+    // Unicode characters WinAnsiEncoding places in 0x80-0x9F (0 where unassigned)
+    private static final char[] WIN_ANSI_80_9F = {
+        '\u20AC', 0, '\u201A', '\u0192', '\u201E', '\u2026', '\u2020', '\u2021',
+        '\u02C6', '\u2030', '\u0160', '\u2039', '\u0152', 0, '\u017D', 0,
+        0, '\u2018', '\u2019', '\u201C', '\u201D', '\u2022', '\u2013', '\u2014',
+        '\u02DC', '\u2122', '\u0161', '\u203A', '\u0153', 0, '\u017E', '\u0178'
+    };
+    private static final Map<Character, Integer> WIN_ANSI_EXTRAS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < WIN_ANSI_80_9F.length; i++) {
+            if (WIN_ANSI_80_9F[i] != 0) {
+                WIN_ANSI_EXTRAS.put(WIN_ANSI_80_9F[i], 0x80 + i);
+            }
+        }
+    }
+
+    private final OutputStream out;
+    private final int compressionLevel;
+    private final Deflater deflater;
+    private long position;
+    private boolean closed;
+
+    // Byte offset of each object, indexed by object number - 1
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> pages = new ArrayList<>();
+
+    // Shared resources: name in the resources dictionary -> object number
+    private final Map<String, String> fontNames = new HashMap<>();
+    private final Map<String, Integer> fonts = new LinkedHashMap<>();
+    private final Map<String, String> shadingNames = new HashMap<>();
+    private final Map<String, Integer> shadings = new LinkedHashMap<>();
+    private final Map<String, String> imageNames = new HashMap<>();
+    private final Map<String, Integer> images = new LinkedHashMap<>();
+    // Content keys of images already seen; weak, so pages' images are not kept alive
+    private final Map<BufferedImage, String> imageKeys = new WeakHashMap<>();
+
+    public PdfBatchWriter(WritableByteChannel channel) throws IOException {
+        this(channel, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param compressionLevel Deflate level for page content and images, 0 to 9
+     */
+    public PdfBatchWriter(WritableByteChannel channel, int compressionLevel) throws IOException {
+        this.out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        this.compressionLevel = compressionLevel;
+        this.deflater = new Deflater(compressionLevel);
+
+        write(HEADER);
+        for (int i = 0; i < RESOURCES; i++) {
+            reserve();
+        }
+    }
+
+    /**
+     * Appends a recorded page and writes it out
+     * Resources it introduces are written before it; ones it shares with
+     * earlier pages are only referenced.
+     */
+    public void addPage(DisplayList page) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("PDF already closed");
+        }
+
+        ContentVisitor content = new ContentVisitor();
+        page.accept(content);
+        if (content.error != null) {
+            throw content.error;
+        }
+
+        int contents = writeStream("", content.toBytes(), true);
+        int pageObject = beginObject();
+        write("<< /Type /Page /Parent " + PAGE_TREE + " 0 R /MediaBox [0 0 "
+            + ResumeExporter.PAGE_WIDTH + " " + ResumeExporter.PAGE_HEIGHT + "] /Resources "
+            + RESOURCES + " 0 R /Contents " + contents + " 0 R >>");
+        endObject();
+        pages.add(pageObject);
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * Number of distinct images stored, however many pages use them
+     */
+    public int getImageCount() {
+        return images.size();
+    }
+
+    /**
+     * Bytes written so far
+     */
+    public long getSize() {
+        return position;
+    }
+
+    /**
+     * Writes the page tree, shared resources and cross-reference table
+     * The underlying channel is left open.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            StringBuilder resources = new StringBuilder("<< /ProcSet [/PDF /Text /ImageC]");
+            appendResourceGroup(resources, "/Font", fonts);
+            appendResourceGroup(resources, "/Shading", shadings);
+            appendResourceGroup(resources, "/XObject", images);
+            resources.append(" >>");
+            writeObject(RESOURCES, resources.toString());
+
+            StringBuilder kids = new StringBuilder("<< /Type /Pages /Kids [");
+            for (int i = 0; i < pages.size(); i++) {
+                kids.append(i == 0 ? "" : " ").append(pages.get(i)).append(" 0 R");
+            }
+            kids.append("] /Count ").append(pages.size()).append(" >>");
+            writeObject(PAGE_TREE, kids.toString());
+
+            writeObject(CATALOG, "<< /Type /Catalog /Pages " + PAGE_TREE + " 0 R >>");
+
+            long xref = position;
+            StringBuilder table = new StringBuilder();
+            table.append("xref\n0 ").append(offsets.size() + 1).append("\n");
+            table.append("0000000000 65535 f \n");
+            for (long offset : offsets) {
+                table.append(String.format("%010d 00000 n \n", offset));
+            }
+            table.append("trailer\n<< /Size ").append(offsets.size() + 1)
+                .append(" /Root ").append(CATALOG).append(" 0 R >>\n");
+            table.append("startxref\n").append(xref).append("\n%%EOF\n");
+            write(table.toString());
+            out.flush();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void appendResourceGroup(StringBuilder resources, String group, Map<String, Integer> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        resources.append(' ').append(group).append(" <<");
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            resources.append(" /").append(entry.getKey()).append(' ').append(entry.getValue()).append(" 0 R");
+        }
+        resources.append(" >>");
+    }
+
+    // Shared resources
+
+    private String fontResource(Font font) throws IOException {
+        String baseFont = baseFont(font);
+        String name = fontNames.get(baseFont);
+        if (name == null) {
+            name = "F" + (fonts.size() + 1);
+            int object = writeObject("<< /Type /Font /Subtype /Type1 /BaseFont /" + baseFont
+                + " /Encoding /WinAnsiEncoding >>");
+            fontNames.put(baseFont, name);
+            fonts.put(name, object);
+        }
+        return name;
+    }
+
+    /**
+     * Maps an AWT font onto the closest standard-14 face
+     */
+    static String baseFont(Font font) {
+        String family = font.getFamily().toLowerCase();
+        boolean bold = font.isBold();
+        boolean italic = font.isItalic();
+
+        if (family.contains("courier") || family.contains("mono")) {
+            return "Courier" + styleSuffix(bold, italic, "Oblique");
+        }
+        if (family.contains("times") || family.contains("serif") && !family.contains("sans")) {
+            return bold || italic ? "Times-" + (bold ? "Bold" : "") + (italic ? "Italic" : "") : "Times-Roman";
+        }
+        return "Helvetica" + styleSuffix(bold, italic, "Oblique");
+    }
+
+    private static String styleSuffix(boolean bold, boolean italic, String slant) {
+        if (!bold && !italic) {
+            return "";
+        }
+        return "-" + (bold ? "Bold" : "") + (italic ? slant : "");
+    }
+
+    private String shadingResource(GradientPaint gradient) throws IOException {
+        Point2D p1 = gradient.getPoint1();
+        Point2D p2 = gradient.getPoint2();
+        String coords = num(p1.getX()) + " " + num(flipY(p1.getY())) + " "
+            + num(p2.getX()) + " " + num(flipY(p2.getY()));
+        String key = coords + " " + rgb(gradient.getColor1()) + " " + rgb(gradient.getColor2());
+
+        String name = shadingNames.get(key);
+        if (name == null) {
+            name = "Sh" + (shadings.size() + 1);
+            int object = writeObject("<< /ShadingType 2 /ColorSpace /DeviceRGB /Coords [" + coords + "]"
+                + " /Function << /FunctionType 2 /Domain [0 1] /C0 [" + rgb(gradient.getColor1()) + "]"
+                + " /C1 [" + rgb(gradient.getColor2()) + "] /N 1 >> /Extend [true true] >>");
+            shadingNames.put(key, name);
+            shadings.put(name, object);
+        }
+        return name;
+    }
+
+    private String imageResource(BufferedImage image) throws IOException {
+        String key = imageKeys.get(image);
+        byte[] pixels = null;
+        if (key == null) {
+            pixels = rgbBytes(image);
+            key = image.getWidth() + "x" + image.getHeight() + ":" + digest(pixels);
+            imageKeys.put(image, key);
+        }
+
+        String name = imageNames.get(key);
+        if (name == null) {
+            if (pixels == null) {
+                pixels = rgbBytes(image);
+            }
+            name = "Im" + (images.size() + 1);
+            int object = writeStream("/Type /XObject /Subtype /Image /Width " + image.getWidth()
+                + " /Height " + image.getHeight() + " /ColorSpace /DeviceRGB /BitsPerComponent 8", pixels, true);
+            imageNames.put(key, name);
+            images.put(name, object);
+        }
+        return name;
+    }
+
+    private static byte[] rgbBytes(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] row = new int[width];
+        byte[] bytes = new byte[width * height * 3];
+        int i = 0;
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                // Transparent pixels land on the white page
+                int argb = row[x];
+                int alpha = argb >>> 24;
+                bytes[i++] = (byte) blend(argb >> 16 & 0xFF, alpha);
+                bytes[i++] = (byte) blend(argb >> 8 & 0xFF, alpha);
+                bytes[i++] = (byte) blend(argb & 0xFF, alpha);
+            }
+        }
+        return bytes;
+    }
+
+    private static int blend(int channel, int alpha) {
+        return (channel * alpha + 255 * (255 - alpha) + 127) / 255;
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    // Object output
+
+    private int reserve() {
+        offsets.add(-1L);
+        return offsets.size();
+    }
+
+    private int beginObject() throws IOException {
+        int object = reserve();
+        beginObject(object);
+        return object;
+    }
+
+    private void beginObject(int object) throws IOException {
+        offsets.set(object - 1, position);
+        write(object + " 0 obj\n");
+    }
+
+    private void endObject() throws IOException {
+        write("\nendobj\n");
+    }
+
+    private int writeObject(String body) throws IOException {
+        int object = reserve();
+        writeObject(object, body);
+        return object;
+    }
+
+    private void writeObject(int object, String body) throws IOException {
+        beginObject(object);
+        write(body);
+        endObject();
+    }
+
+    private int writeStream(String dictionary, byte[] data, boolean compress) throws IOException {
+        byte[] payload = compress ? deflate(data) : data;
+        int object = beginObject();
+        write("<< " + dictionary + (dictionary.isEmpty() ? "" : " ")
+            + (compress ? "/Filter /FlateDecode " : "") + "/Length " + payload.length + " >>\nstream\n");
+        write(payload);
+        write("\nendstream");
+        endObject();
+        return object;
+    }
+
+    private byte[] deflate(byte[] data) {
+        deflater.reset();
+        deflater.setLevel(compressionLevel);
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(buffer);
+            compressed.write(buffer, 0, length);
+        }
+        return compressed.toByteArray();
+    }
+
+    private void write(String text) throws IOException {
+        write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    // Content streams
+
+    private static double flipY(double y) {
+        return ResumeExporter.PAGE_HEIGHT - y;
+    }
+
+    private static String rgb(Color color) {
+        return num(color.getRed() / 255.0) + " " + num(color.getGreen() / 255.0) + " " + num(color.getBlue() / 255.0);
+    }
+
+    /**
+     * Formats a number with at most three decimals and no exponent
+     */
+    private static String num(double value) {
+        long scaled = Math.round(value * 1000);
+        if (scaled % 1000 == 0) {
+            return Long.toString(scaled / 1000);
+        }
+        return BigDecimal.valueOf(scaled, 3).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * Encodes text as a PDF string literal in WinAnsiEncoding
+     * Unencodable characters are dropped together with the space that
+     * separates a leading icon from its label.
+     */
+    static String pdfString(String text) {
+        StringBuilder literal = new StringBuilder(text.length() + 2).append('(');
+        boolean skipSpace = false;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            int code = winAnsi(codePoint);
+            if (code < 0) {
+                skipSpace = true;
+                continue;
+            }
+            if (code == ' ' && skipSpace) {
+                skipSpace = false;
+                continue;
+            }
+            skipSpace = false;
+
+            if (code == '(' || code == ')' || code == '\\') {
+                literal.append('\\').append((char) code);
+            } else if (code < 0x20 || code > 0x7E) {
+                literal.append('\\').append(Integer.toOctalString(0x200 | code).substring(1));
+            } else {
+                literal.append((char) code);
+            }
+        }
+        return literal.append(')').toString();
+    }
+
+    private static int winAnsi(int codePoint) {
+        if (codePoint >= 0x20 && codePoint < 0x7F || codePoint >= 0xA0 && codePoint <= 0xFF) {
+            return codePoint;
+        }
+        if (codePoint == '\t') {
+            return ' ';
+        }
+        Integer extra = codePoint <= Character.MAX_VALUE ? WIN_ANSI_EXTRAS.get((char) codePoint) : null;
+        return extra != null ? extra : -1;
+    }
+
+    /**
+     * Translates display-list operations into PDF page content
+     * AWT coordinates are flipped here rather than with a page-wide matrix, so
+     * text keeps its normal orientation.
+     */
+    private final class ContentVisitor implements DisplayList.Visitor {
+        private final StringBuilder content = new StringBuilder(4096);
+        private GradientPaint gradient;
+        private IOException error;
+
+        byte[] toBytes() {
+            return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public void paint(Paint paint) {
+            gradient = null;
+            if (paint instanceof GradientPaint) {
+                gradient = (GradientPaint) paint;
+                return;
+            }
+            Color color = paint instanceof Color ? (Color) paint : Color.BLACK;
+            String rgb = rgb(color);
+            content.append(rgb).append(" rg ").append(rgb).append(" RG\n");
+        }
+
+        @Override
+        public void fillRect(int x, int y, int width, int height) {
+            String rect = x + " " + num(flipY(y + height)) + " " + width + " " + height + " re";
+            if (gradient != null) {
+                String shading = resource(() -> shadingResource(gradient));
+                if (shading != null) {
+                    content.append("q ").append(rect).append(" W n /").append(shading).append(" sh Q\n");
+                }
+                return;
+            }
+            content.append(rect).append(" f\n");
+        }
+
+        @Override
+        public void drawRect(int x, int y, int width, int height) {
+            // AWT strokes centre on pixel edges offset by half a pixel
+            content.append(num(x + 0.5)).append(' ').append(num(flipY(y + height + 0.5))).append(' ')
+                .append(width).append(' ').append(height).append(" re S\n");
+        }
+
+        @Override
+        public void drawLine(int x1, int y1, int x2, int y2) {
+            content.append(num(x1 + 0.5)).append(' ').append(num(flipY(y1 + 0.5))).append(" m ")
+                .append(num(x2 + 0.5)).append(' ').append(num(flipY(y2 + 0.5))).append(" l S\n");
+        }
+
+        @Override
+        public void drawText(Font font, String text, float x, float y, GlyphCache.ShapedText glyphs) {
+            String literal = pdfString(text);
+            if (literal.length() <= 2) {
+                return;
+            }
+            String name = resource(() -> fontResource(font));
+            if (name == null) {
+                return;
+            }
+            content.append("BT /").append(name).append(' ').append(num(font.getSize2D())).append(" Tf ")
+                .append(num(x)).append(' ').append(num(flipY(y))).append(" Td ")
+                .append(literal).append(" Tj ET\n");
+        }
+
+        @Override
+        public void drawImage(BufferedImage image, int x, int y, int width, int height) {
+            String name = resource(() -> imageResource(image));
+            if (name == null) {
+                return;
+            }
+            content.append("q ").append(width).append(" 0 0 ").append(height).append(' ')
+                .append(x).append(' ').append(num(flipY(y + height))).append(" cm /")
+                .append(name).append(" Do Q\n");
+        }
+
+        /**
+         * Writes a shared resource mid-page, holding on to the first failure
+         * since visitor methods cannot throw
+         */
+        private String resource(ResourceWriter writer) {
+            if (error != null) {
+                return null;
+            }
+            try {
+                return writer.write();
+            } catch (IOException e) {
+                error = e;
+                return null;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResourceWriter {
+        String write() throws IOException;
+    }
+}
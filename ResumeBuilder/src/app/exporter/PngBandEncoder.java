@@ -0,0 +1,310 @@
+package app.exporter;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Streaming PNG encoder fed band by band
+ * Rows are filtered and deflated as bands arrive and IDAT chunks are written
+ * to the channel as soon as they fill, so memory use depends on the image
+ * width, not its height. Output is 8-bit RGB, non-interlaced.
+ *
+ * Compression level trades batch throughput against file size: on a 300 DPI
+ * resume page BEST_SPEED encodes in roughly half the time of
+ * BEST_COMPRESSION but produces a file close to twice as large; the default
+ * level sits near the smaller end at moderate cost.
+ */
+public class PngBandEncoder implements BandSink {
+
+    public static final int BEST_SPEED = Deflater.BEST_SPEED;
+    public static final int DEFAULT_COMPRESSION = 6;
+    public static final int BEST_COMPRESSION = Deflater.BEST_COMPRESSION;
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int BYTES_PER_PIXEL = 3;
+
+    private static final byte FILTER_NONE = 0;
+    private static final byte FILTER_SUB = 1;
+    private static final byte FILTER_UP = 2;
+    private static final byte FILTER_AVERAGE = 3;
+    private static final byte FILTER_PAETH = 4;
+
+    /**
+     * How each scanline's PNG filter is chosen
+     */
+    public enum FilterStrategy {
+        /** No filtering; cheapest */
+        NONE,
+        /** Sub on every row */
+        SUB,
+        /** Up on every row */
+        UP,
+        /** Per row, the filter with the smallest sum of absolute residuals (libpng's heuristic) */
+        ADAPTIVE,
+        /**
+         * Tuned for mostly-white documents: rows identical to the previous
+         * one use Up (all zeros); others stay unfiltered, since deflate
+         * already matches runs of white and repeated glyph rows, while
+         * predictors turn antialiased edges into noise
+         */
+        DOCUMENT
+    }
+
+    private final WritableByteChannel channel;
+    private final FilterStrategy strategy;
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer header = ByteBuffer.allocate(8);
+    private final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+
+    private int width;
+    private int height;
+    private int rowsWritten;
+    private byte[] previous;
+    private byte[] current;
+    private byte[] filtered;
+    private byte[] candidate;
+    private int[] rowPixels;
+
+    public PngBandEncoder(WritableByteChannel channel) {
+        this(channel, DEFAULT_COMPRESSION, FilterStrategy.DOCUMENT);
+    }
+
+    /**
+     * @param compressionLevel Deflate level, 0 (store) to 9 (smallest)
+     */
+    public PngBandEncoder(WritableByteChannel channel, int compressionLevel, FilterStrategy strategy) {
+        this.channel = channel;
+        this.strategy = strategy;
+        this.deflater = new Deflater(compressionLevel);
+    }
+
+    @Override
+    public void begin(int width, int height) throws IOException {
+        this.width = width;
+        this.height = height;
+        int rowBytes = width * BYTES_PER_PIXEL;
+        this.previous = new byte[rowBytes];
+        this.current = new byte[rowBytes];
+        this.filtered = new byte[rowBytes + 1];
+        this.candidate = new byte[rowBytes + 1];
+        this.rowPixels = new int[width];
+
+        write(ByteBuffer.wrap(SIGNATURE));
+
+        ByteBuffer ihdr = ByteBuffer.allocate(13);
+        ihdr.putInt(width).putInt(height);
+        ihdr.put((byte) 8);  // bit depth
+        ihdr.put((byte) 2);  // colour type: truecolour
+        ihdr.put((byte) 0);  // deflate
+        ihdr.put((byte) 0);  // adaptive filtering
+        ihdr.put((byte) 0);  // no interlace
+        ihdr.flip();
+        writeChunk("IHDR", ihdr);
+    }
+
+    @Override
+    public void writeBand(BufferedImage band, int y, int rows) throws IOException {
+        if (y != rowsWritten) {
+            throw new IllegalStateException("Bands must arrive in order; expected row " + rowsWritten + " but got " + y);
+        }
+
+        int[] data = band.getType() == BufferedImage.TYPE_INT_RGB
+            ? ((DataBufferInt) band.getRaster().getDataBuffer()).getData()
+            : null;
+
+        for (int row = 0; row < rows; row++) {
+            if (data != null) {
+                System.arraycopy(data, row * band.getWidth(), rowPixels, 0, width);
+            } else {
+                band.getRGB(0, row, width, 1, rowPixels, 0, width);
+            }
+            encodeRow();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (rowsWritten != height) {
+            throw new IllegalStateException("Expected " + height + " rows but got " + rowsWritten);
+        }
+        try {
+            deflater.finish();
+            while (!deflater.finished()) {
+                drainDeflater();
+            }
+            flushIdat();
+            writeChunk("IEND", ByteBuffer.allocate(0));
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Frees the deflater's native memory now rather than when it is collected
+     */
+    @Override
+    public void abort() {
+        deflater.end();
+    }
+
+    private void encodeRow() throws IOException {
+        byte[] raw = current;
+        for (int x = 0, i = 0; x < width; x++) {
+            int rgb = rowPixels[x];
+            raw[i++] = (byte) (rgb >> 16);
+            raw[i++] = (byte) (rgb >> 8);
+            raw[i++] = (byte) rgb;
+        }
+
+        byte[] row = chooseFilter();
+        deflater.setInput(row, 0, row.length);
+        while (!deflater.needsInput()) {
+            drainDeflater();
+        }
+
+        // The current row becomes the Up/Average/Paeth reference
+        byte[] swap = previous;
+        previous = current;
+        current = swap;
+        rowsWritten++;
+    }
+
+    private byte[] chooseFilter() {
+        switch (strategy) {
+            case NONE:
+                return applyFilter(FILTER_NONE, filtered);
+            case SUB:
+                return applyFilter(FILTER_SUB, filtered);
+            case UP:
+                return applyFilter(FILTER_UP, filtered);
+            case DOCUMENT:
+                boolean repeat = rowsWritten > 0 && Arrays.equals(current, previous);
+                return applyFilter(repeat ? FILTER_UP : FILTER_NONE, filtered);
+            case ADAPTIVE:
+            default:
+                return adaptiveFilter();
+        }
+    }
+
+    private byte[] adaptiveFilter() {
+        byte[] best = applyFilter(FILTER_NONE, filtered);
+        long bestScore = residualScore(best);
+        byte[] spare = candidate;
+
+        for (byte type = FILTER_SUB; type <= FILTER_PAETH; type++) {
+            byte[] trial = applyFilter(type, spare);
+            long score = residualScore(trial);
+            if (score < bestScore) {
+                spare = best;
+                best = trial;
+                bestScore = score;
+            }
+        }
+
+        // Keep both buffers owned for the next row
+        filtered = best;
+        candidate = spare;
+        return best;
+    }
+
+    private byte[] applyFilter(byte type, byte[] out) {
+        byte[] raw = current;
+        byte[] prior = previous;
+        boolean firstRow = rowsWritten == 0;
+        out[0] = type;
+
+        for (int i = 0; i < raw.length; i++) {
+            int x = raw[i] & 0xFF;
+            int a = i >= BYTES_PER_PIXEL ? raw[i - BYTES_PER_PIXEL] & 0xFF : 0;
+            int b = firstRow ? 0 : prior[i] & 0xFF;
+            int predicted;
+            switch (type) {
+                case FILTER_SUB:
+                    predicted = a;
+                    break;
+                case FILTER_UP:
+                    predicted = b;
+                    break;
+                case FILTER_AVERAGE:
+                    predicted = (a + b) >>> 1;
+                    break;
+                case FILTER_PAETH:
+                    int c = i >= BYTES_PER_PIXEL && !firstRow ? prior[i - BYTES_PER_PIXEL] & 0xFF : 0;
+                    predicted = paeth(a, b, c);
+                    break;
+                default:
+                    predicted = 0;
+                    break;
+            }
+            out[i + 1] = (byte) (x - predicted);
+        }
+        return out;
+    }
+
+    private static int paeth(int a, int b, int c) {
+        int p = a + b - c;
+        int pa = Math.abs(p - a);
+        int pb = Math.abs(p - b);
+        int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) return a;
+        if (pb <= pc) return b;
+        return c;
+    }
+
+    private static long residualScore(byte[] row) {
+        long sum = 0;
+        for (int i = 1; i < row.length; i++) {
+            sum += Math.abs(row[i]);
+        }
+        return sum;
+    }
+
+    private void drainDeflater() throws IOException {
+        int written = deflater.deflate(chunk.array(), chunk.position(), chunk.remaining());
+        chunk.position(chunk.position() + written);
+        if (!chunk.hasRemaining()) {
+            flushIdat();
+        }
+    }
+
+    private void flushIdat() throws IOException {
+        if (chunk.position() == 0) {
+            return;
+        }
+        chunk.flip();
+        writeChunk("IDAT", chunk);
+        chunk.clear();
+    }
+
+    private void writeChunk(String type, ByteBuffer data) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+
+        crc.reset();
+        crc.update(typeBytes);
+        crc.update(data.duplicate());
+
+        header.clear();
+        header.putInt(data.remaining()).put(typeBytes).flip();
+        write(header);
+        write(data);
+
+        header.clear();
+        header.putInt((int) crc.getValue()).flip();
+        write(header);
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package app.exporter;
+
+import app.model.ResumeData;
+import app.utils.ResumeJsonlReader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load harness for export latency while a batch saturates the machine
+ * Keeps the batch lane of the shared {@link RenderScheduler} full of page
+ * renders, as a large batch run does, and meanwhile times single exports
+ * through the interactive lane the way the export button submits them:
+ * record the page, then rasterize and encode it at print resolution (the
+ * file write is left out). Latency is taken from submit to finished bytes,
+ * so it includes the wait for a worker as well as the render.
+ *
+ * Exports are spaced by random pauses from a fixed seed so runs can be
+ * compared. Exits with status 1 when the 99th percentile is not under a
+ * second.
+ */
+public final class RenderLoadHarness {
+
+    private static final long TARGET_P99_MILLIS = 1000;
+
+    // Records read from the input and cycled through by both lanes
+    private static final int MAX_RECORDS = 1000;
+
+    private static final int WARMUP_EXPORTS = 5;
+    private static final int UNLOADED_EXPORTS = 20;
+    private static final long MEAN_PAUSE_MILLIS = 100;
+    private static final long SEED = 49;
+
+    private RenderLoadHarness() {
+    }
+
+    /**
+     * Command-line entry point: resumes.jsonl [exports] [dpi] [templateId]
+     * Defaults to 200 exports at 300 DPI; the batch lane renders at 72 DPI,
+     * like BatchExporter.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: RenderLoadHarness <resumes.jsonl> [exports] [dpi] [templateId]");
+            System.exit(2);
+        }
+        int exports = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int dpi = args.length > 2 ? Integer.parseInt(args[2]) : 300;
+        String templateId = args.length > 3 ? args[3] : TemplateRegistry.DEFAULT_TEMPLATE;
+
+        List<ResumeData> records = new ArrayList<>();
+        try (ResumeJsonlReader reader = ResumeJsonlReader.open(Paths.get(args[0]))) {
+            ResumeData resumeData;
+            while (records.size() < MAX_RECORDS && (resumeData = reader.next()) != null) {
+                records.add(resumeData);
+            }
+        }
+        if (records.isEmpty()) {
+            System.err.println("No records in " + args[0]);
+            System.exit(2);
+        }
+
+        RenderScheduler scheduler = RenderScheduler.getInstance();
+        Random random = new Random(SEED);
+
+        timeExports(scheduler, records, templateId, dpi, WARMUP_EXPORTS, 0, random);
+        long[] unloaded = timeExports(scheduler, records, templateId, dpi, UNLOADED_EXPORTS, 0, random);
+        Arrays.sort(unloaded);
+        System.out.printf("Unloaded: %d exports at %d DPI, median %d ms%n",
+            unloaded.length, dpi, unloaded[unloaded.length / 2]);
+
+        // Feeder keeps a few batch pages per core queued behind the running ones
+        int threads = Runtime.getRuntime().availableProcessors();
+        Semaphore queued = new Semaphore(threads * 4);
+        Thread feeder = new Thread(() -> {
+            int next = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    queued.acquire();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                ResumeData record = records.get(next++ % records.size());
+                scheduler.submit(RenderScheduler.Lane.BATCH,
+                        () -> BatchExporter.renderEntry(record, templateId, null, 1.0))
+                    .whenComplete((bytes, error) -> queued.release());
+            }
+        }, "load-batch-feeder");
+        feeder.setDaemon(true);
+        feeder.start();
+
+        long batchBefore = scheduler.getStats(RenderScheduler.Lane.BATCH).getCompleted();
+        long start = System.nanoTime();
+        timeExports(scheduler, records, templateId, dpi, WARMUP_EXPORTS, MEAN_PAUSE_MILLIS, random);
+        long[] latencies = timeExports(scheduler, records, templateId, dpi, exports, MEAN_PAUSE_MILLIS, random);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long batchPages = scheduler.getStats(RenderScheduler.Lane.BATCH).getCompleted() - batchBefore;
+        feeder.interrupt();
+
+        Arrays.sort(latencies);
+        long p99 = percentile(latencies, 99);
+        System.out.printf("Under batch load: %d exports at %d DPI, p50 %d ms, p90 %d ms, p99 %d ms, max %d ms%n",
+            latencies.length, dpi, percentile(latencies, 50), percentile(latencies, 90), p99,
+            latencies[latencies.length - 1]);
+        System.out.printf("Batch lane: %d pages in %.1f s (%.1f pages/s) on %d workers%n",
+            batchPages, seconds, batchPages / seconds, threads);
+        System.out.println("Interactive lane: " + scheduler.getStats(RenderScheduler.Lane.INTERACTIVE));
+        System.out.println("Batch lane: " + scheduler.getStats(RenderScheduler.Lane.BATCH));
+
+        if (p99 >= TARGET_P99_MILLIS) {
+            System.out.println("FAIL: p99 is not under " + TARGET_P99_MILLIS + " ms");
+            System.exit(1);
+        }
+        System.out.println("OK: p99 is under " + TARGET_P99_MILLIS + " ms");
+        System.exit(0);
+    }
+
+    /**
+     * Times exports one after another, pausing a random time around the mean between them
+     */
+    private static long[] timeExports(RenderScheduler scheduler, List<ResumeData> records, String templateId,
+                                      int dpi, int count, long meanPauseMillis, Random random)
+            throws InterruptedException, IOException {
+        long[] millis = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (meanPauseMillis > 0) {
+                Thread.sleep((long) (random.nextDouble() * 2 * meanPauseMillis));
+            }
+            ResumeData record = records.get(random.nextInt(records.size()));
+            long submitted = System.nanoTime();
+            try {
+                scheduler.submit(RenderScheduler.Lane.INTERACTIVE, () -> {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 * 1024);
+                    ResumeExporter.writePng(ResumeExporter.recordPage(record, templateId, null), dpi / 72.0,
+                        Channels.newChannel(bytes), PngBandEncoder.DEFAULT_COMPRESSION,
+                        PngBandEncoder.FilterStrategy.DOCUMENT);
+                    return bytes.size();
+                }).get();
+            } catch (ExecutionException e) {
+                throw new IOException("Export failed", e.getCause());
+            }
+            millis[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted);
+        }
+        return millis;
+    }
+
+    // Nearest-rank percentile of sorted samples
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,340 @@
+package app.exporter;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared render workers with separate priority lanes
+ * Interactive exports and batch renders run on the same pool of platform
+ * threads, one per core. No worker belongs to a lane: whenever one is free it
+ * takes the oldest interactive task first and only then batch work, so an
+ * idle core always picks up whatever is waiting. Each lane has its own cap
+ * on running tasks; the batch cap leaves one core free when there is more
+ * than one, so a student's export starts at once however deep the batch
+ * queue is, instead of waiting behind it. Batch tasks rasterize on their own
+ * worker rather than on the shared band pool (see {@link BandRasterizer}),
+ * so the cap bounds all of their CPU work, not just the threads waiting on it.
+ *
+ * Starting at once is not enough on its own: the batch workers would still
+ * share every core with the export. So while any interactive task runs,
+ * batch tasks hold at their next band (see {@link #yieldToInteractive()}) and
+ * the export has the machine to itself; they carry on when it finishes.
+ * {@link RenderLoadHarness} measures the interactive latency this gives.
+ *
+ * Per-lane queue depth, running tasks and wait times are kept for
+ * monitoring; see {@link #getStats(Lane)}.
+ */
+public final class RenderScheduler {
+
+    private static final Logger logger = Logger.getLogger(RenderScheduler.class.getName());
+
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    private static volatile RenderScheduler instance;
+
+    /**
+     * Priority lanes, highest first
+     */
+    public enum Lane {
+        INTERACTIVE,
+        BATCH
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition interactiveIdle = lock.newCondition();
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+
+    /**
+     * @param threads Worker threads shared by every lane
+     * @param batchCap Batch tasks allowed to run at once
+     */
+    public RenderScheduler(int threads, int batchCap) {
+        if (threads < 1 || batchCap < 1) {
+            throw new IllegalArgumentException("threads and batchCap must be positive");
+        }
+        lanes.put(Lane.INTERACTIVE, new LaneState(Lane.INTERACTIVE, threads));
+        lanes.put(Lane.BATCH, new LaneState(Lane.BATCH, Math.min(batchCap, threads)));
+        for (int i = 1; i <= threads; i++) {
+            new Worker("render-worker-" + i).start();
+        }
+    }
+
+    /**
+     * The process-wide scheduler, one worker per core
+     */
+    public static RenderScheduler getInstance() {
+        if (instance == null) {
+            synchronized (RenderScheduler.class) {
+                if (instance == null) {
+                    instance = new RenderScheduler(THREADS, Math.max(1, THREADS - 1));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Queues a task on the lane
+     *
+     * @return completes with the task's result, or exceptionally with what it threw
+     */
+    public <T> CompletableFuture<T> submit(Lane lane, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueue(lane, () -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * The lane as an executor, for code that takes an ExecutorService
+     * The workers are shared, so shutting the view down has no effect on them.
+     */
+    public ExecutorService asExecutor(Lane lane) {
+        return new LaneExecutor(lane);
+    }
+
+    /**
+     * Lane of the task running on this thread, or null when it is not a render worker
+     */
+    static Lane currentLane() {
+        Thread thread = Thread.currentThread();
+        return thread instanceof Worker ? ((Worker) thread).lane : null;
+    }
+
+    /**
+     * Holds a batch task while interactive work is running
+     * Called by batch work between bands, where pausing costs nothing; on any
+     * other thread it returns at once.
+     */
+    static void yieldToInteractive() {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof Worker && ((Worker) thread).lane == Lane.BATCH) {
+            ((Worker) thread).awaitInteractiveIdle();
+        }
+    }
+
+    public Stats getStats(Lane lane) {
+        lock.lock();
+        try {
+            LaneState state = lanes.get(lane);
+            return new Stats(state.queue.size(), state.running, state.completed,
+                state.completed == 0 ? 0 : state.totalWaitNanos / state.completed, state.maxWaitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void enqueue(Lane lane, Runnable task) {
+        lock.lock();
+        try {
+            lanes.get(lane).queue.add(new Task(task, System.nanoTime()));
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work(Worker worker) {
+        while (true) {
+            LaneState state;
+            Task task;
+            lock.lock();
+            try {
+                while ((state = nextLane()) == null) {
+                    workAvailable.awaitUninterruptibly();
+                }
+                task = state.queue.poll();
+                state.running++;
+                long waited = System.nanoTime() - task.queuedAt;
+                state.totalWaitNanos += waited;
+                state.maxWaitNanos = Math.max(state.maxWaitNanos, waited);
+            } finally {
+                lock.unlock();
+            }
+
+            worker.lane = state.lane;
+            try {
+                task.runnable.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Render task failed", e);
+            } finally {
+                worker.lane = null;
+                lock.lock();
+                try {
+                    state.running--;
+                    state.completed++;
+                    // A lane that was at its cap may have waiting work another worker can now take
+                    workAvailable.signal();
+                    if (state.lane == Lane.INTERACTIVE && state.running == 0) {
+                        interactiveIdle.signalAll();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    // Called with the lock held
+    private LaneState nextLane() {
+        for (LaneState state : lanes.values()) {
+            if (!state.queue.isEmpty() && state.running < state.cap) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    private static final class LaneState {
+        final Lane lane;
+        final int cap;
+        final Deque<Task> queue = new ArrayDeque<>();
+        int running;
+        long completed;
+        long totalWaitNanos;
+        long maxWaitNanos;
+
+        LaneState(Lane lane, int cap) {
+            this.lane = lane;
+            this.cap = cap;
+        }
+    }
+
+    private final class Worker extends Thread {
+        // Lane of the task being run, null between tasks; only this thread touches it
+        Lane lane;
+
+        Worker(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            work(this);
+        }
+
+        void awaitInteractiveIdle() {
+            lock.lock();
+            try {
+                LaneState interactive = lanes.get(Lane.INTERACTIVE);
+                while (interactive.running > 0) {
+                    interactiveIdle.awaitUninterruptibly();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Task {
+        final Runnable runnable;
+        final long queuedAt;
+
+        Task(Runnable runnable, long queuedAt) {
+            this.runnable = runnable;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    private final class LaneExecutor extends AbstractExecutorService {
+        private final Lane lane;
+
+        LaneExecutor(Lane lane) {
+            this.lane = lane;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            enqueue(lane, command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+
+    /**
+     * A lane's load at one moment
+     */
+    public static final class Stats {
+        private final int queued;
+        private final int running;
+        private final long completed;
+        private final long meanWaitNanos;
+        private final long maxWaitNanos;
+
+        Stats(int queued, int running, long completed, long meanWaitNanos, long maxWaitNanos) {
+            this.queued = queued;
+            this.running = running;
+            this.completed = completed;
+            this.meanWaitNanos = meanWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public int getRunning() {
+            return running;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public double getMeanWaitMillis() {
+            return meanWaitNanos / 1_000_000.0;
+        }
+
+        public double getMaxWaitMillis() {
+            return maxWaitNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("queued=%d running=%d completed=%d meanWait=%.1fms maxWait=%.1fms",
+                queued, running, completed, getMeanWaitMillis(), getMaxWaitMillis());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package app.exporter;
+
+import app.model.ResumeData;
+
+import java.util.List;
+
+/**
+ * Plain-text content of resume fields and sections
+ * Shared by the template layout plans so every template formats the same
+ * data the same way; only fonts, colours and placement differ. Entries with
+ * every field empty (one added in the wizard but never filled in) are left out.
+ */
+final class ResumeContent {
+
+    private ResumeContent() {
+    }
+
+    static String contact(ResumeData resumeData) {
+        StringBuilder contact = new StringBuilder();
+
+        if (resumeData.getEmail() != null) {
+            contact.append("📧 ").append(resumeData.getEmail());
+        }
+
+        if (resumeData.getPhone() != null) {
+            if (contact.length() > 0) contact.append(" | ");
+            contact.append("📱 ").append(resumeData.getPhone());
+        }
+
+        if (resumeData.getLinkedinUrl() != null) {
+            if (contact.length() > 0) contact.append(" | ");
+            contact.append("🔗 LinkedIn");
+        }
+
+        if (resumeData.getGithubUrl() != null) {
+            if (contact.length() > 0) contact.append(" | ");
+            contact.append("🔗 GitHub");
+        }
+
+        return contact.toString();
+    }
+
+    static String skills(ResumeData resumeData) {
+        return skills(resumeData, "Technical: ", "Soft Skills: ");
+    }
+
+    static String technicalSkills(ResumeData resumeData) {
+        return skills(resumeData, "Languages/Frameworks: ", "Additional Skills: ");
+    }
+
+    private static String skills(ResumeData resumeData, String technicalLabel, String softLabel) {
+        StringBuilder skills = new StringBuilder();
+
+        if (!resumeData.getTechnicalSkills().isEmpty()) {
+            skills.append(technicalLabel);
+            skills.append(String.join(", ", resumeData.getTechnicalSkills()));
+        }
+
+        if (!resumeData.getSoftSkills().isEmpty()) {
+            if (skills.length() > 0) skills.append("\n");
+            skills.append(softLabel);
+            skills.append(String.join(", ", resumeData.getSoftSkills()));
+        }
+
+        return skills.toString();
+    }
+
+    static String education(ResumeData resumeData) {
+        StringBuilder text = new StringBuilder();
+        for (ResumeData.Education education : resumeData.getEducationList()) {
+            if (education.isBlank()) continue;
+            if (text.length() > 0) text.append("\n");
+            text.append(nullToEmpty(education.getDegree()));
+            appendIfPresent(text, " - ", education.getInstitution());
+            if (education.getYear() != null && !education.getYear().isEmpty()) {
+                text.append(" (").append(education.getYear()).append(")");
+            }
+            appendIfPresent(text, " | ", education.getGrade());
+            appendIfPresent(text, " | ", education.getLocation());
+        }
+        return text.toString();
+    }
+
+    static String experience(ResumeData resumeData) {
+        StringBuilder text = new StringBuilder();
+        for (ResumeData.Experience experience : resumeData.getExperiences()) {
+            if (experience.isBlank()) continue;
+            if (text.length() > 0) text.append("\n");
+            text.append(nullToEmpty(experience.getPosition()));
+            appendIfPresent(text, " at ", experience.getCompany());
+            if (experience.getDuration() != null && !experience.getDuration().isEmpty()) {
+                text.append(" (").append(experience.getDuration()).append(")");
+            }
+            appendIfPresent(text, "\n", experience.getDescription());
+        }
+        return text.toString();
+    }
+
+    static String projects(ResumeData resumeData) {
+        StringBuilder text = new StringBuilder();
+        for (ResumeData.Project project : resumeData.getProjects()) {
+            if (project.isBlank()) continue;
+            if (text.length() > 0) text.append("\n");
+            text.append(nullToEmpty(project.getTitle()));
+            if (project.getTechnologies() != null && !project.getTechnologies().isEmpty()) {
+                text.append(" (").append(project.getTechnologies()).append(")");
+            }
+            appendIfPresent(text, " - ", project.getDescription());
+        }
+        return text.toString();
+    }
+
+    static String bullets(List<String> items) {
+        StringBuilder text = new StringBuilder();
+        for (String item : items) {
+            if (text.length() > 0) text.append("\n");
+            text.append("• ").append(item);
+        }
+        return text.toString();
+    }
+
+    private static void appendIfPresent(StringBuilder text, String separator, String value) {
+        if (value != null && !value.trim().isEmpty()) {
+            text.append(separator).append(value);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
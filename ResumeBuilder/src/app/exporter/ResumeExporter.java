@@ -1,11 +1,18 @@
 package app.exporter;
 
 import app.model.ResumeData;
+import app.model.ResumeData.Section;
+import app.utils.OutputWriter;
+import app.utils.RenderEnvironment;
 import java.io.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.time.LocalDateTime;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import javax.imageio.ImageIO;
@@ -21,17 +28,44 @@ public class ResumeExporter {
     private static final Logger logger = Logger.getLogger(ResumeExporter.class.getName());
     
     // Page dimensions (A4 in points: 595 x 842)
-    private static final int PAGE_WIDTH = 595;
-    private static final int PAGE_HEIGHT = 842;
-    private static final int MARGIN = 50;
-    private static final int CONTENT_WIDTH = PAGE_WIDTH - 2 * MARGIN;
+    static final int PAGE_WIDTH = 595;
+    static final int PAGE_HEIGHT = 842;
+    static final int MARGIN = 50;
     
     // Colors
-    private static final Color PRIMARY_COLOR = new Color(37, 99, 235); // Blue
     private static final Color SECONDARY_COLOR = new Color(71, 85, 105); // Gray
     private static final Color TEXT_COLOR = new Color(30, 41, 59); // Dark gray
     private static final Color LIGHT_GRAY = new Color(248, 250, 252);
     
+    // Wrapped section bodies, reused until the section's content changes
+    private static final SectionLayoutCache layoutCache = new SectionLayoutCache();
+    
+    // Shaped titles, dividers, footer text and repeated body lines
+    private static final GlyphCache glyphCache = new GlyphCache();
+    
+    // Footer and QR placeholder text
+    private static final Font FOOTER_FONT = new Font("Arial", Font.PLAIN, 8);
+    private static final String FOOTER_PREFIX = "Generated by AI-Powered Resume Builder on ";
+    private static final DateTimeFormatter FOOTER_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    
+    // Unscaled font metrics, so layout is identical for previews and full-size exports
+    private static final Map<Font, FontMetrics> metricsCache = new ConcurrentHashMap<>();
+    private static final Graphics2D measureGraphics = createMeasureGraphics();
+    
+    // Passing this as the QR path draws the QR placeholder box (used by previews)
+    private static final String QR_PLACEHOLDER = "";
+    
+    // Decoded QR images by path, reused while the file is unchanged, so a batch
+    // with one QR decodes it once and every page shares the same image
+    private static final int MAX_CACHED_QR_IMAGES = 16;
+    private static final Map<String, CachedImage> qrImages = new ConcurrentHashMap<>();
+    
+    // Output scale from which pages are rasterized in parallel bands (144 DPI and up)
+    private static final double BANDED_SCALE = 2.0;
+    
+    // Page size is in points, i.e. 72 DPI at scale 1
+    private static final int POINTS_PER_INCH = 72;
+    
     /**
      * Exports resume data to PDF format
      * 
@@ -42,29 +76,26 @@ public class ResumeExporter {
      * @return true if export was successful, false otherwise
      */
     public static boolean exportResume(ResumeData resumeData, String templateId, String outputPath, String qrCodePath) {
+        return exportResume(resumeData, templateId, outputPath, qrCodePath, POINTS_PER_INCH);
+    }
+    
+    /**
+     * Exports resume data at the given resolution
+     * 
+     * @param dpi Output resolution; 72 matches the page size in points, 300 is print quality
+     * @return true if export was successful, false otherwise
+     */
+    public static boolean exportResume(ResumeData resumeData, String templateId, String outputPath, String qrCodePath, int dpi) {
         try {
-            logger.info("Starting PDF export for template: " + templateId);
-            
-            // Create output directory if it doesn't exist
-            File outputFile = new File(outputPath);
-            File parentDir = outputFile.getParentFile();
-            if (parentDir != null && !parentDir.exists()) {
-                parentDir.mkdirs();
-            }
-            
-            // Generate PDF content as image (simplified approach)
-            BufferedImage resumeImage = generateResumeImage(resumeData, templateId, qrCodePath);
-            
-            // Convert to PDF-like format (for demonstration, we'll save as PNG)
-            // In real implementation, use PDFBox to create actual PDF
-            String tempImagePath = outputPath.replace(".pdf", "_temp.png");
-            ImageIO.write(resumeImage, "PNG", new File(tempImagePath));
-            
-            // Create a simple PDF wrapper (placeholder)
-            createSimplePDF(resumeImage, outputPath);
+            logger.info("Starting PDF export for template: " + templateId + " at " + dpi + " DPI");
             
-            // Clean up temp file
-            new File(tempImagePath).delete();
+            // Record the page once and stream the raster straight into the encoder
+            // (saved as PNG content under the requested name; no full-page image is held).
+            // The output writer creates the directory once and renames the finished file into place.
+            DisplayList page = recordPage(resumeData, templateId, qrCodePath);
+            OutputWriter.getInstance().writeAtomically(Paths.get(outputPath), channel ->
+                writePng(page, (double) dpi / POINTS_PER_INCH, channel,
+                    PngBandEncoder.DEFAULT_COMPRESSION, PngBandEncoder.FilterStrategy.DOCUMENT));
             
             logger.info("PDF export completed successfully: " + outputPath);
             return true;
@@ -76,448 +107,212 @@ public class ResumeExporter {
     }
     
     /**
-     * Generates the resume as a BufferedImage
+     * Renders a low-resolution preview of the resume
+     * Uses exactly the same template code as the export, scaled down.
+     * 
+     * @param resumeData The resume data to render (not modified)
+     * @param templateId The template to use for layout
+     * @param includeQR Whether to draw the QR code placeholder
+     * @param scale Output scale relative to the 595x842 page (e.g. 0.3 for a thumbnail)
+     * @return the rendered preview image
      */
-    private static BufferedImage generateResumeImage(ResumeData resumeData, String templateId, String qrCodePath) {
-        BufferedImage image = new BufferedImage(PAGE_WIDTH, PAGE_HEIGHT, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g2d = image.createGraphics();
-        
-        // Enable anti-aliasing
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-        
-        // Fill background
-        g2d.setColor(Color.WHITE);
-        g2d.fillRect(0, 0, PAGE_WIDTH, PAGE_HEIGHT);
-        
-        // Generate content based on template
-        switch (templateId) {
-            case "template1":
-                generateModernProfessionalTemplate(g2d, resumeData, qrCodePath);
-                break;
-            case "template2":
-                generateCleanSimpleTemplate(g2d, resumeData, qrCodePath);
-                break;
-            case "template3":
-                generateCreativeTemplate(g2d, resumeData, qrCodePath);
-                break;
-            case "template4":
-                generateTechnicalTemplate(g2d, resumeData, qrCodePath);
-                break;
-            default:
-                generateModernProfessionalTemplate(g2d, resumeData, qrCodePath);
-                break;
+    public static BufferedImage renderPreview(ResumeData resumeData, String templateId, boolean includeQR, double scale) {
+        return generateResumeImage(resumeData, templateId, includeQR ? QR_PLACEHOLDER : null, scale);
+    }
+    
+    /**
+     * Generates the resume as a BufferedImage at the given scale
+     */
+    private static BufferedImage generateResumeImage(ResumeData resumeData, String templateId, String qrCodePath, double scale) {
+        DisplayList page = recordPage(resumeData, templateId, qrCodePath);
+        
+        // Print resolutions are painted in bands on several threads
+        if (scale >= BANDED_SCALE) {
+            try {
+                ImageBandSink sink = new ImageBandSink();
+                BandRasterizer.rasterize(page, scale, sink);
+                return sink.getImage();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Banded rendering failed", e);
+            }
         }
         
+        int width = Math.max(1, (int) Math.round(PAGE_WIDTH * scale));
+        int height = Math.max(1, (int) Math.round(PAGE_HEIGHT * scale));
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        prepareGraphics(g2d);
+        g2d.scale(scale, scale);
+        page.replay(g2d);
         g2d.dispose();
         return image;
     }
     
     /**
-     * Template 1: Modern Professional
+     * Records one resume page as a display list in page coordinates
+     * The list can be rasterized at any scale or walked by vector back ends.
+     * 
+     * @param qrCodePath QR image to embed, the empty string for the placeholder box, or null for none
      */
-    private static void generateModernProfessionalTemplate(Graphics2D g2d, ResumeData resumeData, String qrCodePath) {
-        int currentY = MARGIN;
-        
-        // Header with blue background
-        g2d.setColor(PRIMARY_COLOR);
-        g2d.fillRect(0, 0, PAGE_WIDTH, 120);
+    public static DisplayList recordPage(ResumeData resumeData, String templateId, String qrCodePath) {
+        DisplayList page = new DisplayList(glyphCache);
         
-        // Name
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 28));
-        String name = resumeData.getFullName() != null ? resumeData.getFullName().toUpperCase() : "YOUR NAME";
-        g2d.drawString(name, MARGIN, 45);
-        
-        // Role
-        if (resumeData.getSelectedRole() != null) {
-            g2d.setFont(new Font("Arial", Font.PLAIN, 16));
-            g2d.drawString(resumeData.getSelectedRole(), MARGIN, 70);
-        }
-        
-        // Contact info
-        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-        String contact = buildContactString(resumeData);
-        g2d.drawString(contact, MARGIN, 95);
-        
-        currentY = 140;
-        
-        // Main content
-        g2d.setColor(TEXT_COLOR);
-        
-        // Objective
-        if (resumeData.getObjective() != null && !resumeData.getObjective().trim().isEmpty()) {
-            currentY = drawSection(g2d, "CAREER OBJECTIVE", resumeData.getObjective(), currentY);
-        }
-        
-        // Skills
-        if (!resumeData.getTechnicalSkills().isEmpty() || !resumeData.getSoftSkills().isEmpty()) {
-            String skillsText = buildSkillsString(resumeData);
-            currentY = drawSection(g2d, "SKILLS", skillsText, currentY);
-        }
-        
-        // Education placeholder
-        currentY = drawSection(g2d, "EDUCATION", "Educational background will be displayed here", currentY);
-        
-        // Experience placeholder
-        currentY = drawSection(g2d, "EXPERIENCE", "Work experience will be displayed here", currentY);
-        
-        // Projects placeholder
-        currentY = drawSection(g2d, "PROJECTS", "Projects will be displayed here", currentY);
-        
-        // QR Code
-        if (qrCodePath != null) {
-            drawQRCode(g2d, qrCodePath, PAGE_WIDTH - MARGIN - 80, PAGE_HEIGHT - MARGIN - 80);
-        }
+        // Fill background
+        page.setPaint(Color.WHITE);
+        page.fillRect(0, 0, PAGE_WIDTH, PAGE_HEIGHT);
         
-        // Footer
-        drawFooter(g2d);
+        // Paint with the template's compiled layout plan (unknown ids use the default)
+        TemplateRegistry.getInstance().getOrDefault(templateId).render(page, resumeData, qrCodePath);
+        return page;
     }
     
     /**
-     * Template 2: Clean & Simple
+     * Applies the rendering hints shared by every raster target
      */
-    private static void generateCleanSimpleTemplate(Graphics2D g2d, ResumeData resumeData, String qrCodePath) {
-        int currentY = MARGIN + 20;
-        
-        // Name (centered)
-        g2d.setColor(TEXT_COLOR);
-        g2d.setFont(new Font("Arial", Font.BOLD, 24));
-        String name = resumeData.getFullName() != null ? resumeData.getFullName() : "YOUR NAME";
-        FontMetrics fm = g2d.getFontMetrics();
-        int nameWidth = fm.stringWidth(name);
-        g2d.drawString(name, (PAGE_WIDTH - nameWidth) / 2, currentY);
-        currentY += 30;
-        
-        // Contact (centered)
-        g2d.setFont(new Font("Arial", Font.PLAIN, 12));
-        String contact = buildContactString(resumeData);
-        fm = g2d.getFontMetrics();
-        int contactWidth = fm.stringWidth(contact);
-        g2d.drawString(contact, (PAGE_WIDTH - contactWidth) / 2, currentY);
-        currentY += 40;
-        
-        // Divider line
-        g2d.setColor(SECONDARY_COLOR);
-        g2d.drawLine(MARGIN, currentY, PAGE_WIDTH - MARGIN, currentY);
-        currentY += 30;
-        
-        g2d.setColor(TEXT_COLOR);
-        
-        // Sections
-        if (resumeData.getObjective() != null && !resumeData.getObjective().trim().isEmpty()) {
-            currentY = drawSimpleSection(g2d, "OBJECTIVE", resumeData.getObjective(), currentY);
-        }
-        
-        if (!resumeData.getTechnicalSkills().isEmpty() || !resumeData.getSoftSkills().isEmpty()) {
-            String skillsText = buildSkillsString(resumeData);
-            currentY = drawSimpleSection(g2d, "SKILLS", skillsText, currentY);
-        }
-        
-        currentY = drawSimpleSection(g2d, "EDUCATION", "Educational background", currentY);
-        currentY = drawSimpleSection(g2d, "EXPERIENCE", "Work experience", currentY);
-        currentY = drawSimpleSection(g2d, "PROJECTS", "Projects", currentY);
-        
-        if (qrCodePath != null) {
-            drawQRCode(g2d, qrCodePath, PAGE_WIDTH - MARGIN - 60, PAGE_HEIGHT - MARGIN - 60);
-        }
-        
-        drawFooter(g2d);
+    static void prepareGraphics(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
     }
     
     /**
-     * Template 3: Creative
+     * Returns the wrapped body of a section, laying it out only when the
+     * section changed since it was last rendered with this template
+     * 
+     * @param layoutId Identifies the template's section slot; its font and width must not change
      */
-    private static void generateCreativeTemplate(Graphics2D g2d, ResumeData resumeData, String qrCodePath) {
-        int currentY = MARGIN;
-        
-        // Gradient header
-        GradientPaint gradient = new GradientPaint(0, 0, PRIMARY_COLOR, PAGE_WIDTH, 100, new Color(147, 51, 234));
-        g2d.setPaint(gradient);
-        g2d.fillRect(0, 0, PAGE_WIDTH, 100);
-        
-        // Name with emoji
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Arial", Font.BOLD, 26));
-        String name = "🎯 " + (resumeData.getFullName() != null ? resumeData.getFullName() : "YOUR NAME");
-        g2d.drawString(name, MARGIN, 45);
-        
-        if (resumeData.getSelectedRole() != null) {
-            g2d.setFont(new Font("Arial", Font.PLAIN, 14));
-            g2d.drawString(resumeData.getSelectedRole(), MARGIN, 70);
-        }
-        
-        currentY = 120;
-        g2d.setColor(TEXT_COLOR);
-        
-        // Creative sections with emojis
-        if (resumeData.getObjective() != null && !resumeData.getObjective().trim().isEmpty()) {
-            currentY = drawCreativeSection(g2d, "💡 OBJECTIVE", resumeData.getObjective(), currentY);
-        }
-        
-        if (!resumeData.getTechnicalSkills().isEmpty() || !resumeData.getSoftSkills().isEmpty()) {
-            String skillsText = buildSkillsString(resumeData);
-            currentY = drawCreativeSection(g2d, "⚡ SKILLS", skillsText, currentY);
-        }
-        
-        currentY = drawCreativeSection(g2d, "🎓 EDUCATION", "Educational background", currentY);
-        currentY = drawCreativeSection(g2d, "💼 EXPERIENCE", "Work experience", currentY);
-        currentY = drawCreativeSection(g2d, "🚀 PROJECTS", "Projects showcase", currentY);
-        
-        if (qrCodePath != null) {
-            drawQRCode(g2d, qrCodePath, PAGE_WIDTH - MARGIN - 70, PAGE_HEIGHT - MARGIN - 70);
-        }
-        
-        drawFooter(g2d);
+    static SectionBlock layoutBody(ResumeData resumeData, Section section, String layoutId,
+                                   Font bodyFont, int width, Supplier<String> content) {
+        return layoutCache.get(layoutId, section, resumeData.getSectionVersion(section),
+            () -> SectionBlock.wrap(metricsFor(bodyFont), content.get(), width));
     }
     
     /**
-     * Template 4: Technical
+     * Returns the section body if it is already laid out for this version, else null
      */
-    private static void generateTechnicalTemplate(Graphics2D g2d, ResumeData resumeData, String qrCodePath) {
-        int currentY = MARGIN;
-        
-        // Technical header with borders
-        g2d.setColor(TEXT_COLOR);
-        g2d.setFont(new Font("Courier New", Font.BOLD, 20));
-        String name = resumeData.getFullName() != null ? resumeData.getFullName().toUpperCase() : "YOUR NAME";
-        g2d.drawString(name, MARGIN, currentY + 20);
-        currentY += 30;
-        
-        if (resumeData.getSelectedRole() != null) {
-            g2d.setFont(new Font("Courier New", Font.PLAIN, 14));
-            g2d.drawString(resumeData.getSelectedRole().toUpperCase(), MARGIN, currentY);
-            currentY += 20;
-        }
-        
-        // Technical divider
-        g2d.setColor(SECONDARY_COLOR);
-        for (int i = 0; i < CONTENT_WIDTH / 10; i++) {
-            g2d.drawString("=", MARGIN + i * 10, currentY);
-        }
-        currentY += 30;
-        
-        g2d.setColor(TEXT_COLOR);
-        
-        // Technical sections
-        if (resumeData.getObjective() != null && !resumeData.getObjective().trim().isEmpty()) {
-            currentY = drawTechnicalSection(g2d, "OBJECTIVE", resumeData.getObjective(), currentY);
-        }
-        
-        if (!resumeData.getTechnicalSkills().isEmpty() || !resumeData.getSoftSkills().isEmpty()) {
-            String skillsText = buildTechnicalSkillsString(resumeData);
-            currentY = drawTechnicalSection(g2d, "TECHNICAL SKILLS", skillsText, currentY);
-        }
-        
-        currentY = drawTechnicalSection(g2d, "EDUCATION", "Educational background", currentY);
-        currentY = drawTechnicalSection(g2d, "EXPERIENCE", "Work experience", currentY);
-        currentY = drawTechnicalSection(g2d, "PROJECTS", "Technical projects", currentY);
-        
-        if (qrCodePath != null) {
-            drawQRCode(g2d, qrCodePath, PAGE_WIDTH - MARGIN - 60, PAGE_HEIGHT - MARGIN - 60);
-        }
-        
-        drawFooter(g2d);
+    static SectionBlock cachedBody(ResumeData resumeData, Section section, String layoutId) {
+        return layoutCache.peek(layoutId, section, resumeData.getSectionVersion(section));
     }
     
-    // Helper methods for drawing sections
+    static FontMetrics metricsFor(Font font) {
+        return metricsCache.computeIfAbsent(font, f -> {
+            synchronized (measureGraphics) {
+                return measureGraphics.getFontMetrics(f);
+            }
+        });
+    }
     
-    private static int drawSection(Graphics2D g2d, String title, String content, int startY) {
-        int currentY = startY;
-        
-        // Section title
-        g2d.setColor(PRIMARY_COLOR);
-        g2d.setFont(new Font("Arial", Font.BOLD, 14));
-        g2d.drawString(title, MARGIN, currentY);
-        currentY += 20;
-        
-        // Underline
-        g2d.drawLine(MARGIN, currentY, MARGIN + 100, currentY);
-        currentY += 15;
-        
-        // Content
-        g2d.setColor(TEXT_COLOR);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 11));
-        currentY = drawWrappedText(g2d, content, MARGIN, currentY, CONTENT_WIDTH);
-        
-        return currentY + 20;
+    private static Graphics2D createMeasureGraphics() {
+        Graphics2D g2d = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+        prepareGraphics(g2d);
+        return g2d;
     }
     
-    private static int drawSimpleSection(Graphics2D g2d, String title, String content, int startY) {
-        int currentY = startY;
-        
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        g2d.drawString(title, MARGIN, currentY);
-        currentY += 15;
-        
-        g2d.setFont(new Font("Arial", Font.PLAIN, 11));
-        currentY = drawWrappedText(g2d, content, MARGIN, currentY, CONTENT_WIDTH);
-        
-        return currentY + 15;
+    /**
+     * Shared glyph cache, exposed for hit-rate monitoring
+     */
+    public static GlyphCache getGlyphCache() {
+        return glyphCache;
     }
     
-    private static int drawCreativeSection(Graphics2D g2d, String title, String content, int startY) {
-        int currentY = startY;
-        
-        g2d.setColor(PRIMARY_COLOR);
-        g2d.setFont(new Font("Arial", Font.BOLD, 13));
-        g2d.drawString(title, MARGIN, currentY);
-        currentY += 18;
-        
-        g2d.setColor(TEXT_COLOR);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 11));
-        currentY = drawWrappedText(g2d, content, MARGIN, currentY, CONTENT_WIDTH);
-        
-        return currentY + 18;
+    /**
+     * Records text through the glyph cache; the paint must already be set
+     * 
+     * @return the advance width of the text
+     */
+    static float drawText(DisplayList page, Font font, String text, float x, float y) {
+        return page.drawText(font, text, x, y);
     }
     
-    private static int drawTechnicalSection(Graphics2D g2d, String title, String content, int startY) {
-        int currentY = startY;
-        
-        g2d.setFont(new Font("Courier New", Font.BOLD, 12));
-        g2d.drawString(title, MARGIN, currentY);
-        currentY += 15;
-        
-        g2d.setFont(new Font("Courier New", Font.PLAIN, 10));
-        currentY = drawWrappedText(g2d, content, MARGIN, currentY, CONTENT_WIDTH);
-        
-        return currentY + 15;
+    /**
+     * Width of the text as drawn, including any fallback-font runs
+     */
+    static float textWidth(Font font, String text) {
+        return text.isEmpty() ? 0 : glyphCache.get(font, text).getAdvance();
     }
     
-    private static int drawWrappedText(Graphics2D g2d, String text, int x, int y, int maxWidth) {
-        FontMetrics fm = g2d.getFontMetrics();
-        String[] words = text.split(" ");
-        StringBuilder line = new StringBuilder();
+    static int drawLines(DisplayList page, SectionBlock body, Font font, int x, int y) {
         int currentY = y;
-        
-        for (String word : words) {
-            String testLine = line.length() == 0 ? word : line + " " + word;
-            if (fm.stringWidth(testLine) > maxWidth && line.length() > 0) {
-                g2d.drawString(line.toString(), x, currentY);
-                currentY += fm.getHeight();
-                line = new StringBuilder(word);
-            } else {
-                line = new StringBuilder(testLine);
-            }
+        for (String line : body.getLines()) {
+            page.drawText(font, line, x, currentY);
+            currentY += body.getLineHeight();
         }
-        
-        if (line.length() > 0) {
-            g2d.drawString(line.toString(), x, currentY);
-            currentY += fm.getHeight();
-        }
-        
         return currentY;
     }
     
-    private static void drawQRCode(Graphics2D g2d, String qrCodePath, int x, int y) {
-        try {
-            BufferedImage qrImage = ImageIO.read(new File(qrCodePath));
-            g2d.drawImage(qrImage, x, y, 60, 60, null);
-        } catch (IOException e) {
-            // Draw placeholder if QR code fails to load
-            g2d.setColor(LIGHT_GRAY);
-            g2d.fillRect(x, y, 60, 60);
-            g2d.setColor(TEXT_COLOR);
-            g2d.drawRect(x, y, 60, 60);
-            g2d.setFont(new Font("Arial", Font.PLAIN, 8));
-            g2d.drawString("QR CODE", x + 15, y + 30);
-        }
-    }
-    
-    private static void drawFooter(Graphics2D g2d) {
-        g2d.setColor(SECONDARY_COLOR);
-        g2d.setFont(new Font("Arial", Font.PLAIN, 8));
-        String footer = "Generated by AI-Powered Resume Builder on " + 
-                       LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
-        FontMetrics fm = g2d.getFontMetrics();
-        int footerWidth = fm.stringWidth(footer);
-        g2d.drawString(footer, (PAGE_WIDTH - footerWidth) / 2, PAGE_HEIGHT - 20);
-    }
-    
-    // Helper methods for building content strings
-    
-    private static String buildContactString(ResumeData resumeData) {
-        StringBuilder contact = new StringBuilder();
-        
-        if (resumeData.getEmail() != null) {
-            contact.append("📧 ").append(resumeData.getEmail());
-        }
-        
-        if (resumeData.getPhone() != null) {
-            if (contact.length() > 0) contact.append(" | ");
-            contact.append("📱 ").append(resumeData.getPhone());
-        }
-        
-        if (resumeData.getLinkedinUrl() != null) {
-            if (contact.length() > 0) contact.append(" | ");
-            contact.append("🔗 LinkedIn");
+    static void drawQRCode(DisplayList page, String qrCodePath, int x, int y) {
+        BufferedImage qrImage = null;
+        if (!QR_PLACEHOLDER.equals(qrCodePath)) {
+            try {
+                qrImage = loadQRImage(qrCodePath);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to load QR code, drawing placeholder", e);
+            }
         }
         
-        if (resumeData.getGithubUrl() != null) {
-            if (contact.length() > 0) contact.append(" | ");
-            contact.append("🔗 GitHub");
+        if (qrImage != null) {
+            page.drawImage(qrImage, x, y, 60, 60);
+            return;
         }
         
-        return contact.toString();
+        // Draw placeholder if QR code is unavailable
+        page.setPaint(LIGHT_GRAY);
+        page.fillRect(x, y, 60, 60);
+        page.setPaint(TEXT_COLOR);
+        page.drawRect(x, y, 60, 60);
+        drawText(page, FOOTER_FONT, "QR CODE", x + 15, y + 30);
     }
     
-    private static String buildSkillsString(ResumeData resumeData) {
-        StringBuilder skills = new StringBuilder();
-        
-        if (!resumeData.getTechnicalSkills().isEmpty()) {
-            skills.append("Technical: ");
-            skills.append(String.join(", ", resumeData.getTechnicalSkills()));
+    private static BufferedImage loadQRImage(String qrCodePath) throws IOException {
+        File file = new File(qrCodePath);
+        long modified = file.lastModified();
+        long length = file.length();
+        CachedImage cached = qrImages.get(qrCodePath);
+        if (cached != null && cached.modified == modified && cached.length == length) {
+            return cached.image;
         }
         
-        if (!resumeData.getSoftSkills().isEmpty()) {
-            if (skills.length() > 0) skills.append("\n");
-            skills.append("Soft Skills: ");
-            skills.append(String.join(", ", resumeData.getSoftSkills()));
+        BufferedImage image = ImageIO.read(file);
+        if (image != null) {
+            if (qrImages.size() >= MAX_CACHED_QR_IMAGES) {
+                qrImages.clear();
+            }
+            qrImages.put(qrCodePath, new CachedImage(image, modified, length));
         }
-        
-        return skills.toString();
+        return image;
     }
     
-    private static String buildTechnicalSkillsString(ResumeData resumeData) {
-        StringBuilder skills = new StringBuilder();
-        
-        if (!resumeData.getTechnicalSkills().isEmpty()) {
-            skills.append("Languages/Frameworks: ");
-            skills.append(String.join(", ", resumeData.getTechnicalSkills()));
-        }
-        
-        if (!resumeData.getSoftSkills().isEmpty()) {
-            if (skills.length() > 0) skills.append("\n");
-            skills.append("Additional Skills: ");
-            skills.append(String.join(", ", resumeData.getSoftSkills()));
-        }
-        
-        return skills.toString();
+    static void drawFooter(DisplayList page) {
+        page.setPaint(SECONDARY_COLOR);
+        
+        // The constant prefix stays cached; only the timestamp is reshaped
+        String timestamp = RenderEnvironment.now().format(FOOTER_DATE);
+        int footerWidth = (int) (textWidth(FOOTER_FONT, FOOTER_PREFIX) + textWidth(FOOTER_FONT, timestamp));
+        float x = (PAGE_WIDTH - footerWidth) / 2;
+        x += drawText(page, FOOTER_FONT, FOOTER_PREFIX, x, PAGE_HEIGHT - 20);
+        drawText(page, FOOTER_FONT, timestamp, x, PAGE_HEIGHT - 20);
     }
     
     /**
-     * Creates a simple PDF file (placeholder implementation)
-     * In a real application, use Apache PDFBox or iText
+     * Rasterizes a recorded page as PNG into the channel, band by band
+     * Lower compression levels favour batch throughput over file size.
+     * 
+     * @param scale Output scale relative to the 595x842 page (dpi / 72)
+     * @param compressionLevel Deflate level, PngBandEncoder.BEST_SPEED to BEST_COMPRESSION
      */
-    private static void createSimplePDF(BufferedImage resumeImage, String outputPath) throws IOException {
-        // This is a simplified implementation
-        // In practice, you would use PDFBox to create a proper PDF:
-        /*
-        PDDocument document = new PDDocument();
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-        
-        PDPageContentStream contentStream = new PDPageContentStream(document, page);
-        PDImageXObject pdImage = PDImageXObject.createFromFileByExtension(tempImageFile, document);
-        contentStream.drawImage(pdImage, 0, 0, page.getMediaBox().getWidth(), page.getMediaBox().getHeight());
-        contentStream.close();
-        
-        document.save(outputPath);
-        document.close();
-        */
-        
-        // For now, save as PNG with PDF extension (demo purposes)
-        ImageIO.write(resumeImage, "PNG", new File(outputPath));
-        logger.info("Resume saved as image file: " + outputPath);
+    public static void writePng(DisplayList page, double scale, WritableByteChannel channel,
+                                int compressionLevel, PngBandEncoder.FilterStrategy filterStrategy) throws IOException {
+        BandRasterizer.rasterize(page, scale, new PngBandEncoder(channel, compressionLevel, filterStrategy));
+    }
+    
+    private static final class CachedImage {
+        final BufferedImage image;
+        final long modified;
+        final long length;
+        
+        CachedImage(BufferedImage image, long modified, long length) {
+            this.image = image;
+            this.modified = modified;
+            this.length = length;
+        }
     }
-}
\ No newline at end of file
+}
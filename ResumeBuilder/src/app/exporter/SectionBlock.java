@@ -0,0 +1,66 @@
+package app.exporter;
+
+import java.awt.FontMetrics;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Laid-out body text of one resume section
+ * Holds the already wrapped lines for a given font and width, so painting a
+ * section is just a sequence of glyph draws.
+ */
+public class SectionBlock {
+
+    private final String[] lines;
+    private final int lineHeight;
+
+    public SectionBlock(String[] lines, int lineHeight) {
+        this.lines = lines;
+        this.lineHeight = lineHeight;
+    }
+
+    /**
+     * Word-wraps text to the given width; explicit newlines start new lines
+     */
+    public static SectionBlock wrap(FontMetrics fm, String text, int maxWidth) {
+        List<String> lines = new ArrayList<>();
+
+        for (String paragraph : text.split("\n")) {
+            String[] words = paragraph.split(" ");
+            StringBuilder line = new StringBuilder();
+
+            for (String word : words) {
+                if (line.length() == 0) {
+                    line.append(word);
+                    continue;
+                }
+                int mark = line.length();
+                line.append(' ').append(word);
+                if (fm.stringWidth(line.toString()) > maxWidth) {
+                    line.setLength(mark);
+                    lines.add(line.toString());
+                    line.setLength(0);
+                    line.append(word);
+                }
+            }
+
+            if (line.length() > 0) {
+                lines.add(line.toString());
+            }
+        }
+
+        return new SectionBlock(lines.toArray(new String[0]), fm.getHeight());
+    }
+
+    public String[] getLines() {
+        return lines;
+    }
+
+    public int getLineHeight() {
+        return lineHeight;
+    }
+
+    public int getHeight() {
+        return lines.length * lineHeight;
+    }
+}
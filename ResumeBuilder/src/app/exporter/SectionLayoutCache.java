@@ -0,0 +1,110 @@
+package app.exporter;
+
+import app.model.ResumeData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of laid-out section blocks
+ * Entries are keyed by template, section and the section's version stamp, so
+ * editing one section only invalidates that section's block. Version stamps
+ * are globally unique, which makes the cache safe to share between resumes.
+ */
+public class SectionLayoutCache {
+
+    private static final int DEFAULT_CAPACITY = 512;
+
+    private final Map<Key, SectionBlock> blocks;
+    private long hits;
+    private long misses;
+
+    public SectionLayoutCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SectionLayoutCache(int capacity) {
+        this.blocks = new LinkedHashMap<Key, SectionBlock>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, SectionBlock> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached block or lays it out with the given function
+     */
+    public SectionBlock get(String templateId, ResumeData.Section section, long version, Supplier<SectionBlock> layout) {
+        Key key = new Key(templateId, section, version);
+        synchronized (this) {
+            SectionBlock cached = blocks.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // Lay out outside the lock; a duplicate race only wastes work
+        SectionBlock block = layout.get();
+        synchronized (this) {
+            blocks.put(key, block);
+        }
+        return block;
+    }
+
+    /**
+     * Returns the cached block without laying it out, or null on a miss
+     * Counts as a lookup; follow a miss with get() to lay the block out.
+     */
+    public SectionBlock peek(String templateId, ResumeData.Section section, long version) {
+        Key key = new Key(templateId, section, version);
+        synchronized (this) {
+            SectionBlock cached = blocks.get(key);
+            if (cached != null) {
+                hits++;
+            }
+            return cached;
+        }
+    }
+
+    public synchronized void clear() {
+        blocks.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private static final class Key {
+        private final String templateId;
+        private final ResumeData.Section section;
+        private final long version;
+
+        Key(String templateId, ResumeData.Section section, long version) {
+            this.templateId = templateId;
+            this.section = section;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return version == other.version && section == other.section && templateId.equals(other.templateId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(templateId, section, version);
+        }
+    }
+}
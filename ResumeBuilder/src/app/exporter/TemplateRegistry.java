@@ -0,0 +1,163 @@
+package app.exporter;
+
+import app.utils.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry of compiled resume templates
+ * Built-in definitions ship on the classpath under /assets/templates (listed in
+ * index.json); any *.json definition dropped into the external "templates"
+ * directory is added at startup, or replaces a built-in with the same id, so
+ * new employer templates need no recompilation. Each definition is parsed and
+ * compiled exactly once.
+ */
+public final class TemplateRegistry {
+
+    private static final Logger logger = Logger.getLogger(TemplateRegistry.class.getName());
+
+    private static final String BUILTIN_DIR = "/assets/templates/";
+    private static final String BUILTIN_INDEX = BUILTIN_DIR + "index.json";
+    private static final Path EXTERNAL_DIR = Paths.get("templates");
+
+    public static final String DEFAULT_TEMPLATE = "template1";
+
+    private static volatile TemplateRegistry instance;
+
+    private final Map<String, LayoutPlan> plans;
+
+    private TemplateRegistry(Map<String, LayoutPlan> plans) {
+        this.plans = Collections.unmodifiableMap(plans);
+    }
+
+    public static TemplateRegistry getInstance() {
+        TemplateRegistry registry = instance;
+        if (registry == null) {
+            synchronized (TemplateRegistry.class) {
+                registry = instance;
+                if (registry == null) {
+                    registry = load(EXTERNAL_DIR);
+                    instance = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Re-reads all definitions, e.g. after a template file was added
+     */
+    public static synchronized void reload() {
+        instance = load(EXTERNAL_DIR);
+    }
+
+    /**
+     * Returns the plan for the given template, or null if it is unknown
+     */
+    public LayoutPlan get(String templateId) {
+        return plans.get(templateId);
+    }
+
+    /**
+     * Returns the plan for the given template, falling back to the default one
+     */
+    public LayoutPlan getOrDefault(String templateId) {
+        LayoutPlan plan = templateId != null ? plans.get(templateId) : null;
+        if (plan == null) {
+            plan = plans.get(DEFAULT_TEMPLATE);
+        }
+        if (plan == null) {
+            throw new IllegalStateException("No resume templates are available");
+        }
+        return plan;
+    }
+
+    /**
+     * All templates in display order (built-ins first)
+     */
+    public List<LayoutPlan> getTemplates() {
+        return new ArrayList<>(plans.values());
+    }
+
+    private static TemplateRegistry load(Path externalDir) {
+        Map<String, LayoutPlan> plans = new LinkedHashMap<>();
+
+        for (String templateId : readBuiltinIndex()) {
+            try (InputStream in = TemplateRegistry.class.getResourceAsStream(BUILTIN_DIR + templateId + ".json")) {
+                if (in == null) {
+                    logger.warning("Built-in template definition not found: " + templateId);
+                    continue;
+                }
+                register(plans, compile(new InputStreamReader(in, StandardCharsets.UTF_8)), "classpath");
+            } catch (IOException | IllegalArgumentException e) {
+                logger.log(Level.SEVERE, "Invalid built-in template: " + templateId, e);
+            }
+        }
+
+        if (Files.isDirectory(externalDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(externalDir, "*.json")) {
+                for (Path file : files) {
+                    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        register(plans, compile(reader), file.toString());
+                    } catch (IOException | IllegalArgumentException e) {
+                        logger.log(Level.WARNING, "Skipping invalid template file: " + file, e);
+                    }
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to scan template directory: " + externalDir, e);
+            }
+        }
+
+        logger.info("Loaded " + plans.size() + " resume templates");
+        return new TemplateRegistry(plans);
+    }
+
+    private static List<String> readBuiltinIndex() {
+        List<String> ids = new ArrayList<>();
+        try (InputStream in = TemplateRegistry.class.getResourceAsStream(BUILTIN_INDEX)) {
+            if (in == null) {
+                logger.warning("Built-in template index not found: " + BUILTIN_INDEX);
+                return ids;
+            }
+            JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            reader.beginArray();
+            while (reader.hasNext()) {
+                ids.add(reader.nextString());
+            }
+            reader.endArray();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to read built-in template index", e);
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LayoutPlan compile(Reader source) throws IOException {
+        Object definition = new JsonReader(source).nextValue();
+        if (!(definition instanceof Map)) {
+            throw new IllegalArgumentException("Template definition must be a JSON object");
+        }
+        return LayoutPlan.compile((Map<String, Object>) definition);
+    }
+
+    private static void register(Map<String, LayoutPlan> plans, LayoutPlan plan, String origin) {
+        if (plans.put(plan.getId(), plan) != null) {
+            logger.info("Template " + plan.getId() + " overridden by " + origin);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package app.exporter;
+
+import app.utils.RenderEnvironment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Zip archive sink for batch exports
+ * Entry contents are produced and deflated in parallel on a worker pool while
+ * one writer thread appends finished entries, in the order they were added,
+ * through a large buffer to a single channel. At most maxInFlight entries
+ * are being produced or waiting to be written; add() blocks beyond that, so
+ * memory is bounded by a few entries per worker however long the batch is.
+ *
+ * On close a manifest listing each entry's CRC-32 and size is added, followed
+ * by the central directory. Entries that do not shrink are stored
+ * uncompressed (already-deflated PNG output usually is). Zip64 is not
+ * supported: archives are limited to 65535 entries and 4 GB.
+ */
+public class ZipArchiveWriter implements Closeable {
+
+    public static final String MANIFEST_NAME = "MANIFEST.txt";
+
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final long ZIP32_LIMIT = 0xFFFFFFFFL;
+    private static final int MAX_ENTRIES = 0xFFFF;
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int VERSION = 20;
+    private static final int UTF8_NAMES = 0x0800;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    // End marker for the writer thread
+    private static final Future<Entry> END = CompletableFuture.completedFuture(null);
+
+    private final WritableByteChannel channel;
+    private final ExecutorService compressors;
+    private final int compressionLevel;
+    private final int dosTime;
+    private final Semaphore inFlight;
+    private final BlockingQueue<Future<Entry>> pending = new LinkedBlockingQueue<>();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final Thread writer;
+
+    // Owned by the writer thread until it is joined in close()
+    private final List<Entry> written = new ArrayList<>();
+    private long offset;
+
+    private volatile Throwable failure;
+    private boolean closed;
+
+    // Entries accepted by add(), counted on the adding thread
+    private int added;
+
+    /**
+     * Archive on the batch lane of the shared render workers with a few entries in flight per worker
+     */
+    public ZipArchiveWriter(WritableByteChannel channel) {
+        this(channel, RenderScheduler.getInstance().asExecutor(RenderScheduler.Lane.BATCH), THREADS * 4,
+            Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param compressors Pool that produces and deflates entry contents
+     * @param maxInFlight Upper bound on entries submitted but not yet written
+     * @param compressionLevel Deflate level, 0 to 9
+     */
+    public ZipArchiveWriter(WritableByteChannel channel, ExecutorService compressors, int maxInFlight, int compressionLevel) {
+        this.channel = channel;
+        this.compressors = compressors;
+        this.compressionLevel = compressionLevel;
+        this.dosTime = dosTime(RenderEnvironment.now());
+        this.inFlight = new Semaphore(maxInFlight);
+        this.writer = new Thread(this::drain, "zip-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Adds an entry whose contents are already in memory
+     */
+    public void add(String name, byte[] contents) throws IOException {
+        add(name, () -> contents);
+    }
+
+    /**
+     * Adds an entry whose contents are produced on a worker thread
+     * Blocks while maxInFlight entries are outstanding.
+     *
+     * @param contents Produces the entry bytes, e.g. by rendering a resume
+     * @throws IOException if an earlier entry failed, the archive cannot be written,
+     *         or it is already at the entry limit
+     */
+    public void add(String name, Callable<byte[]> contents) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Archive already closed");
+        }
+        checkFailure();
+        // Refuse before rendering anything that could never be written; one place is kept for the manifest
+        if (added >= MAX_ENTRIES - 1) {
+            throw new IOException("Archive is limited to " + (MAX_ENTRIES - 1)
+                + " entries plus the manifest; zip64 is not supported");
+        }
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to add " + name);
+        }
+        pending.add(compressors.submit(() -> compress(name, contents.call())));
+        added++;
+    }
+
+    /**
+     * Waits for every entry to be written, then adds the manifest and the
+     * central directory; the channel is left open
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.add(END);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while finishing archive");
+        }
+        checkFailure();
+
+        writeEntry(compress(MANIFEST_NAME, manifest()));
+
+        long centralStart = offset;
+        if (written.size() > MAX_ENTRIES || centralStart > ZIP32_LIMIT) {
+            throw new IOException("Archive exceeds zip limits (" + written.size() + " entries, "
+                + centralStart + " bytes); zip64 is not supported");
+        }
+        for (Entry entry : written) {
+            writeCentralHeader(entry);
+        }
+        long centralSize = offset - centralStart;
+
+        ensure(22);
+        buffer.putInt(END_OF_CENTRAL_DIRECTORY);
+        buffer.putShort((short) 0);  // this disk
+        buffer.putShort((short) 0);  // disk with central directory
+        buffer.putShort((short) written.size());
+        buffer.putShort((short) written.size());
+        buffer.putInt((int) centralSize);
+        buffer.putInt((int) centralStart);
+        buffer.putShort((short) 0);  // comment length
+        offset += 22;
+        flush();
+    }
+
+    /**
+     * Entries written so far, excluding any still in flight
+     */
+    public int getEntryCount() {
+        synchronized (written) {
+            return written.size();
+        }
+    }
+
+    private byte[] manifest() {
+        StringBuilder manifest = new StringBuilder();
+        manifest.append("# crc32 size name\n");
+        for (Entry entry : written) {
+            manifest.append(String.format("%08x %d %s\n", entry.crc, entry.size, entry.name));
+        }
+        return manifest.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable cause = failure;
+        if (cause == null) {
+            return;
+        }
+        // A fresh exception each time: add() and close() may both report the same failure
+        throw new IOException(cause instanceof IOException ? "Archive write failed" : "Archive entry failed", cause);
+    }
+
+    // Worker side
+
+    private Entry compress(String name, byte[] contents) {
+        CRC32 crc = new CRC32();
+        crc.update(contents);
+
+        byte[] data = contents;
+        int method = STORED;
+        if (compressionLevel != Deflater.NO_COMPRESSION && contents.length > 0) {
+            byte[] deflated = deflate(contents);
+            if (deflated.length < contents.length) {
+                data = deflated;
+                method = DEFLATED;
+            }
+        }
+        return new Entry(name, method, crc.getValue(), contents.length, data);
+    }
+
+    private byte[] deflate(byte[] contents) {
+        // Raw deflate: zip entries carry no zlib wrapper
+        Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setInput(contents);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, contents.length / 2));
+            byte[] chunk = new byte[16 * 1024];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // Writer thread
+
+    private void drain() {
+        while (true) {
+            Future<Entry> next;
+            try {
+                next = pending.take();
+            } catch (InterruptedException e) {
+                failure = e;
+                return;
+            }
+            if (next == END) {
+                return;
+            }
+
+            try {
+                if (failure != null) {
+                    next.cancel(true);
+                    continue;
+                }
+                writeEntry(next.get());
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (InterruptedException | IOException | RuntimeException e) {
+                failure = e;
+            } finally {
+                inFlight.release();
+            }
+        }
+    }
+
+    private void writeEntry(Entry entry) throws IOException {
+        entry.offset = offset;
+        if (entry.offset > ZIP32_LIMIT) {
+            throw new IOException("Archive exceeds 4 GB at " + entry.name + "; zip64 is not supported");
+        }
+
+        ensure(30 + entry.nameBytes.length);
+        buffer.putInt(LOCAL_HEADER);
+        buffer.putShort((short) VERSION);
+        buffer.putShort((short) UTF8_NAMES);
+        buffer.putShort((short) entry.method);
+        buffer.putInt(dosTime);
+        buffer.putInt((int) entry.crc);
+        buffer.putInt(entry.data.length);
+        buffer.putInt(entry.size);
+        buffer.putShort((short) entry.nameBytes.length);
+        buffer.putShort((short) 0);  // extra field length
+        buffer.put(entry.nameBytes);
+        put(entry.data);
+        offset += 30 + entry.nameBytes.length + entry.data.length;
+
+        entry.compressedSize = entry.data.length;
+        entry.data = null;
+        synchronized (written) {
+            written.add(entry);
+        }
+    }
+
+    private void writeCentralHeader(Entry entry) throws IOException {
+        ensure(46 + entry.nameBytes.length);
+        buffer.putInt(CENTRAL_HEADER);
+        buffer.putShort((short) VERSION);  // made by
+        buffer.putShort((short) VERSION);  // needed to extract
+        buffer.putShort((short) UTF8_NAMES);
+        buffer.putShort((short) entry.method);
+        buffer.putInt(dosTime);
+        buffer.putInt((int) entry.crc);
+        buffer.putInt(entry.compressedSize);
+        buffer.putInt(entry.size);
+        buffer.putShort((short) entry.nameBytes.length);
+        buffer.putShort((short) 0);  // extra field length
+        buffer.putShort((short) 0);  // comment length
+        buffer.putShort((short) 0);  // disk number
+        buffer.putShort((short) 0);  // internal attributes
+        buffer.putInt(0);            // external attributes
+        buffer.putInt((int) entry.offset);
+        buffer.put(entry.nameBytes);
+        offset += 46 + entry.nameBytes.length;
+    }
+
+    private void put(byte[] data) throws IOException {
+        int position = 0;
+        while (position < data.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int length = Math.min(buffer.remaining(), data.length - position);
+            buffer.put(data, position, length);
+            position += length;
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static int dosTime(LocalDateTime time) {
+        int year = Math.max(1980, time.getYear());
+        return (year - 1980) << 25 | time.getMonthValue() << 21 | time.getDayOfMonth() << 16
+            | time.getHour() << 11 | time.getMinute() << 5 | time.getSecond() >> 1;
+    }
+
+    private static final class Entry {
+        final String name;
+        final byte[] nameBytes;
+        final int method;
+        final long crc;
+        final int size;
+        byte[] data;
+        int compressedSize;
+        long offset;
+
+        Entry(String name, int method, long crc, int size, byte[] data) {
+            this.name = name;
+            this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package app.model;
+
+import app.utils.PersistentVector;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Editable list used by ResumeData
+ * Behaves like an ordinary mutable List for the UI code, but every mutation
+ * swaps in a new persistent vector instead of changing shared state. Taking a
+ * snapshot is therefore just reading the current vector reference.
+ */
+public class ModelList<T> extends AbstractList<T> implements RandomAccess {
+
+    private volatile PersistentVector<T> vector;
+    private final Runnable changeListener;
+
+    public ModelList() {
+        this(PersistentVector.empty(), null);
+    }
+
+    public ModelList(PersistentVector<T> vector) {
+        this(vector, null);
+    }
+
+    /**
+     * @param changeListener invoked after every structural change (may be null)
+     */
+    public ModelList(PersistentVector<T> vector, Runnable changeListener) {
+        this.vector = vector;
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Current immutable contents; safe to hand to other threads
+     */
+    public PersistentVector<T> vector() {
+        return vector;
+    }
+
+    /**
+     * Replaces the whole contents, sharing structure when the source allows it
+     * Unchanged contents are left alone so listeners only see real edits.
+     */
+    public void setAll(Collection<? extends T> values) {
+        PersistentVector<T> replacement;
+        if (values instanceof ModelList) {
+            @SuppressWarnings("unchecked")
+            PersistentVector<T> shared = ((ModelList<T>) values).vector();
+            replacement = shared;
+        } else {
+            replacement = values != null ? PersistentVector.copyOf(values) : PersistentVector.empty();
+        }
+        if (replacement != vector && !replacement.asList().equals(vector.asList())) {
+            replace(replacement);
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        return vector.get(index);
+    }
+
+    @Override
+    public int size() {
+        return vector.size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        PersistentVector<T> current = vector;
+        T previous = current.get(index);
+        replace(current.set(index, element));
+        return previous;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        replace(vector.insert(index, element));
+    }
+
+    @Override
+    public T remove(int index) {
+        PersistentVector<T> current = vector;
+        T removed = current.get(index);
+        replace(current.remove(index));
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        replace(PersistentVector.empty());
+    }
+
+    @Override
+    public int indexOf(Object value) {
+        return vector.indexOf(value);
+    }
+
+    protected void replace(PersistentVector<T> replacement) {
+        vector = replacement;
+        modCount++;
+        if (changeListener != null) {
+            changeListener.run();
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package app.model;
 
+import app.utils.PersistentVector;
+
 import java.util.List;
-import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class ResumeData {
     
+    /**
+     * Independently rendered resume sections, used for change tracking
+     */
+    public enum Section {
+        HEADER, OBJECTIVE, SUMMARY, EDUCATION, SKILLS, PROJECTS, EXPERIENCE,
+        ACHIEVEMENTS, CERTIFICATIONS, LANGUAGES
+    }
+    
+    // Globally unique version stamps, so (section, version) identifies content across instances
+    private static final AtomicLong VERSION_STAMPS = new AtomicLong();
+    
     // Personal Information
     private String fullName;
     private String email;
@@ -22,45 +36,61 @@ public class ResumeData {
     private String summary;
     
     // Education
-    private List<Education> educationList;
+    private final ModelList<Education> educationList;
     
     // Skills
-    private List<String> technicalSkills;
-    private List<String> softSkills;
+    private final ModelList<String> technicalSkills;
+    private final ModelList<String> softSkills;
     
     // Projects
-    private List<Project> projects;
+    private final ModelList<Project> projects;
     
     // Work Experience
-    private List<Experience> experiences;
+    private final ModelList<Experience> experiences;
     
     // Achievements
-    private List<String> achievements;
+    private final ModelList<String> achievements;
     
     // Certifications
-    private List<String> certifications;
+    private final ModelList<String> certifications;
     
     // Languages
-    private List<String> languages;
+    private final ModelList<String> languages;
     
     // Metadata
     private LocalDateTime createdAt;
     private LocalDateTime lastModified;
     private String templateSelected;
     
+    // Change tracking: version stamp of each section's current content
+    private final long[] sectionVersions;
+    
     public ResumeData() {
-        this.educationList = new ArrayList<>();
-        this.technicalSkills = new ArrayList<>();
-        this.softSkills = new ArrayList<>();
-        this.projects = new ArrayList<>();
-        this.experiences = new ArrayList<>();
-        this.achievements = new ArrayList<>();
-        this.certifications = new ArrayList<>();
-        this.languages = new ArrayList<>();
+        this.sectionVersions = new long[Section.values().length];
+        for (Section section : Section.values()) {
+            touch(section);
+        }
+        this.educationList = new ModelList<>(PersistentVector.empty(), () -> touch(Section.EDUCATION));
+        this.technicalSkills = new ModelList<>(PersistentVector.empty(), () -> touch(Section.SKILLS));
+        this.softSkills = new ModelList<>(PersistentVector.empty(), () -> touch(Section.SKILLS));
+        this.projects = new ModelList<>(PersistentVector.empty(), () -> touch(Section.PROJECTS));
+        this.experiences = new ModelList<>(PersistentVector.empty(), () -> touch(Section.EXPERIENCE));
+        this.achievements = new ModelList<>(PersistentVector.empty(), () -> touch(Section.ACHIEVEMENTS));
+        this.certifications = new ModelList<>(PersistentVector.empty(), () -> touch(Section.CERTIFICATIONS));
+        this.languages = new ModelList<>(PersistentVector.empty(), () -> touch(Section.LANGUAGES));
         this.createdAt = LocalDateTime.now();
         this.lastModified = LocalDateTime.now();
     }
     
+    private static boolean allBlank(String... values) {
+        for (String value : values) {
+            if (value != null && !value.trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
     // Education nested class
     public static class Education {
         private String degree;
@@ -79,6 +109,10 @@ public class ResumeData {
             this.location = location;
         }
         
+        public Education(Education other) {
+            this(other.degree, other.institution, other.year, other.grade, other.location);
+        }
+        
         // Getters and Setters
         public String getDegree() { return degree; }
         public void setDegree(String degree) { this.degree = degree; }
@@ -94,6 +128,9 @@ public class ResumeData {
         
         public String getLocation() { return location; }
         public void setLocation(String location) { this.location = location; }
+        
+        // True until something is typed, e.g. for an entry just added in the wizard
+        public boolean isBlank() { return allBlank(degree, institution, year, grade, location); }
     }
     
     // Project nested class
@@ -114,6 +151,12 @@ public class ResumeData {
             this.duration = duration;
         }
         
+        public Project(Project other) {
+            this(other.title, other.description, other.technologies, other.duration);
+            this.githubUrl = other.githubUrl;
+            this.liveUrl = other.liveUrl;
+        }
+        
         // Getters and Setters
         public String getTitle() { return title; }
         public void setTitle(String title) { this.title = title; }
@@ -132,6 +175,8 @@ public class ResumeData {
         
         public String getLiveUrl() { return liveUrl; }
         public void setLiveUrl(String liveUrl) { this.liveUrl = liveUrl; }
+        
+        public boolean isBlank() { return allBlank(title, description, technologies, duration, githubUrl, liveUrl); }
     }
     
     // Experience nested class
@@ -152,6 +197,10 @@ public class ResumeData {
             this.description = description;
         }
         
+        public Experience(Experience other) {
+            this(other.company, other.position, other.duration, other.location, other.description);
+        }
+        
         // Getters and Setters
         public String getCompany() { return company; }
         public void setCompany(String company) { this.company = company; }
@@ -167,8 +216,75 @@ public class ResumeData {
         
         public String getDescription() { return description; }
         public void setDescription(String description) { this.description = description; }
+        
+        public boolean isBlank() { return allBlank(company, position, duration, location, description); }
+    }
+    
+    /**
+     * Creates an editable copy of a snapshot in O(1)
+     * The lists are shared with the snapshot and copied on write, so editing
+     * the result never affects the snapshot (or any other reader of it).
+     */
+    public ResumeData(ResumeSnapshot snapshot) {
+        this.fullName = snapshot.getFullName();
+        this.email = snapshot.getEmail();
+        this.phone = snapshot.getPhone();
+        this.address = snapshot.getAddress();
+        this.linkedinUrl = snapshot.getLinkedinUrl();
+        this.githubUrl = snapshot.getGithubUrl();
+        this.portfolioUrl = snapshot.getPortfolioUrl();
+        this.selectedRole = snapshot.getSelectedRole();
+        this.objective = snapshot.getObjective();
+        this.summary = snapshot.getSummary();
+        this.educationList = new ModelList<>(snapshot.educationVector(), () -> touch(Section.EDUCATION));
+        this.technicalSkills = new ModelList<>(snapshot.technicalSkillsVector(), () -> touch(Section.SKILLS));
+        this.softSkills = new ModelList<>(snapshot.softSkillsVector(), () -> touch(Section.SKILLS));
+        this.projects = new ModelList<>(snapshot.projectsVector(), () -> touch(Section.PROJECTS));
+        this.experiences = new ModelList<>(snapshot.experiencesVector(), () -> touch(Section.EXPERIENCE));
+        this.achievements = new ModelList<>(snapshot.achievementsVector(), () -> touch(Section.ACHIEVEMENTS));
+        this.certifications = new ModelList<>(snapshot.certificationsVector(), () -> touch(Section.CERTIFICATIONS));
+        this.languages = new ModelList<>(snapshot.languagesVector(), () -> touch(Section.LANGUAGES));
+        this.createdAt = snapshot.getCreatedAt();
+        this.lastModified = snapshot.getLastModified();
+        this.templateSelected = snapshot.getTemplateSelected();
+        this.sectionVersions = snapshot.sectionVersions();
+    }
+
+    /**
+     * Captures the current state as an immutable snapshot in O(1)
+     * Only the list heads are read; their contents are persistent and shared.
+     * Education, Project and Experience entries are shared too, so edits should
+     * replace an entry (list.set) rather than mutate it in place.
+     */
+    public ResumeSnapshot snapshot() {
+        return new ResumeSnapshot(fullName, email, phone, address, linkedinUrl, githubUrl, portfolioUrl,
+            selectedRole, objective, summary,
+            educationList.vector(), technicalSkills.vector(), softSkills.vector(), projects.vector(),
+            experiences.vector(), achievements.vector(), certifications.vector(), languages.vector(),
+            createdAt, lastModified, templateSelected, sectionVersions.clone());
     }
     
+    /**
+     * Version stamp of a section's content
+     * Stamps are unique across all resumes and change on every edit of the
+     * section, so renderers can cache laid-out blocks keyed by them.
+     */
+    public long getSectionVersion(Section section) {
+        return sectionVersions[section.ordinal()];
+    }
+    
+    static long nextVersion() {
+        return VERSION_STAMPS.incrementAndGet();
+    }
+    
+    private void touch(Section section) {
+        sectionVersions[section.ordinal()] = nextVersion();
+    }
+    
+    private static boolean changed(String current, String updated) {
+        return !Objects.equals(current, updated);
+    }
+
     // Update last modified timestamp
     public void updateLastModified() {
         this.lastModified = LocalDateTime.now();
@@ -185,58 +301,58 @@ public class ResumeData {
     
     // Main getters and setters
     public String getFullName() { return fullName; }
-    public void setFullName(String fullName) { this.fullName = fullName; }
+    public void setFullName(String fullName) { if (changed(this.fullName, fullName)) { this.fullName = fullName; touch(Section.HEADER); } }
     
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setEmail(String email) { if (changed(this.email, email)) { this.email = email; touch(Section.HEADER); } }
     
     public String getPhone() { return phone; }
-    public void setPhone(String phone) { this.phone = phone; }
+    public void setPhone(String phone) { if (changed(this.phone, phone)) { this.phone = phone; touch(Section.HEADER); } }
     
     public String getAddress() { return address; }
-    public void setAddress(String address) { this.address = address; }
+    public void setAddress(String address) { if (changed(this.address, address)) { this.address = address; touch(Section.HEADER); } }
     
     public String getLinkedinUrl() { return linkedinUrl; }
-    public void setLinkedinUrl(String linkedinUrl) { this.linkedinUrl = linkedinUrl; }
+    public void setLinkedinUrl(String linkedinUrl) { if (changed(this.linkedinUrl, linkedinUrl)) { this.linkedinUrl = linkedinUrl; touch(Section.HEADER); } }
     
     public String getGithubUrl() { return githubUrl; }
-    public void setGithubUrl(String githubUrl) { this.githubUrl = githubUrl; }
+    public void setGithubUrl(String githubUrl) { if (changed(this.githubUrl, githubUrl)) { this.githubUrl = githubUrl; touch(Section.HEADER); } }
     
     public String getPortfolioUrl() { return portfolioUrl; }
-    public void setPortfolioUrl(String portfolioUrl) { this.portfolioUrl = portfolioUrl; }
+    public void setPortfolioUrl(String portfolioUrl) { if (changed(this.portfolioUrl, portfolioUrl)) { this.portfolioUrl = portfolioUrl; touch(Section.HEADER); } }
     
     public String getSelectedRole() { return selectedRole; }
-    public void setSelectedRole(String selectedRole) { this.selectedRole = selectedRole; }
+    public void setSelectedRole(String selectedRole) { if (changed(this.selectedRole, selectedRole)) { this.selectedRole = selectedRole; touch(Section.HEADER); } }
     
     public String getObjective() { return objective; }
-    public void setObjective(String objective) { this.objective = objective; }
+    public void setObjective(String objective) { if (changed(this.objective, objective)) { this.objective = objective; touch(Section.OBJECTIVE); } }
     
     public String getSummary() { return summary; }
-    public void setSummary(String summary) { this.summary = summary; }
+    public void setSummary(String summary) { if (changed(this.summary, summary)) { this.summary = summary; touch(Section.SUMMARY); } }
     
     public List<Education> getEducationList() { return educationList; }
-    public void setEducationList(List<Education> educationList) { this.educationList = educationList; }
+    public void setEducationList(List<Education> educationList) { this.educationList.setAll(educationList); }
     
     public List<String> getTechnicalSkills() { return technicalSkills; }
-    public void setTechnicalSkills(List<String> technicalSkills) { this.technicalSkills = technicalSkills; }
+    public void setTechnicalSkills(List<String> technicalSkills) { this.technicalSkills.setAll(technicalSkills); }
     
     public List<String> getSoftSkills() { return softSkills; }
-    public void setSoftSkills(List<String> softSkills) { this.softSkills = softSkills; }
+    public void setSoftSkills(List<String> softSkills) { this.softSkills.setAll(softSkills); }
     
     public List<Project> getProjects() { return projects; }
-    public void setProjects(List<Project> projects) { this.projects = projects; }
+    public void setProjects(List<Project> projects) { this.projects.setAll(projects); }
     
     public List<Experience> getExperiences() { return experiences; }
-    public void setExperiences(List<Experience> experiences) { this.experiences = experiences; }
+    public void setExperiences(List<Experience> experiences) { this.experiences.setAll(experiences); }
     
     public List<String> getAchievements() { return achievements; }
-    public void setAchievements(List<String> achievements) { this.achievements = achievements; }
+    public void setAchievements(List<String> achievements) { this.achievements.setAll(achievements); }
     
     public List<String> getCertifications() { return certifications; }
-    public void setCertifications(List<String> certifications) { this.certifications = certifications; }
+    public void setCertifications(List<String> certifications) { this.certifications.setAll(certifications); }
     
     public List<String> getLanguages() { return languages; }
-    public void setLanguages(List<String> languages) { this.languages = languages; }
+    public void setLanguages(List<String> languages) { this.languages.setAll(languages); }
     
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
@@ -0,0 +1,289 @@
+package app.model;
+
+import app.utils.PersistentVector;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Immutable point-in-time view of a resume
+ * Lists are persistent vectors shared with the ResumeData they came from, so
+ * snapshots are cheap to take and safe to read from any thread (background
+ * export, autosave) while the student keeps editing.
+ */
+public final class ResumeSnapshot {
+
+    // Personal Information
+    private final String fullName;
+    private final String email;
+    private final String phone;
+    private final String address;
+    private final String linkedinUrl;
+    private final String githubUrl;
+    private final String portfolioUrl;
+
+    // Role and Objective
+    private final String selectedRole;
+    private final String objective;
+    private final String summary;
+
+    // Sections
+    private final PersistentVector<ResumeData.Education> educationList;
+    private final PersistentVector<String> technicalSkills;
+    private final PersistentVector<String> softSkills;
+    private final PersistentVector<ResumeData.Project> projects;
+    private final PersistentVector<ResumeData.Experience> experiences;
+    private final PersistentVector<String> achievements;
+    private final PersistentVector<String> certifications;
+    private final PersistentVector<String> languages;
+
+    // Metadata
+    private final LocalDateTime createdAt;
+    private final LocalDateTime lastModified;
+    private final String templateSelected;
+
+    // Section version stamps, carried over from the editable model
+    private final long[] sectionVersions;
+
+    private ResumeSnapshot(Builder builder) {
+        this.fullName = builder.fullName;
+        this.email = builder.email;
+        this.phone = builder.phone;
+        this.address = builder.address;
+        this.linkedinUrl = builder.linkedinUrl;
+        this.githubUrl = builder.githubUrl;
+        this.portfolioUrl = builder.portfolioUrl;
+        this.selectedRole = builder.selectedRole;
+        this.objective = builder.objective;
+        this.summary = builder.summary;
+        this.educationList = builder.educationList;
+        this.technicalSkills = builder.technicalSkills;
+        this.softSkills = builder.softSkills;
+        this.projects = builder.projects;
+        this.experiences = builder.experiences;
+        this.achievements = builder.achievements;
+        this.certifications = builder.certifications;
+        this.languages = builder.languages;
+        this.createdAt = builder.createdAt;
+        this.lastModified = builder.lastModified;
+        this.templateSelected = builder.templateSelected;
+        this.sectionVersions = builder.sectionVersions.clone();
+    }
+
+    /**
+     * Copies state straight from the editable model
+     * Unlike the builder, no version stamps are taken; the model's own stamps
+     * are adopted as they are, so taking a snapshot never advances the
+     * global version counter.
+     */
+    ResumeSnapshot(String fullName, String email, String phone, String address, String linkedinUrl,
+                   String githubUrl, String portfolioUrl, String selectedRole, String objective, String summary,
+                   PersistentVector<ResumeData.Education> educationList, PersistentVector<String> technicalSkills,
+                   PersistentVector<String> softSkills, PersistentVector<ResumeData.Project> projects,
+                   PersistentVector<ResumeData.Experience> experiences, PersistentVector<String> achievements,
+                   PersistentVector<String> certifications, PersistentVector<String> languages,
+                   LocalDateTime createdAt, LocalDateTime lastModified, String templateSelected,
+                   long[] sectionVersions) {
+        this.fullName = fullName;
+        this.email = email;
+        this.phone = phone;
+        this.address = address;
+        this.linkedinUrl = linkedinUrl;
+        this.githubUrl = githubUrl;
+        this.portfolioUrl = portfolioUrl;
+        this.selectedRole = selectedRole;
+        this.objective = objective;
+        this.summary = summary;
+        this.educationList = educationList;
+        this.technicalSkills = technicalSkills;
+        this.softSkills = softSkills;
+        this.projects = projects;
+        this.experiences = experiences;
+        this.achievements = achievements;
+        this.certifications = certifications;
+        this.languages = languages;
+        this.createdAt = createdAt;
+        this.lastModified = lastModified;
+        this.templateSelected = templateSelected;
+        this.sectionVersions = sectionVersions;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Starts an edit from this snapshot; unchanged lists stay shared
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * Editable copy sharing this snapshot's lists (copy-on-write)
+     */
+    public ResumeData toResumeData() {
+        return new ResumeData(this);
+    }
+
+    public String getFormattedCreatedAt() {
+        return createdAt.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+    }
+
+    public String getFormattedLastModified() {
+        return lastModified.format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"));
+    }
+
+    // Getters (lists are read-only views)
+    public String getFullName() { return fullName; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+    public String getAddress() { return address; }
+    public String getLinkedinUrl() { return linkedinUrl; }
+    public String getGithubUrl() { return githubUrl; }
+    public String getPortfolioUrl() { return portfolioUrl; }
+    public String getSelectedRole() { return selectedRole; }
+    public String getObjective() { return objective; }
+    public String getSummary() { return summary; }
+    public List<ResumeData.Education> getEducationList() { return educationList.asList(); }
+    public List<String> getTechnicalSkills() { return technicalSkills.asList(); }
+    public List<String> getSoftSkills() { return softSkills.asList(); }
+    public List<ResumeData.Project> getProjects() { return projects.asList(); }
+    public List<ResumeData.Experience> getExperiences() { return experiences.asList(); }
+    public List<String> getAchievements() { return achievements.asList(); }
+    public List<String> getCertifications() { return certifications.asList(); }
+    public List<String> getLanguages() { return languages.asList(); }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getLastModified() { return lastModified; }
+    public String getTemplateSelected() { return templateSelected; }
+    public long getSectionVersion(ResumeData.Section section) { return sectionVersions[section.ordinal()]; }
+
+    // Raw vectors for structural sharing within the model package
+    PersistentVector<ResumeData.Education> educationVector() { return educationList; }
+    PersistentVector<String> technicalSkillsVector() { return technicalSkills; }
+    PersistentVector<String> softSkillsVector() { return softSkills; }
+    PersistentVector<ResumeData.Project> projectsVector() { return projects; }
+    PersistentVector<ResumeData.Experience> experiencesVector() { return experiences; }
+    PersistentVector<String> achievementsVector() { return achievements; }
+    PersistentVector<String> certificationsVector() { return certifications; }
+    PersistentVector<String> languagesVector() { return languages; }
+    long[] sectionVersions() { return sectionVersions.clone(); }
+
+    /**
+     * Builder for new snapshots
+     * List edits are persistent operations, so building from an existing
+     * snapshot only allocates the paths that actually change.
+     */
+    public static final class Builder {
+        private String fullName;
+        private String email;
+        private String phone;
+        private String address;
+        private String linkedinUrl;
+        private String githubUrl;
+        private String portfolioUrl;
+        private String selectedRole;
+        private String objective;
+        private String summary;
+        private PersistentVector<ResumeData.Education> educationList = PersistentVector.empty();
+        private PersistentVector<String> technicalSkills = PersistentVector.empty();
+        private PersistentVector<String> softSkills = PersistentVector.empty();
+        private PersistentVector<ResumeData.Project> projects = PersistentVector.empty();
+        private PersistentVector<ResumeData.Experience> experiences = PersistentVector.empty();
+        private PersistentVector<String> achievements = PersistentVector.empty();
+        private PersistentVector<String> certifications = PersistentVector.empty();
+        private PersistentVector<String> languages = PersistentVector.empty();
+        private LocalDateTime createdAt = LocalDateTime.now();
+        private LocalDateTime lastModified = createdAt;
+        private String templateSelected;
+        private long[] sectionVersions = new long[ResumeData.Section.values().length];
+
+        public Builder() {
+            for (ResumeData.Section section : ResumeData.Section.values()) {
+                touch(section);
+            }
+        }
+
+        private Builder(ResumeSnapshot source) {
+            this.fullName = source.fullName;
+            this.email = source.email;
+            this.phone = source.phone;
+            this.address = source.address;
+            this.linkedinUrl = source.linkedinUrl;
+            this.githubUrl = source.githubUrl;
+            this.portfolioUrl = source.portfolioUrl;
+            this.selectedRole = source.selectedRole;
+            this.objective = source.objective;
+            this.summary = source.summary;
+            this.educationList = source.educationList;
+            this.technicalSkills = source.technicalSkills;
+            this.softSkills = source.softSkills;
+            this.projects = source.projects;
+            this.experiences = source.experiences;
+            this.achievements = source.achievements;
+            this.certifications = source.certifications;
+            this.languages = source.languages;
+            this.createdAt = source.createdAt;
+            this.lastModified = source.lastModified;
+            this.templateSelected = source.templateSelected;
+            this.sectionVersions = source.sectionVersions.clone();
+        }
+
+        public Builder fullName(String fullName) { this.fullName = fullName; return touch(ResumeData.Section.HEADER); }
+        public Builder email(String email) { this.email = email; return touch(ResumeData.Section.HEADER); }
+        public Builder phone(String phone) { this.phone = phone; return touch(ResumeData.Section.HEADER); }
+        public Builder address(String address) { this.address = address; return touch(ResumeData.Section.HEADER); }
+        public Builder linkedinUrl(String linkedinUrl) { this.linkedinUrl = linkedinUrl; return touch(ResumeData.Section.HEADER); }
+        public Builder githubUrl(String githubUrl) { this.githubUrl = githubUrl; return touch(ResumeData.Section.HEADER); }
+        public Builder portfolioUrl(String portfolioUrl) { this.portfolioUrl = portfolioUrl; return touch(ResumeData.Section.HEADER); }
+        public Builder selectedRole(String selectedRole) { this.selectedRole = selectedRole; return touch(ResumeData.Section.HEADER); }
+        public Builder objective(String objective) { this.objective = objective; return touch(ResumeData.Section.OBJECTIVE); }
+        public Builder summary(String summary) { this.summary = summary; return touch(ResumeData.Section.SUMMARY); }
+        public Builder createdAt(LocalDateTime createdAt) { this.createdAt = createdAt; return this; }
+        public Builder lastModified(LocalDateTime lastModified) { this.lastModified = lastModified; return this; }
+        public Builder templateSelected(String templateSelected) { this.templateSelected = templateSelected; return this; }
+
+        // Whole-list replacement
+        public Builder educationList(PersistentVector<ResumeData.Education> educationList) { this.educationList = educationList; return touch(ResumeData.Section.EDUCATION); }
+        public Builder technicalSkills(PersistentVector<String> technicalSkills) { this.technicalSkills = technicalSkills; return touch(ResumeData.Section.SKILLS); }
+        public Builder softSkills(PersistentVector<String> softSkills) { this.softSkills = softSkills; return touch(ResumeData.Section.SKILLS); }
+        public Builder projects(PersistentVector<ResumeData.Project> projects) { this.projects = projects; return touch(ResumeData.Section.PROJECTS); }
+        public Builder experiences(PersistentVector<ResumeData.Experience> experiences) { this.experiences = experiences; return touch(ResumeData.Section.EXPERIENCE); }
+        public Builder achievements(PersistentVector<String> achievements) { this.achievements = achievements; return touch(ResumeData.Section.ACHIEVEMENTS); }
+        public Builder certifications(PersistentVector<String> certifications) { this.certifications = certifications; return touch(ResumeData.Section.CERTIFICATIONS); }
+        public Builder languages(PersistentVector<String> languages) { this.languages = languages; return touch(ResumeData.Section.LANGUAGES); }
+
+        // Incremental list edits
+        public Builder addEducation(ResumeData.Education education) { educationList = educationList.append(education); return touch(ResumeData.Section.EDUCATION); }
+        public Builder setEducation(int index, ResumeData.Education education) { educationList = educationList.set(index, education); return touch(ResumeData.Section.EDUCATION); }
+        public Builder removeEducation(int index) { educationList = educationList.remove(index); return touch(ResumeData.Section.EDUCATION); }
+
+        public Builder addTechnicalSkill(String skill) { technicalSkills = technicalSkills.append(skill); return touch(ResumeData.Section.SKILLS); }
+        public Builder removeTechnicalSkill(int index) { technicalSkills = technicalSkills.remove(index); return touch(ResumeData.Section.SKILLS); }
+
+        public Builder addSoftSkill(String skill) { softSkills = softSkills.append(skill); return touch(ResumeData.Section.SKILLS); }
+        public Builder removeSoftSkill(int index) { softSkills = softSkills.remove(index); return touch(ResumeData.Section.SKILLS); }
+
+        public Builder addProject(ResumeData.Project project) { projects = projects.append(project); return touch(ResumeData.Section.PROJECTS); }
+        public Builder setProject(int index, ResumeData.Project project) { projects = projects.set(index, project); return touch(ResumeData.Section.PROJECTS); }
+        public Builder removeProject(int index) { projects = projects.remove(index); return touch(ResumeData.Section.PROJECTS); }
+
+        public Builder addExperience(ResumeData.Experience experience) { experiences = experiences.append(experience); return touch(ResumeData.Section.EXPERIENCE); }
+        public Builder setExperience(int index, ResumeData.Experience experience) { experiences = experiences.set(index, experience); return touch(ResumeData.Section.EXPERIENCE); }
+        public Builder removeExperience(int index) { experiences = experiences.remove(index); return touch(ResumeData.Section.EXPERIENCE); }
+
+        public Builder addAchievement(String achievement) { achievements = achievements.append(achievement); return touch(ResumeData.Section.ACHIEVEMENTS); }
+        public Builder addCertification(String certification) { certifications = certifications.append(certification); return touch(ResumeData.Section.CERTIFICATIONS); }
+        public Builder addLanguage(String language) { languages = languages.append(language); return touch(ResumeData.Section.LANGUAGES); }
+
+        private Builder touch(ResumeData.Section section) {
+            sectionVersions[section.ordinal()] = ResumeData.nextVersion();
+            return this;
+        }
+
+        public ResumeSnapshot build() {
+            return new ResumeSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,601 @@
+package app.service;
+
+import app.model.ResumeData;
+import app.utils.JsonReader;
+import app.utils.ResumeJsonlReader;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keyword matching of resumes against a corpus of job postings
+ * Postings are tokenized into an inverted index whose postings lists are
+ * plain int arrays (document ids and term frequencies), plus a compact
+ * forward index of each posting's distinct terms. A corpus of 100k postings
+ * fits in a few tens of megabytes with no boxed collections per posting.
+ *
+ * Resumes are scored with Okapi BM25, treating the resume's skills, project
+ * technologies and experience text as the query. For a single posting,
+ * match() reports how much of the posting's keyword weight the resume covers
+ * and which high-weight keywords it is missing.
+ *
+ * The index is immutable once built and safe to query from several threads.
+ * Run main() to rank a JSONL file of resumes against a JSONL file of postings.
+ */
+public final class JobMatchIndex {
+
+    private static final Logger logger = Logger.getLogger(JobMatchIndex.class.getName());
+
+    // Command-line defaults: postings listed per resume, missing keywords listed per posting
+    private static final int DEFAULT_LIMIT = 5;
+    private static final int MISSING_LIMIT = 8;
+
+    // BM25 parameters (the usual defaults)
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+        "a", "about", "above", "after", "all", "also", "an", "and", "any", "are", "as", "at", "be",
+        "been", "being", "but", "by", "can", "could", "do", "does", "etc", "for", "from", "has", "have",
+        "having", "in", "into", "is", "it", "its", "may", "more", "must", "not", "of", "on", "or",
+        "other", "our", "out", "over", "per", "plus", "should", "so", "such", "than", "that", "the",
+        "their", "them", "then", "there", "these", "they", "this", "those", "through", "to", "under",
+        "up", "us", "using", "very", "was", "we", "well", "were", "what", "when", "where", "which",
+        "while", "who", "will", "with", "within", "would", "you", "your"));
+
+    private final Map<String, Integer> termIds;
+    private final String[] terms;
+    private final float[] idf;
+
+    // Inverted index: per term, ascending document ids and their frequencies
+    private final int[][] postingDocs;
+    private final int[][] postingFreqs;
+
+    // Forward index: distinct terms of document d are docTerms[docOffsets[d] .. docOffsets[d + 1])
+    private final int[] docOffsets;
+    private final int[] docTerms;
+    private final int[] docTermFreqs;
+    private final int[] docLengths;
+    private final String[] docIds;
+    private final String[] docTitles;
+    private final float averageLength;
+
+    private JobMatchIndex(Builder builder) {
+        int termCount = builder.termIds.size();
+        int docCount = builder.docIds.size();
+
+        // Copied, since the builder may go on taking postings after this index is built
+        this.termIds = new HashMap<>(builder.termIds);
+        this.terms = new String[termCount];
+        for (Map.Entry<String, Integer> entry : termIds.entrySet()) {
+            terms[entry.getValue()] = entry.getKey();
+        }
+
+        this.postingDocs = new int[termCount][];
+        this.postingFreqs = new int[termCount][];
+        this.idf = new float[termCount];
+        for (int t = 0; t < termCount; t++) {
+            int size = builder.postingSizes[t];
+            postingDocs[t] = Arrays.copyOf(builder.postingDocs[t], size);
+            postingFreqs[t] = Arrays.copyOf(builder.postingFreqs[t], size);
+            idf[t] = (float) Math.log(1 + (docCount - size + 0.5) / (size + 0.5));
+        }
+
+        this.docOffsets = Arrays.copyOf(builder.docOffsets, docCount + 1);
+        this.docTerms = Arrays.copyOf(builder.docTerms, builder.docTermCount);
+        this.docTermFreqs = Arrays.copyOf(builder.docTermFreqs, builder.docTermCount);
+        this.docLengths = Arrays.copyOf(builder.docLengths, docCount);
+        this.docIds = builder.docIds.toArray(new String[0]);
+        this.docTitles = builder.docTitles.toArray(new String[0]);
+
+        long totalLength = 0;
+        for (int length : docLengths) {
+            totalLength += length;
+        }
+        this.averageLength = docCount == 0 ? 1f : Math.max(1f, (float) totalLength / docCount);
+    }
+
+    /**
+     * Loads postings from JSON Lines, one {"id", "title", "description"} object per line
+     */
+    public static JobMatchIndex fromJsonl(Path path) throws IOException {
+        Builder builder = new Builder();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+             JsonReader json = new JsonReader(reader)) {
+            while (json.peek() != JsonReader.Token.END_DOCUMENT) {
+                String id = null;
+                String title = "";
+                String description = "";
+                json.beginObject();
+                while (json.hasNext()) {
+                    String name = json.nextName();
+                    switch (name) {
+                        case "id":
+                            id = json.nextStringOrNull();
+                            break;
+                        case "title":
+                            title = nullToEmpty(json.nextStringOrNull());
+                            break;
+                        case "description":
+                            description = nullToEmpty(json.nextStringOrNull());
+                            break;
+                        default:
+                            json.skipValue();
+                            break;
+                    }
+                }
+                json.endObject();
+                builder.add(id != null ? id : String.valueOf(builder.size()), title, description);
+            }
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return docIds.length;
+    }
+
+    public int getTermCount() {
+        return terms.length;
+    }
+
+    public String getPostingId(int doc) {
+        return docIds[doc];
+    }
+
+    public String getPostingTitle(int doc) {
+        return docTitles[doc];
+    }
+
+    /**
+     * Document number of the posting with this id, or -1
+     */
+    public int indexOf(String postingId) {
+        for (int doc = 0; doc < docIds.length; doc++) {
+            if (docIds[doc].equals(postingId)) {
+                return doc;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Postings that best match the resume, highest BM25 score first
+     */
+    public List<PostingMatch> search(ResumeData resumeData, int limit) {
+        int[] query = resumeTerms(resumeData);
+        float[] scores = new float[docIds.length];
+        for (int term : query) {
+            int[] docs = postingDocs[term];
+            int[] freqs = postingFreqs[term];
+            for (int i = 0; i < docs.length; i++) {
+                scores[docs[i]] += termWeight(term, freqs[i], docLengths[docs[i]]);
+            }
+        }
+        return topPostings(scores, limit);
+    }
+
+    /**
+     * Compares the resume with one posting
+     *
+     * @param missingLimit Maximum number of missing keywords to report
+     */
+    public MatchResult match(ResumeData resumeData, int doc, int missingLimit) {
+        int[] resumeTerms = resumeTerms(resumeData);
+
+        int start = docOffsets[doc];
+        int end = docOffsets[doc + 1];
+        float score = 0;
+        float total = 0;
+        int missingCount = 0;
+        int[] missing = new int[end - start];
+        float[] missingWeights = new float[end - start];
+
+        for (int i = start; i < end; i++) {
+            int term = docTerms[i];
+            float weight = termWeight(term, docTermFreqs[i], docLengths[doc]);
+            total += weight;
+            if (Arrays.binarySearch(resumeTerms, term) >= 0) {
+                score += weight;
+            } else {
+                missing[missingCount] = term;
+                missingWeights[missingCount++] = weight;
+            }
+        }
+
+        List<String> keywords = new ArrayList<>(Math.min(missingLimit, missingCount));
+        for (int taken = 0; taken < missingLimit && taken < missingCount; taken++) {
+            // Partial selection: only the first few keywords are ever shown
+            int best = taken;
+            for (int i = taken + 1; i < missingCount; i++) {
+                if (missingWeights[i] > missingWeights[best]) {
+                    best = i;
+                }
+            }
+            swap(missing, missingWeights, taken, best);
+            keywords.add(terms[missing[taken]]);
+        }
+
+        return new MatchResult(docIds[doc], docTitles[doc], score, total == 0 ? 0 : score / total, keywords);
+    }
+
+    private float termWeight(int term, int frequency, int documentLength) {
+        float norm = K1 * (1 - B + B * documentLength / averageLength);
+        return idf[term] * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    /**
+     * Known terms of the resume's skills, projects and experience, ascending and distinct
+     */
+    private int[] resumeTerms(ResumeData resumeData) {
+        StringBuilder text = new StringBuilder();
+        for (String skill : resumeData.getTechnicalSkills()) {
+            text.append(skill).append('\n');
+        }
+        for (String skill : resumeData.getSoftSkills()) {
+            text.append(skill).append('\n');
+        }
+        for (ResumeData.Project project : resumeData.getProjects()) {
+            appendIfPresent(text, project.getTitle());
+            appendIfPresent(text, project.getTechnologies());
+            appendIfPresent(text, project.getDescription());
+        }
+        for (ResumeData.Experience experience : resumeData.getExperiences()) {
+            appendIfPresent(text, experience.getPosition());
+            appendIfPresent(text, experience.getDescription());
+        }
+
+        int[] ids = new int[16];
+        int count = 0;
+        for (String token : tokenize(text.toString())) {
+            Integer id = termIds.get(token);
+            if (id != null) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, count * 2);
+                }
+                ids[count++] = id;
+            }
+        }
+
+        // Sorted and distinct, so membership is a binary search
+        Arrays.sort(ids, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    private List<PostingMatch> topPostings(float[] scores, int limit) {
+        // Bounded selection keeps the best `limit` documents without sorting the corpus
+        int[] best = new int[Math.min(limit, scores.length)];
+        int size = 0;
+        for (int doc = 0; doc < scores.length; doc++) {
+            float score = scores[doc];
+            if (score <= 0 || size == best.length && (size == 0 || score <= scores[best[size - 1]])) {
+                continue;
+            }
+            int i = size < best.length ? size++ : size - 1;
+            while (i > 0 && scores[best[i - 1]] < score) {
+                best[i] = best[i - 1];
+                i--;
+            }
+            best[i] = doc;
+        }
+
+        List<PostingMatch> matches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            matches.add(new PostingMatch(best[i], docIds[best[i]], docTitles[best[i]], scores[best[i]]));
+        }
+        return matches;
+    }
+
+    /**
+     * Command-line entry point: postings.jsonl resumes.jsonl [limit]
+     * For every resume, prints its best-matching postings with their BM25
+     * score and keyword coverage, and the posting keywords the resume lacks.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: JobMatchIndex <postings.jsonl> <resumes.jsonl> [limit]");
+            System.exit(2);
+        }
+        int limit = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_LIMIT;
+        try {
+            long start = System.nanoTime();
+            JobMatchIndex index = fromJsonl(Paths.get(args[0]));
+            System.out.printf("Indexed %d postings (%d terms) in %d ms%n",
+                index.size(), index.getTermCount(), (System.nanoTime() - start) / 1_000_000);
+
+            try (ResumeJsonlReader reader = ResumeJsonlReader.open(Paths.get(args[1]))) {
+                ResumeData resumeData;
+                while ((resumeData = reader.next()) != null) {
+                    String name = resumeData.getFullName();
+                    System.out.println(name != null && !name.isEmpty() ? name : "Resume " + reader.getRecordCount());
+                    List<PostingMatch> matches = index.search(resumeData, limit);
+                    if (matches.isEmpty()) {
+                        System.out.println("  no matching postings");
+                    }
+                    for (PostingMatch posting : matches) {
+                        MatchResult result = index.match(resumeData, posting.getDoc(), MISSING_LIMIT);
+                        System.out.printf(Locale.ROOT, "  %6.2f %4.0f%%  %s [%s]%n", result.getScore(),
+                            result.getCoverage() * 100, result.getTitle(), result.getPostingId());
+                        if (!result.getMissingKeywords().isEmpty()) {
+                            System.out.println("                missing: " + String.join(", ", result.getMissingKeywords()));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Job matching failed", e);
+            System.exit(1);
+        }
+    }
+
+    private static void swap(int[] ids, float[] weights, int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float weight = weights[a];
+        weights[a] = weights[b];
+        weights[b] = weight;
+    }
+
+    private static void appendIfPresent(StringBuilder text, String value) {
+        if (value != null && !value.isEmpty()) {
+            text.append(value).append('\n');
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Lower-cased keywords of the text, without stop words
+     * Letters, digits and the symbols of names like C++, C# and Node.js are
+     * kept together; a trailing full stop is not.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !isTokenChar(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && isTokenChar(text.charAt(i))) {
+                i++;
+            }
+            int end = i;
+            while (end > start && text.charAt(end - 1) == '.') {
+                end--;
+            }
+            while (start < end && (text.charAt(start) == '.' || text.charAt(start) == '+')) {
+                start++;
+            }
+            if (end > start) {
+                String token = text.substring(start, end).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(token) && !isNumber(token)) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#' || c == '.';
+    }
+
+    private static boolean isNumber(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Accumulates postings into growable primitive arrays
+     */
+    public static final class Builder {
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private int[][] postingDocs = new int[1024][];
+        private int[][] postingFreqs = new int[1024][];
+        private int[] postingSizes = new int[1024];
+
+        private int[] docOffsets = new int[1025];
+        private int[] docTerms = new int[16 * 1024];
+        private int[] docTermFreqs = new int[16 * 1024];
+        private int docTermCount;
+        private int[] docLengths = new int[1024];
+        private final List<String> docIds = new ArrayList<>();
+        private final List<String> docTitles = new ArrayList<>();
+
+        public int size() {
+            return docIds.size();
+        }
+
+        /**
+         * Adds a posting; its title counts towards its keywords as well
+         */
+        public Builder add(String id, String title, String description) {
+            int doc = docIds.size();
+            docIds.add(id);
+            docTitles.add(title);
+
+            List<String> tokens = tokenize(title + "\n" + description);
+            if (doc == docLengths.length) {
+                docLengths = Arrays.copyOf(docLengths, doc * 2);
+                docOffsets = Arrays.copyOf(docOffsets, doc * 2 + 1);
+            }
+
+            // A term's last posting belongs to this document once the term has been seen in it
+            int firstTerm = docTermCount;
+            for (String token : tokens) {
+                Integer term = termIds.get(token);
+                if (term == null) {
+                    term = termIds.size();
+                    termIds.put(token, term);
+                    ensureTermCapacity(term + 1);
+                }
+                int last = postingSizes[term] - 1;
+                if (last >= 0 && postingDocs[term][last] == doc) {
+                    postingFreqs[term][last]++;
+                } else {
+                    appendPosting(term, doc);
+                    if (docTermCount == docTerms.length) {
+                        docTerms = Arrays.copyOf(docTerms, docTermCount * 2);
+                        docTermFreqs = Arrays.copyOf(docTermFreqs, docTermCount * 2);
+                    }
+                    docTerms[docTermCount++] = term;
+                }
+            }
+            for (int i = firstTerm; i < docTermCount; i++) {
+                int term = docTerms[i];
+                docTermFreqs[i] = postingFreqs[term][postingSizes[term] - 1];
+            }
+
+            docLengths[doc] = tokens.size();
+            docOffsets[doc + 1] = docTermCount;
+            return this;
+        }
+
+        public JobMatchIndex build() {
+            return new JobMatchIndex(this);
+        }
+
+        private void appendPosting(int term, int doc) {
+            int[] docs = postingDocs[term];
+            int size = postingSizes[term];
+            if (docs == null) {
+                postingDocs[term] = docs = new int[4];
+                postingFreqs[term] = new int[4];
+            } else if (size == docs.length) {
+                postingDocs[term] = docs = Arrays.copyOf(docs, size * 2);
+                postingFreqs[term] = Arrays.copyOf(postingFreqs[term], size * 2);
+            }
+            docs[size] = doc;
+            postingFreqs[term][size] = 1;
+            postingSizes[term] = size + 1;
+        }
+
+        private void ensureTermCapacity(int terms) {
+            if (terms > postingSizes.length) {
+                int capacity = Math.max(terms, postingSizes.length * 2);
+                postingDocs = Arrays.copyOf(postingDocs, capacity);
+                postingFreqs = Arrays.copyOf(postingFreqs, capacity);
+                postingSizes = Arrays.copyOf(postingSizes, capacity);
+            }
+        }
+    }
+
+    /**
+     * A posting ranked for a resume
+     */
+    public static final class PostingMatch {
+        private final int doc;
+        private final String postingId;
+        private final String title;
+        private final float score;
+
+        PostingMatch(int doc, String postingId, String title, float score) {
+            this.doc = doc;
+            this.postingId = postingId;
+            this.title = title;
+            this.score = score;
+        }
+
+        /**
+         * Document number, for match()
+         */
+        public int getDoc() {
+            return doc;
+        }
+
+        public String getPostingId() {
+            return postingId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return title + " [" + postingId + "] " + String.format("%.2f", score);
+        }
+    }
+
+    /**
+     * How well a resume covers one posting
+     */
+    public static final class MatchResult {
+        private final String postingId;
+        private final String title;
+        private final float score;
+        private final float coverage;
+        private final List<String> missingKeywords;
+
+        MatchResult(String postingId, String title, float score, float coverage, List<String> missingKeywords) {
+            this.postingId = postingId;
+            this.title = title;
+            this.score = score;
+            this.coverage = coverage;
+            this.missingKeywords = Collections.unmodifiableList(missingKeywords);
+        }
+
+        public String getPostingId() {
+            return postingId;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * BM25 score of the resume against the posting
+         */
+        public float getScore() {
+            return score;
+        }
+
+        /**
+         * Share of the posting's keyword weight present in the resume, 0 to 1
+         */
+        public float getCoverage() {
+            return coverage;
+        }
+
+        /**
+         * Highest-weight posting keywords absent from the resume
+         */
+        public List<String> getMissingKeywords() {
+            return missingKeywords;
+        }
+    }
+}
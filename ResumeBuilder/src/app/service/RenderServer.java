@@ -0,0 +1,317 @@
+package app.service;
+
+import app.exporter.DisplayList;
+import app.exporter.HtmlExporter;
+import app.exporter.PdfBatchWriter;
+import app.exporter.PngBandEncoder;
+import app.exporter.ResumeExporter;
+import app.exporter.TemplateRegistry;
+import app.model.ResumeData;
+import app.utils.JsonReader;
+import app.utils.ResumeJsonlReader;
+import app.utils.VirtualThreads;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Local HTTP service that renders resumes on request
+ * POST a resume JSON object (one record in the JSONL import format) to
+ * /render?template=ID&amp;format=pdf|png|html[&amp;dpi=N] and the export streams
+ * back in the response. GET /health reports the load.
+ *
+ * Requests are served on virtual threads where the JDK has them, but only a
+ * fixed number of renders run at once; a bounded number more wait for a
+ * slot, and anything beyond that is turned away at once with 429 so a burst
+ * never piles up unbounded work. Every render response carries a
+ * Server-Timing header with the time spent queued, parsing and laying out.
+ */
+public final class RenderServer {
+
+    private static final Logger logger = Logger.getLogger(RenderServer.class.getName());
+
+    public static final int DEFAULT_PORT = 8085;
+
+    // Largest accepted request body
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+    private static final int MIN_DPI = 36;
+    private static final int MAX_DPI = 300;
+
+    // Longest a request waits for a render slot before it is turned away
+    private static final long QUEUE_TIMEOUT_MILLIS = 10_000;
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Semaphore renderSlots;
+    private final int maxAdmitted;
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * @param maxConcurrent Renders allowed to run at once
+     * @param queueCapacity Requests allowed to wait for a render slot
+     */
+    public RenderServer(InetSocketAddress address, int maxConcurrent, int queueCapacity) throws IOException {
+        if (maxConcurrent < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive and queueCapacity non-negative");
+        }
+        this.renderSlots = new Semaphore(maxConcurrent, true);
+        this.maxAdmitted = maxConcurrent + queueCapacity;
+        this.executor = VirtualThreads.newPerTaskExecutor("render-http");
+        this.server = HttpServer.create(address, 0);
+        server.createContext("/render", this::handleRender);
+        server.createContext("/health", this::handleHealth);
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        logger.info("Render service listening on port " + getPort());
+    }
+
+    /**
+     * Stops accepting requests and waits up to the delay for running ones to finish
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleRender(HttpExchange exchange) throws IOException {
+        long received = System.nanoTime();
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendText(exchange, 405, "Use POST with a resume JSON body");
+                return;
+            }
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String templateId = query.getOrDefault("template", TemplateRegistry.DEFAULT_TEMPLATE);
+            String format = query.getOrDefault("format", "pdf").toLowerCase(Locale.ROOT);
+            if (!format.equals("pdf") && !format.equals("png") && !format.equals("html")) {
+                sendText(exchange, 400, "Unknown format: " + format + " (use pdf, png or html)");
+                return;
+            }
+            if (TemplateRegistry.getInstance().get(templateId) == null) {
+                sendText(exchange, 400, "Unknown template: " + templateId);
+                return;
+            }
+            int dpi;
+            try {
+                dpi = Integer.parseInt(query.getOrDefault("dpi", "72"));
+            } catch (NumberFormatException e) {
+                dpi = -1;
+            }
+            if (dpi < MIN_DPI || dpi > MAX_DPI) {
+                sendText(exchange, 400, "dpi must be between " + MIN_DPI + " and " + MAX_DPI);
+                return;
+            }
+
+            // Turn away at once when every slot and queue place is taken
+            if (admitted.incrementAndGet() > maxAdmitted) {
+                admitted.decrementAndGet();
+                reject(exchange, "Render queue is full");
+                return;
+            }
+            try {
+                if (!renderSlots.tryAcquire(QUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    reject(exchange, "Timed out waiting for a render slot");
+                    return;
+                }
+                try {
+                    render(exchange, templateId, format, dpi, received);
+                } finally {
+                    renderSlots.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sendText(exchange, 503, "Render service is shutting down");
+            } finally {
+                admitted.decrementAndGet();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void render(HttpExchange exchange, String templateId, String format, int dpi, long received) throws IOException {
+        long started = System.nanoTime();
+
+        byte[] body = readBody(exchange.getRequestBody());
+        if (body == null) {
+            sendText(exchange, 413, "Request body is larger than " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+        ResumeData resumeData;
+        try (JsonReader json = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8))) {
+            resumeData = ResumeJsonlReader.readObject(json);
+        } catch (IOException | RuntimeException e) {
+            sendText(exchange, 400, "Invalid resume JSON: " + e.getMessage());
+            return;
+        }
+        long parsed = System.nanoTime();
+
+        // Lay out before the headers go out so the timings are known; the raster
+        // or PDF is then encoded straight into the chunked response body
+        byte[] html = null;
+        DisplayList page = null;
+        try {
+            if (format.equals("html")) {
+                html = HtmlExporter.generate(resumeData).getBytes(StandardCharsets.UTF_8);
+            } else {
+                page = ResumeExporter.recordPage(resumeData, templateId, null);
+            }
+        } catch (RuntimeException e) {
+            // Nothing has been sent yet, so the client still gets a status
+            logger.log(Level.WARNING, "Render layout failed", e);
+            sendText(exchange, 500, "Render failed: " + e.getMessage());
+            return;
+        }
+        long laidOut = System.nanoTime();
+
+        exchange.getResponseHeaders().set("Content-Type", contentType(format));
+        exchange.getResponseHeaders().set("Server-Timing", String.format(Locale.ROOT,
+            "queue;dur=%.2f, parse;dur=%.2f, layout;dur=%.2f",
+            millis(started - received), millis(parsed - started), millis(laidOut - parsed)));
+
+        try {
+            if (html != null) {
+                exchange.sendResponseHeaders(200, html.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(html);
+                }
+            } else if (format.equals("pdf")) {
+                exchange.sendResponseHeaders(200, 0);
+                try (PdfBatchWriter pdf = new PdfBatchWriter(Channels.newChannel(exchange.getResponseBody()))) {
+                    pdf.addPage(page);
+                }
+            } else {
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    ResumeExporter.writePng(page, dpi / 72.0, Channels.newChannel(out),
+                        PngBandEncoder.DEFAULT_COMPRESSION, PngBandEncoder.FilterStrategy.DOCUMENT);
+                }
+            }
+            rendered.incrementAndGet();
+        } catch (IOException e) {
+            // Headers are already sent, so the client just sees the response cut short
+            logger.log(Level.WARNING, "Render response aborted", e);
+            return;
+        }
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine(String.format("Rendered %s as %s in %.1f ms", templateId, format,
+                millis(System.nanoTime() - received)));
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            byte[] body = String.format("{\"status\":\"ok\",\"admitted\":%d,\"rendered\":%d,\"rejected\":%d}",
+                admitted.get(), rendered.get(), rejected.get()).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void reject(HttpExchange exchange, String message) throws IOException {
+        rejected.incrementAndGet();
+        exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER_SECONDS);
+        sendText(exchange, 429, message);
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    /**
+     * Reads the whole body, or returns null once it grows past the limit
+     */
+    private static byte[] readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+        return body.length > MAX_BODY_BYTES ? null : body;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static String contentType(String format) {
+        switch (format) {
+            case "png":
+                return "image/png";
+            case "html":
+                return "text/html; charset=utf-8";
+            default:
+                return "application/pdf";
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Command-line entry point: [port] [maxConcurrent] [queueCapacity]
+     * Listens on the loopback address only.
+     */
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxConcurrent = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = args.length > 2 ? Integer.parseInt(args[2]) : maxConcurrent * 4;
+        try {
+            RenderServer renderServer = new RenderServer(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), maxConcurrent, queueCapacity);
+            renderServer.start();
+            System.out.println("Render service on http://localhost:" + renderServer.getPort()
+                + "/render (" + maxConcurrent + " concurrent, " + queueCapacity + " queued)");
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Render service failed to start", e);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package app.service;
+
+import app.model.ResumeData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Ranks career roles by how well a student's skills cover each role's skills
+ * The role catalogue is compiled once into a skill-term vocabulary and one
+ * bitset per role; a student's skills are encoded into the same bit space, so
+ * scoring a role is a handful of AND/popcount operations over a few longs.
+ * Ranking every role for one student takes microseconds, and the encoded
+ * catalogue is immutable and safe to share between threads (e.g. a nightly
+ * cohort run).
+ *
+ * Role skills are phrases such as "Programming Languages (Java, Python)";
+ * the phrase, each parenthesised item and each "/" or "&" alternative become
+ * separate terms, so a student listing "Python" or "Programming Languages"
+ * matches. Scores are the cosine similarity of the two term sets, 0 to 1.
+ */
+public final class RoleRecommender {
+
+    // Compiled once: skills are encoded per keystroke and per student in a batch
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern ALTERNATIVES = Pattern.compile("[/&]");
+
+    private final Map<String, Integer> termIds;
+    private final String[] terms;
+    private final String[] roleIds;
+    private final String[] roleNames;
+    private final int words;
+    // Role bitsets laid out back to back, words longs per role
+    private final long[] roleBits;
+    private final int[] roleTermCounts;
+
+    private RoleRecommender(Map<String, Integer> termIds, String[] roleIds, String[] roleNames,
+                            List<Set<String>> roleTerms) {
+        this.termIds = termIds;
+        this.terms = new String[termIds.size()];
+        for (Map.Entry<String, Integer> entry : termIds.entrySet()) {
+            terms[entry.getValue()] = entry.getKey();
+        }
+        this.roleIds = roleIds;
+        this.roleNames = roleNames;
+        this.words = Math.max(1, (terms.length + 63) >>> 6);
+        this.roleBits = new long[roleIds.length * words];
+        this.roleTermCounts = new int[roleIds.length];
+
+        for (int role = 0; role < roleIds.length; role++) {
+            for (String term : roleTerms.get(role)) {
+                int id = termIds.get(term);
+                roleBits[role * words + (id >>> 6)] |= 1L << id;
+            }
+            roleTermCounts[role] = roleTerms.get(role).size();
+        }
+    }
+
+    /**
+     * Compiles the catalogue from role definitions as loaded from role_data.json
+     * (maps with "id", "name" and a "skills" list of strings)
+     */
+    @SuppressWarnings("unchecked")
+    public static RoleRecommender fromRoles(List<Map<String, Object>> roles) {
+        Map<String, Integer> termIds = new HashMap<>();
+        String[] roleIds = new String[roles.size()];
+        String[] roleNames = new String[roles.size()];
+        List<Set<String>> roleTerms = new ArrayList<>(roles.size());
+
+        for (int i = 0; i < roles.size(); i++) {
+            Map<String, Object> role = roles.get(i);
+            roleIds[i] = String.valueOf(role.get("id"));
+            roleNames[i] = String.valueOf(role.get("name"));
+
+            Set<String> skillTerms = new LinkedHashSet<>();
+            Object skills = role.get("skills");
+            if (skills instanceof List) {
+                for (Object skill : (List<Object>) skills) {
+                    if (skill != null) {
+                        addTerms(skill.toString(), skillTerms);
+                    }
+                }
+            }
+            for (String term : skillTerms) {
+                termIds.putIfAbsent(term, termIds.size());
+            }
+            roleTerms.add(skillTerms);
+        }
+        return new RoleRecommender(termIds, roleIds, roleNames, roleTerms);
+    }
+
+    public int getRoleCount() {
+        return roleIds.length;
+    }
+
+    /**
+     * Encodes skills into the catalogue's term space; skills no role asks for are dropped
+     */
+    @SafeVarargs
+    public final long[] encode(Collection<String>... skillLists) {
+        long[] bits = new long[words];
+        Set<String> skillTerms = new LinkedHashSet<>();
+        for (Collection<String> skills : skillLists) {
+            for (String skill : skills) {
+                if (skill != null) {
+                    addTerms(skill, skillTerms);
+                }
+            }
+        }
+        for (String term : skillTerms) {
+            Integer id = termIds.get(term);
+            if (id != null) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Scores every role against encoded skills, in catalogue order
+     *
+     * @param scores Receives one score per role; reuse it across students in batch runs
+     */
+    public void score(long[] skills, float[] scores) {
+        int skillCount = 0;
+        for (long word : skills) {
+            skillCount += Long.bitCount(word);
+        }
+        if (skillCount == 0) {
+            Arrays.fill(scores, 0, roleIds.length, 0f);
+            return;
+        }
+
+        for (int role = 0, base = 0; role < roleIds.length; role++, base += words) {
+            int overlap = 0;
+            for (int w = 0; w < words; w++) {
+                overlap += Long.bitCount(roleBits[base + w] & skills[w]);
+            }
+            scores[role] = overlap == 0 ? 0f
+                : (float) (overlap / Math.sqrt((double) roleTermCounts[role] * skillCount));
+        }
+    }
+
+    /**
+     * Roles ranked for the student's technical and soft skills
+     */
+    public List<RoleMatch> recommend(ResumeData resumeData, int limit) {
+        return recommend(encode(resumeData.getTechnicalSkills(), resumeData.getSoftSkills()), limit);
+    }
+
+    /**
+     * Best-scoring roles first, ties in catalogue order; roles with no overlap are omitted
+     */
+    public List<RoleMatch> recommend(long[] skills, int limit) {
+        float[] scores = new float[roleIds.length];
+        score(skills, scores);
+
+        Integer[] order = new Integer[roleIds.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+
+        List<RoleMatch> matches = new ArrayList<>(Math.min(limit, order.length));
+        for (int i = 0; i < order.length && matches.size() < limit; i++) {
+            int role = order[i];
+            if (scores[role] <= 0f) {
+                break;
+            }
+            matches.add(new RoleMatch(roleIds[role], roleNames[role], scores[role], matchedTerms(role, skills)));
+        }
+        return matches;
+    }
+
+    private List<String> matchedTerms(int role, long[] skills) {
+        List<String> matched = new ArrayList<>();
+        for (int w = 0; w < words; w++) {
+            long common = roleBits[role * words + w] & skills[w];
+            while (common != 0) {
+                matched.add(terms[(w << 6) + Long.numberOfTrailingZeros(common)]);
+                common &= common - 1;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Splits a skill phrase into normalized terms
+     * "Design Tools (Figma, Adobe XD)" gives "design tools", "figma" and "adobe xd";
+     * "SEO/SEM" gives "seo/sem", "seo" and "sem".
+     */
+    static void addTerms(String skill, Set<String> out) {
+        String outer = skill;
+        int open = skill.indexOf('(');
+        if (open >= 0) {
+            int close = skill.indexOf(')', open);
+            String inner = skill.substring(open + 1, close > open ? close : skill.length());
+            outer = skill.substring(0, open) + (close > open ? skill.substring(close + 1) : "");
+            for (String item : inner.split(",")) {
+                addAlternatives(item, out);
+            }
+        }
+        addAlternatives(outer, out);
+    }
+
+    private static void addAlternatives(String phrase, Set<String> out) {
+        String whole = normalize(phrase);
+        if (whole.isEmpty()) {
+            return;
+        }
+        out.add(whole);
+        if (whole.indexOf('/') >= 0 || whole.indexOf('&') >= 0) {
+            for (String part : ALTERNATIVES.split(whole)) {
+                String alternative = normalize(part);
+                if (!alternative.isEmpty()) {
+                    out.add(alternative);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One ranked role with its score and the skill terms it matched
+     */
+    public static final class RoleMatch {
+        private final String roleId;
+        private final String roleName;
+        private final float score;
+        private final List<String> matchedSkills;
+
+        RoleMatch(String roleId, String roleName, float score, List<String> matchedSkills) {
+            this.roleId = roleId;
+            this.roleName = roleName;
+            this.score = score;
+            this.matchedSkills = Collections.unmodifiableList(matchedSkills);
+        }
+
+        public String getRoleId() {
+            return roleId;
+        }
+
+        public String getRoleName() {
+            return roleName;
+        }
+
+        /**
+         * Cosine similarity between the student's and the role's skill terms, 0 to 1
+         */
+        public float getScore() {
+            return score;
+        }
+
+        public List<String> getMatchedSkills() {
+            return matchedSkills;
+        }
+
+        @Override
+        public String toString() {
+            return roleName + " (" + Math.round(score * 100) + "%)";
+        }
+    }
+}
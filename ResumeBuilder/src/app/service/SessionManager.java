@@ -0,0 +1,300 @@
+package app.service;
+
+import app.model.ResumeData;
+import app.model.ResumeSnapshot;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Per-user editing sessions held in memory
+ * Each session owns its own resume, selected role and export history, so one
+ * process can serve many students at once (a multi-seat kiosk, or a local web
+ * front end) without their state mixing.
+ *
+ * Sessions idle for longer than the idle timeout are evicted by a background
+ * sweep. The sweep also keeps the estimated size of all sessions within a
+ * memory budget by evicting the least recently used sessions first. Pinned
+ * sessions (the desktop user's own) are never evicted.
+ */
+public final class SessionManager {
+
+    private static final Logger logger = Logger.getLogger(SessionManager.class.getName());
+
+    public static final long DEFAULT_IDLE_TIMEOUT_MINUTES = 30;
+    public static final long DEFAULT_MEMORY_BUDGET_BYTES = 256L * 1024 * 1024;
+
+    // Export history entries kept per session
+    private static final int MAX_EXPORT_HISTORY = 50;
+    private static final long SWEEP_INTERVAL_SECONDS = 60;
+
+    // Rough per-object costs for the size estimate
+    private static final long SESSION_OVERHEAD_BYTES = 4096;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+    private static final long ENTRY_OVERHEAD_BYTES = 64;
+
+    private static volatile SessionManager instance;
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+    private final long memoryBudgetBytes;
+
+    public SessionManager(long idleTimeout, TimeUnit unit, long memoryBudgetBytes) {
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.memoryBudgetBytes = memoryBudgetBytes;
+    }
+
+    /**
+     * The process-wide manager, swept in the background once a minute
+     */
+    public static SessionManager getInstance() {
+        if (instance == null) {
+            synchronized (SessionManager.class) {
+                if (instance == null) {
+                    SessionManager manager = new SessionManager(DEFAULT_IDLE_TIMEOUT_MINUTES, TimeUnit.MINUTES,
+                        DEFAULT_MEMORY_BUDGET_BYTES);
+                    ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "session-sweeper");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    sweeper.scheduleWithFixedDelay(manager::sweep, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS,
+                        TimeUnit.SECONDS);
+                    instance = manager;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Starts a session for the user with an empty resume
+     */
+    public Session open(String user) {
+        // Make room first, so the new session is never the one evicted
+        sweep();
+        Session session = new Session(UUID.randomUUID().toString(), user);
+        sessions.put(session.id, session);
+        logger.info("Session opened for " + user + " (" + sessions.size() + " active)");
+        return session;
+    }
+
+    /**
+     * Looks up a live session and marks it as used
+     *
+     * @return the session, or null if it never existed or has been evicted
+     */
+    public Session get(String sessionId) {
+        Session session = sessionId != null ? sessions.get(sessionId) : null;
+        if (session != null) {
+            session.touch();
+        }
+        return session;
+    }
+
+    public void close(String sessionId) {
+        Session session = sessions.remove(sessionId);
+        if (session != null) {
+            logger.info("Session closed for " + session.user);
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public Collection<Session> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+     * Evicts idle sessions, then the least recently used ones until within the memory budget
+     * Pinned sessions count towards the budget but are never evicted.
+     */
+    public void sweep() {
+        long now = System.nanoTime();
+        long total = 0;
+        List<Session> live = new ArrayList<>(sessions.size());
+        for (Session session : sessions.values()) {
+            if (session.pinned) {
+                total += session.estimateBytes();
+            } else if (now - session.lastAccess > idleTimeoutNanos) {
+                evict(session, "idle");
+            } else {
+                live.add(session);
+            }
+        }
+
+        long[] sizes = new long[live.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = live.get(i).estimateBytes();
+            total += sizes[i];
+        }
+        if (total <= memoryBudgetBytes) {
+            return;
+        }
+
+        Integer[] order = new Integer[live.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> live.get(i).lastAccess));
+        for (int i = 0; i < order.length && total > memoryBudgetBytes; i++) {
+            evict(live.get(order[i]), "over memory budget");
+            total -= sizes[order[i]];
+        }
+    }
+
+    private void evict(Session session, String reason) {
+        if (sessions.remove(session.id, session)) {
+            logger.info("Session evicted for " + session.user + " (" + reason + ")");
+        }
+    }
+
+    /**
+     * One user's state; safe to read and update from any thread
+     */
+    public static final class Session {
+        private final String id;
+        private final String user;
+        private final ResumeData resumeData = new ResumeData();
+        private final Deque<ExportRecord> exportHistory = new ConcurrentLinkedDeque<>();
+        private volatile Map<String, Object> selectedRole;
+        private volatile long lastAccess = System.nanoTime();
+        private volatile boolean pinned;
+
+        Session(String id, String user) {
+            this.id = id;
+            this.user = user;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getUser() {
+            return user;
+        }
+
+        public ResumeData getResumeData() {
+            return resumeData;
+        }
+
+        /**
+         * The chosen role's definition from role_data.json, or null before a role is chosen
+         */
+        public Map<String, Object> getSelectedRole() {
+            return selectedRole;
+        }
+
+        public void setSelectedRole(Map<String, Object> selectedRole) {
+            this.selectedRole = selectedRole;
+        }
+
+        /**
+         * Keeps the session from being evicted however long it sits idle
+         * Used for the desktop app's signed-in user, whose session must last
+         * as long as the window is open.
+         */
+        public void setPinned(boolean pinned) {
+            this.pinned = pinned;
+        }
+
+        public boolean isPinned() {
+            return pinned;
+        }
+
+        public void recordExport(String outputPath, String templateId) {
+            exportHistory.addFirst(new ExportRecord(outputPath, templateId, Instant.now()));
+            while (exportHistory.size() > MAX_EXPORT_HISTORY) {
+                exportHistory.pollLast();
+            }
+        }
+
+        /**
+         * Exports made in this session, most recent first
+         */
+        public List<ExportRecord> getExportHistory() {
+            return new ArrayList<>(exportHistory);
+        }
+
+        void touch() {
+            lastAccess = System.nanoTime();
+        }
+
+        long estimateBytes() {
+            // The snapshot is immutable, so this is safe while the student keeps editing
+            ResumeSnapshot data = resumeData.snapshot();
+            long bytes = SESSION_OVERHEAD_BYTES + exportHistory.size() * ENTRY_OVERHEAD_BYTES * 4;
+            bytes += sizeOf(data.getFullName()) + sizeOf(data.getEmail()) + sizeOf(data.getPhone())
+                + sizeOf(data.getAddress()) + sizeOf(data.getLinkedinUrl()) + sizeOf(data.getGithubUrl())
+                + sizeOf(data.getPortfolioUrl()) + sizeOf(data.getObjective()) + sizeOf(data.getSummary());
+            for (ResumeData.Education education : data.getEducationList()) {
+                bytes += ENTRY_OVERHEAD_BYTES + sizeOf(education.getDegree()) + sizeOf(education.getInstitution())
+                    + sizeOf(education.getYear()) + sizeOf(education.getGrade()) + sizeOf(education.getLocation());
+            }
+            for (ResumeData.Experience experience : data.getExperiences()) {
+                bytes += ENTRY_OVERHEAD_BYTES + sizeOf(experience.getCompany()) + sizeOf(experience.getPosition())
+                    + sizeOf(experience.getDuration()) + sizeOf(experience.getLocation())
+                    + sizeOf(experience.getDescription());
+            }
+            for (ResumeData.Project project : data.getProjects()) {
+                bytes += ENTRY_OVERHEAD_BYTES + sizeOf(project.getTitle()) + sizeOf(project.getDescription())
+                    + sizeOf(project.getTechnologies()) + sizeOf(project.getDuration())
+                    + sizeOf(project.getGithubUrl()) + sizeOf(project.getLiveUrl());
+            }
+            for (List<String> strings : List.of(data.getTechnicalSkills(), data.getSoftSkills(),
+                    data.getAchievements(), data.getCertifications(), data.getLanguages())) {
+                for (String value : strings) {
+                    bytes += sizeOf(value);
+                }
+            }
+            return bytes;
+        }
+
+        private static long sizeOf(String value) {
+            return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length() * 2L;
+        }
+    }
+
+    /**
+     * One export made in a session
+     */
+    public static final class ExportRecord {
+        private final String outputPath;
+        private final String templateId;
+        private final Instant time;
+
+        ExportRecord(String outputPath, String templateId, Instant time) {
+            this.outputPath = outputPath;
+            this.templateId = templateId;
+            this.time = time;
+        }
+
+        public String getOutputPath() {
+            return outputPath;
+        }
+
+        public String getTemplateId() {
+            return templateId;
+        }
+
+        public Instant getTime() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,589 @@
+package app.service;
+
+import app.model.ResumeData;
+import app.utils.IntIntMap;
+import app.utils.JsonReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Offline career objective and summary suggestions
+ * Each role's objective template in role_data.json is split into reusable
+ * clauses (opening adjective, persona, qualification, goal) and merged with a
+ * small built-in phrase bank. A bigram table compiled from the templates,
+ * tips and phrase bank scores how natural each generated sentence reads.
+ *
+ * Suggestions combine those clauses with the student's most role-relevant
+ * skills and a project, then are ranked by relevance plus fluency and picked
+ * greedily so that no two read alike. Everything is compiled once per
+ * process and shared; producing a set of suggestions takes well under a
+ * millisecond and needs no network.
+ */
+public final class SuggestionEngine {
+
+    private static final Logger logger = Logger.getLogger(SuggestionEngine.class.getName());
+
+    private static final String ROLE_DATA = "/data/role_data.json";
+
+    // Where a template's goal clause begins
+    private static final String[] GOAL_MARKERS = {", seeking ", " seeking ", " passionate about ", " dedicated to ", " eager to "};
+
+    // Phrase bank shared by every role
+    private static final List<String> OPENERS = Arrays.asList("Motivated", "Aspiring", "Detail-oriented", "Passionate");
+    private static final List<String> SKILL_CLAUSES = Arrays.asList(
+        "skilled in %s", "with hands-on experience in %s", "with a strong foundation in %s");
+    private static final List<String> PROJECT_CLAUSES = Arrays.asList(
+        "who has built projects such as %s", "with practical project experience including %s");
+    private static final List<String> GOALS = Arrays.asList(
+        "seeking an entry-level opportunity to apply my skills and grow with a collaborative team",
+        "eager to learn quickly, take ownership and deliver measurable results");
+    private static final List<String> SUMMARY_PROJECTS = Arrays.asList(
+        "Built %s from idea to working result", "Hands-on project work includes %s");
+    private static final String SUMMARY_EXPERIENCE = "Gained practical experience as %s";
+
+    // Ranking weights
+    private static final double ROLE_CLAUSE_BONUS = 0.6;
+    private static final double SKILL_WEIGHT = 0.5;
+    private static final double PROJECT_BONUS = 0.4;
+    private static final double FLUENCY_WEIGHT = 0.25;
+    private static final double SIMILARITY_PENALTY = 1.5;
+    private static final int MAX_SKILLS = 3;
+
+    private static volatile SuggestionEngine instance;
+
+    private final Map<String, RoleClauses> roles;
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final IntIntMap bigramCounts = new IntIntMap();
+    private int[] unigramCounts = new int[256];
+
+    private SuggestionEngine(List<Map<String, Object>> roleDefinitions) {
+        this.roles = new LinkedHashMap<>();
+        for (Map<String, Object> role : roleDefinitions) {
+            RoleClauses clauses = RoleClauses.parse(role);
+            roles.put(clauses.id, clauses);
+            roles.putIfAbsent(clauses.name.toLowerCase(Locale.ROOT), clauses);
+
+            train(clauses.template);
+            for (String tip : clauses.tips) {
+                train(tip);
+            }
+        }
+        for (String phrase : GOALS) {
+            train(phrase);
+        }
+        for (String clause : SKILL_CLAUSES) {
+            train(clause);
+        }
+        for (String clause : PROJECT_CLAUSES) {
+            train(clause);
+        }
+        for (String clause : SUMMARY_PROJECTS) {
+            train(clause);
+        }
+        train(SUMMARY_EXPERIENCE);
+    }
+
+    /**
+     * The shared engine, compiled from the bundled role data on first use
+     */
+    public static SuggestionEngine getInstance() {
+        if (instance == null) {
+            synchronized (SuggestionEngine.class) {
+                if (instance == null) {
+                    long start = System.nanoTime();
+                    instance = new SuggestionEngine(loadRoles());
+                    logger.info("Suggestion engine compiled in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Builds an engine from role definitions (maps as in role_data.json)
+     */
+    public static SuggestionEngine fromRoles(List<Map<String, Object>> roleDefinitions) {
+        return new SuggestionEngine(roleDefinitions);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> loadRoles() {
+        try (InputStream in = SuggestionEngine.class.getResourceAsStream(ROLE_DATA)) {
+            if (in == null) {
+                logger.warning("Role data not found; suggestions use the generic phrase bank only");
+                return Collections.emptyList();
+            }
+            JsonReader json = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            Object roles = ((Map<String, Object>) json.nextValue()).get("roles");
+            return roles instanceof List ? (List<Map<String, Object>>) roles : Collections.emptyList();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to load role data for suggestions", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Ranked, mutually distinct objective suggestions
+     *
+     * @param role Role id or display name; unknown roles get generic suggestions
+     * @param count Maximum number of suggestions
+     */
+    public List<String> suggestObjectives(ResumeData resumeData, String role, int count) {
+        return suggest(resumeData, role, count, false);
+    }
+
+    /**
+     * Ranked, mutually distinct two-sentence career summaries
+     * The first sentence presents the student and their skills, the second
+     * their strongest evidence (work experience or projects).
+     */
+    public List<String> suggestSummaries(ResumeData resumeData, String role, int count) {
+        return suggest(resumeData, role, count, true);
+    }
+
+    private List<String> suggest(ResumeData resumeData, String role, int count, boolean summary) {
+        RoleClauses clauses = role != null ? roles.get(role) : null;
+        if (clauses == null && role != null) {
+            clauses = roles.get(role.toLowerCase(Locale.ROOT));
+        }
+
+        List<String> skills = relevantSkills(resumeData, clauses);
+        List<String> projects = projectTitles(resumeData);
+        List<Clause> evidence = summary ? summaryEvidence(resumeData, projects) : objectiveEvidence(projects);
+        return pickDistinct(generate(clauses, skills, evidence, summary), count);
+    }
+
+    private List<Candidate> generate(RoleClauses role, List<String> skills, List<Clause> evidence, boolean summary) {
+        // Words outside the vocabulary (skill and project names) get per-call negative ids
+        Map<String, Integer> unknownWords = new HashMap<>();
+
+        Set<String> openerTexts = new LinkedHashSet<>();
+        if (role != null && role.opener != null) {
+            openerTexts.add(role.opener);
+        }
+        openerTexts.addAll(OPENERS);
+        List<Clause> openers = new ArrayList<>();
+        for (String opener : openerTexts) {
+            boolean own = role != null && opener.equals(role.opener);
+            openers.add(new Clause(opener, own ? ROLE_CLAUSE_BONUS / 2 : 0));
+        }
+        Clause persona = new Clause(role != null && role.persona != null ? role.persona
+            : role != null ? role.name : "Professional", 0);
+
+        // Qualification clauses: the role's own, then the student's skills
+        List<Clause> qualifications = new ArrayList<>();
+        if (role != null && role.quality != null) {
+            qualifications.add(new Clause(role.quality, ROLE_CLAUSE_BONUS));
+        }
+        if (!skills.isEmpty()) {
+            String skillList = joinNatural(skills);
+            for (String pattern : SKILL_CLAUSES) {
+                qualifications.add(new Clause(String.format(pattern, skillList), SKILL_WEIGHT * skills.size()));
+            }
+        }
+        if (qualifications.isEmpty()) {
+            qualifications.add(new Clause("with strong foundational skills", 0));
+        }
+
+        // Summaries close on their evidence sentence instead of a goal
+        List<Clause> goals = new ArrayList<>();
+        if (summary) {
+            goals.add(null);
+        } else {
+            if (role != null && role.goal != null) {
+                goals.add(new Clause(role.goal, ROLE_CLAUSE_BONUS));
+            }
+            for (String goal : GOALS) {
+                goals.add(new Clause(goal, 0));
+            }
+        }
+
+        for (List<Clause> clauses : Arrays.asList(openers, qualifications, evidence, goals)) {
+            for (Clause clause : clauses) {
+                if (clause != null) {
+                    clause.tokens = tokens(clause.text, unknownWords);
+                }
+            }
+        }
+        persona.tokens = tokens(persona.text, unknownWords);
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (Clause opener : openers) {
+            for (Clause qualification : qualifications) {
+                for (Clause proof : evidence) {
+                    for (Clause goal : goals) {
+                        Clause[] parts = {opener, persona, qualification, proof, goal};
+                        double relevance = 0;
+                        for (Clause part : parts) {
+                            relevance += part != null ? part.weight : 0;
+                        }
+                        candidates.add(new Candidate(parts, summary, relevance + FLUENCY_WEIGHT * fluency(parts)));
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static List<Clause> objectiveEvidence(List<String> projects) {
+        List<Clause> evidence = new ArrayList<>();
+        evidence.add(null);
+        if (!projects.isEmpty()) {
+            String projectList = joinNatural(projects.subList(0, Math.min(2, projects.size())));
+            for (String pattern : PROJECT_CLAUSES) {
+                evidence.add(new Clause(String.format(pattern, projectList), PROJECT_BONUS));
+            }
+        }
+        return evidence;
+    }
+
+    private static List<Clause> summaryEvidence(ResumeData resumeData, List<String> projects) {
+        List<Clause> evidence = new ArrayList<>();
+        for (ResumeData.Experience experience : resumeData.getExperiences()) {
+            String position = experience.getPosition();
+            if (position != null && !position.trim().isEmpty()) {
+                String role = position.trim();
+                if (experience.getCompany() != null && !experience.getCompany().trim().isEmpty()) {
+                    role += " at " + experience.getCompany().trim();
+                }
+                evidence.add(new Clause(String.format(SUMMARY_EXPERIENCE, role), PROJECT_BONUS * 2));
+                break;
+            }
+        }
+        if (!projects.isEmpty()) {
+            String projectList = joinNatural(projects.subList(0, Math.min(2, projects.size())));
+            for (String pattern : SUMMARY_PROJECTS) {
+                evidence.add(new Clause(String.format(pattern, projectList), PROJECT_BONUS));
+            }
+        }
+        if (evidence.isEmpty()) {
+            evidence.add(null);
+        }
+        return evidence;
+    }
+
+    /**
+     * Greedy selection by score, penalizing overlap with suggestions already chosen
+     */
+    private static List<String> pickDistinct(List<Candidate> candidates, int count) {
+        List<Candidate> picked = new ArrayList<>(count);
+        boolean[] used = new boolean[candidates.size()];
+
+        while (picked.size() < count && picked.size() < candidates.size()) {
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < candidates.size(); i++) {
+                if (used[i]) {
+                    continue;
+                }
+                Candidate candidate = candidates.get(i);
+                double similarity = 0;
+                for (Candidate other : picked) {
+                    similarity = Math.max(similarity, jaccard(candidate.words, other.words));
+                }
+                double score = candidate.score - SIMILARITY_PENALTY * similarity;
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+            used[best] = true;
+            picked.add(candidates.get(best));
+        }
+
+        List<String> texts = new ArrayList<>(picked.size());
+        for (Candidate candidate : picked) {
+            texts.add(candidate.text());
+        }
+        return texts;
+    }
+
+    /**
+     * Skills that match the role's skill terms first, then the rest, in entry order
+     */
+    private static List<String> relevantSkills(ResumeData resumeData, RoleClauses role) {
+        List<String> matching = new ArrayList<>();
+        List<String> others = new ArrayList<>();
+        List<String> all = new ArrayList<>(resumeData.getTechnicalSkills());
+        all.addAll(resumeData.getSoftSkills());
+
+        for (String skill : all) {
+            if (skill == null || skill.trim().isEmpty()) {
+                continue;
+            }
+            Set<String> terms = new HashSet<>();
+            RoleRecommender.addTerms(skill, terms);
+            boolean relevant = false;
+            if (role != null) {
+                for (String term : terms) {
+                    relevant |= role.skillTerms.contains(term);
+                }
+            }
+            (relevant ? matching : others).add(skill.trim());
+        }
+
+        matching.addAll(others);
+        return matching.subList(0, Math.min(MAX_SKILLS, matching.size()));
+    }
+
+    private static List<String> projectTitles(ResumeData resumeData) {
+        List<String> titles = new ArrayList<>();
+        for (ResumeData.Project project : resumeData.getProjects()) {
+            if (project.getTitle() != null && !project.getTitle().trim().isEmpty()) {
+                titles.add(project.getTitle().trim());
+            }
+        }
+        return titles;
+    }
+
+    private static String joinNatural(List<String> items) {
+        if (items.size() == 1) {
+            return items.get(0);
+        }
+        return String.join(", ", items.subList(0, items.size() - 1)) + " and " + items.get(items.size() - 1);
+    }
+
+    // Bigram model
+
+    private void train(String text) {
+        int previous = -1;
+        for (String word : words(text)) {
+            int id = wordId(word);
+            unigramCounts[id]++;
+            if (previous >= 0) {
+                int key = bigramKey(previous, id);
+                bigramCounts.put(key, bigramCounts.get(key, 0) + 1);
+            }
+            previous = id;
+        }
+    }
+
+    /**
+     * Mean smoothed log-probability of the word pairs across the clauses
+     */
+    private double fluency(Clause[] parts) {
+        int vocabulary = wordIds.size() + 1;
+        double total = 0;
+        int pairs = 0;
+        int previous = Integer.MIN_VALUE;
+        for (Clause part : parts) {
+            if (part == null) {
+                continue;
+            }
+            for (int id : part.tokens) {
+                if (previous != Integer.MIN_VALUE) {
+                    boolean known = previous >= 0 && id >= 0;
+                    int count = known ? bigramCounts.get(bigramKey(previous, id), 0) : 0;
+                    int context = previous >= 0 ? unigramCounts[previous] : 0;
+                    total += Math.log((count + 1.0) / (context + vocabulary));
+                    pairs++;
+                }
+                previous = id;
+            }
+        }
+        return pairs == 0 ? 0 : total / pairs;
+    }
+
+    private int[] tokens(String text, Map<String, Integer> unknownWords) {
+        List<String> words = words(text);
+        int[] ids = new int[words.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Integer id = wordIds.get(words.get(i));
+            if (id == null) {
+                id = unknownWords.computeIfAbsent(words.get(i), word -> -1 - unknownWords.size());
+            }
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    private int wordId(String word) {
+        Integer id = wordIds.get(word);
+        if (id == null) {
+            id = wordIds.size();
+            wordIds.put(word, id);
+            if (id == unigramCounts.length) {
+                unigramCounts = Arrays.copyOf(unigramCounts, id * 2);
+            }
+        }
+        return id;
+    }
+
+    private static int bigramKey(int first, int second) {
+        // Vocabularies stay far below 2^15 words
+        return first << 15 | second;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^a-z0-9+#/-]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Jaccard similarity of two sorted, distinct id arrays
+     */
+    private static double jaccard(int[] a, int[] b) {
+        int common = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - common;
+        return union == 0 ? 0 : (double) common / union;
+    }
+
+    private static final class Clause {
+        final String text;
+        final double weight;
+        int[] tokens;
+
+        Clause(String text, double weight) {
+            this.text = text;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * One combination of clauses; the text is only assembled if it is picked
+     */
+    private static final class Candidate {
+        final Clause[] parts;
+        final boolean summary;
+        final double score;
+        final int[] words;
+
+        Candidate(Clause[] parts, boolean summary, double score) {
+            this.parts = parts;
+            this.summary = summary;
+            this.score = score;
+
+            int length = 0;
+            for (Clause part : parts) {
+                length += part != null ? part.tokens.length : 0;
+            }
+            int[] all = new int[length];
+            int offset = 0;
+            for (Clause part : parts) {
+                if (part != null) {
+                    System.arraycopy(part.tokens, 0, all, offset, part.tokens.length);
+                    offset += part.tokens.length;
+                }
+            }
+            Arrays.sort(all);
+            int distinct = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (distinct == 0 || all[i] != all[distinct - 1]) {
+                    all[distinct++] = all[i];
+                }
+            }
+            this.words = Arrays.copyOf(all, distinct);
+        }
+
+        // opener, persona, qualification, evidence, goal
+        String text() {
+            StringBuilder text = new StringBuilder();
+            text.append(parts[0].text).append(' ').append(parts[1].text).append(' ').append(parts[2].text);
+            if (parts[3] != null) {
+                text.append(summary ? ". " : ", ").append(parts[3].text);
+            }
+            if (parts[4] != null) {
+                text.append(", ").append(parts[4].text);
+            }
+            return text.append('.').toString();
+        }
+    }
+
+    /**
+     * A role's objective template split into clauses
+     * "Aspiring Software Developer with strong programming fundamentals seeking
+     * to contribute ..." gives opener "Aspiring", persona "Software Developer",
+     * quality "with strong programming fundamentals" and goal "seeking to contribute ...".
+     */
+    private static final class RoleClauses {
+        String id;
+        String name;
+        String template;
+        String opener;
+        String persona;
+        String quality;
+        String goal;
+        List<String> tips = new ArrayList<>();
+        Set<String> skillTerms = new HashSet<>();
+
+        @SuppressWarnings("unchecked")
+        static RoleClauses parse(Map<String, Object> role) {
+            RoleClauses clauses = new RoleClauses();
+            clauses.id = String.valueOf(role.get("id"));
+            clauses.name = String.valueOf(role.get("name"));
+            Object template = role.get("objective_template");
+            clauses.template = template != null ? template.toString().trim() : "";
+            if (role.get("tips") instanceof List) {
+                for (Object tip : (List<Object>) role.get("tips")) {
+                    clauses.tips.add(String.valueOf(tip));
+                }
+            }
+            if (role.get("skills") instanceof List) {
+                for (Object skill : (List<Object>) role.get("skills")) {
+                    RoleRecommender.addTerms(String.valueOf(skill), clauses.skillTerms);
+                }
+            }
+
+            String text = clauses.template.endsWith(".")
+                ? clauses.template.substring(0, clauses.template.length() - 1) : clauses.template;
+            int goalStart = -1;
+            String marker = null;
+            for (String candidate : GOAL_MARKERS) {
+                int index = text.indexOf(candidate);
+                if (index > 0 && (goalStart < 0 || index < goalStart)) {
+                    goalStart = index;
+                    marker = candidate;
+                }
+            }
+            if (goalStart < 0) {
+                return clauses;
+            }
+            clauses.goal = text.substring(goalStart + (marker.startsWith(",") ? 2 : 1));
+
+            String head = text.substring(0, goalStart);
+            int with = head.indexOf(" with ");
+            if (with > 0) {
+                clauses.quality = head.substring(with + 1);
+                head = head.substring(0, with);
+            }
+            int space = head.indexOf(' ');
+            if (space > 0) {
+                clauses.opener = head.substring(0, space);
+                clauses.persona = head.substring(space + 1);
+            }
+            return clauses;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package app.service;
+
+import app.model.ResumeData;
+import app.utils.ResumeJsonlReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Rule-based validation of resume fields
+ * Rules are declared once per field with precompiled patterns, so checking a
+ * value is a couple of matcher calls and nothing is recompiled per keystroke.
+ * The same rules back the wizard's inline field checks and headless checks
+ * of whole records; the engine holds no mutable state and is safe to use from
+ * many threads at once.
+ */
+public final class ValidationEngine {
+
+    public static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+    public static final Pattern PHONE = Pattern.compile("^\\+?[0-9(][0-9 ()-]{5,19}$");
+    public static final Pattern URL = Pattern.compile("^(https?://)?[A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)+(/\\S*)?$");
+
+    // Records validated per parallel chunk when streaming a file
+    private static final int CHUNK_SIZE = 4096;
+
+    private static volatile ValidationEngine instance;
+
+    /**
+     * Fields with validation rules, and how to read each from a record
+     */
+    public enum Field {
+        FULL_NAME(ResumeData::getFullName),
+        EMAIL(ResumeData::getEmail),
+        PHONE(ResumeData::getPhone),
+        LINKEDIN(ResumeData::getLinkedinUrl),
+        GITHUB(ResumeData::getGithubUrl),
+        PORTFOLIO(ResumeData::getPortfolioUrl),
+        OBJECTIVE(ResumeData::getObjective),
+        EDUCATION(null),
+        TECHNICAL_SKILLS(null);
+
+        private final Function<ResumeData, String> getter;
+
+        Field(Function<ResumeData, String> getter) {
+            this.getter = getter;
+        }
+    }
+
+    private final Map<Field, List<Rule>> rules = new EnumMap<>(Field.class);
+
+    private ValidationEngine() {
+        required(Field.FULL_NAME, "Please enter your full name");
+        required(Field.EMAIL, "Please enter your email address");
+        pattern(Field.EMAIL, EMAIL, "Please enter a valid email address");
+        pattern(Field.PHONE, PHONE, "Please enter a valid phone number");
+        pattern(Field.LINKEDIN, URL, "Please enter a valid LinkedIn profile URL");
+        pattern(Field.GITHUB, URL, "Please enter a valid GitHub profile URL");
+        pattern(Field.PORTFOLIO, URL, "Please enter a valid portfolio URL");
+        required(Field.OBJECTIVE, "Please provide an objective or career summary");
+    }
+
+    public static ValidationEngine getInstance() {
+        if (instance == null) {
+            synchronized (ValidationEngine.class) {
+                if (instance == null) {
+                    instance = new ValidationEngine();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean isValidEmail(String email) {
+        return email != null && EMAIL.matcher(email.trim()).matches();
+    }
+
+    private void required(Field field, String message) {
+        addRule(field, value -> !value.isEmpty(), message);
+    }
+
+    // Pattern rules only apply once something has been entered
+    private void pattern(Field field, Pattern pattern, String message) {
+        addRule(field, value -> value.isEmpty() || pattern.matcher(value).matches(), message);
+    }
+
+    private void addRule(Field field, Predicate<String> test, String message) {
+        rules.computeIfAbsent(field, key -> new ArrayList<>()).add(new Rule(test, message));
+    }
+
+    /**
+     * Checks one field value
+     *
+     * @return the first failing rule's message, or null if the value is valid
+     */
+    public String validateField(Field field, String value) {
+        String trimmed = value == null ? "" : value.trim();
+        for (Rule rule : rules.getOrDefault(field, Collections.emptyList())) {
+            if (!rule.test.test(trimmed)) {
+                return rule.message;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Every problem with a record, in field order
+     */
+    public List<Violation> validate(ResumeData resumeData) {
+        return validate(resumeData, -1);
+    }
+
+    private List<Violation> validate(ResumeData resumeData, long record) {
+        List<Violation> violations = new ArrayList<>(0);
+        for (Field field : Field.values()) {
+            if (field.getter != null) {
+                String message = validateField(field, field.getter.apply(resumeData));
+                if (message != null) {
+                    violations.add(new Violation(record, field, message));
+                }
+            }
+        }
+        // An entry added but never filled in does not count
+        if (resumeData.getEducationList().stream().allMatch(ResumeData.Education::isBlank)) {
+            violations.add(new Violation(record, Field.EDUCATION, "Please add at least one education entry"));
+        }
+        if (resumeData.getTechnicalSkills().isEmpty()) {
+            violations.add(new Violation(record, Field.TECHNICAL_SKILLS, "Please add at least a few technical skills"));
+        }
+        return violations;
+    }
+
+    /**
+     * Validates records in parallel
+     *
+     * @return every problem, ordered by record index and then field
+     */
+    public List<Violation> validateAll(List<ResumeData> records) {
+        return validateChunk(records, 0);
+    }
+
+    /**
+     * Streams a JSONL file of records and validates them chunk by chunk in parallel
+     * Only one chunk of parsed records is held at a time, so a 50k-record import
+     * can be checked before a batch render without loading it all.
+     */
+    public List<Violation> validateFile(Path input) throws IOException {
+        List<Violation> violations = new ArrayList<>();
+        List<ResumeData> chunk = new ArrayList<>(CHUNK_SIZE);
+        long first = 0;
+        try (ResumeJsonlReader reader = ResumeJsonlReader.open(input)) {
+            ResumeData resumeData;
+            while ((resumeData = reader.next()) != null) {
+                chunk.add(resumeData);
+                if (chunk.size() == CHUNK_SIZE) {
+                    violations.addAll(validateChunk(chunk, first));
+                    first += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        violations.addAll(validateChunk(chunk, first));
+        return violations;
+    }
+
+    private List<Violation> validateChunk(List<ResumeData> records, long first) {
+        return IntStream.range(0, records.size())
+            .parallel()
+            .mapToObj(i -> validate(records.get(i), first + i))
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+    }
+
+    private static final class Rule {
+        final Predicate<String> test;
+        final String message;
+
+        Rule(Predicate<String> test, String message) {
+            this.test = test;
+            this.message = message;
+        }
+    }
+
+    /**
+     * One failed rule
+     */
+    public static final class Violation {
+        private final long record;
+        private final Field field;
+        private final String message;
+
+        Violation(long record, Field field, String message) {
+            this.record = record;
+            this.field = field;
+            this.message = message;
+        }
+
+        /**
+         * Zero-based record index in a batch, or -1 for a single record
+         */
+        public long getRecord() {
+            return record;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return (record >= 0 ? "Record " + (record + 1) + ": " : "") + message;
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package app.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal streaming JSON pull parser
+ * Reads tokens straight from a Reader through one reusable character buffer,
+ * so arbitrarily long inputs (e.g. JSONL exports) never have to be loaded
+ * into a single String. Several top-level values may follow each other,
+ * separated by whitespace or newlines.
+ */
+public class JsonReader implements Closeable {
+
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // Scope markers kept on the nesting stack
+    private static final int TOP_LEVEL = 0;
+    private static final int EMPTY_OBJECT = 1;
+    private static final int NONEMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int EMPTY_ARRAY = 4;
+    private static final int NONEMPTY_ARRAY = 5;
+
+    private final Reader in;
+    private final char[] buffer;
+    private int pos;
+    private int limit;
+    private long line = 1;
+
+    // Reused for every string/literal token to avoid per-token allocation
+    private final StringBuilder scratch = new StringBuilder(64);
+
+    private int[] stack = new int[16];
+    private int depth = 1;
+    private Token peeked;
+
+    public JsonReader(Reader in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public JsonReader(Reader in, int bufferSize) {
+        this.in = in;
+        this.buffer = new char[bufferSize];
+        this.stack[0] = TOP_LEVEL;
+    }
+
+    /**
+     * Returns the type of the next token without consuming it
+     */
+    public Token peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+
+        int scope = stack[depth - 1];
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                return peeked = readValueToken(c);
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntaxError("Expected ',' or ']' in array");
+                }
+                return peeked = readValueToken(nextNonWhitespace());
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Expected ',' or '}' in object");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected property name");
+                }
+                stack[depth - 1] = DANGLING_NAME;
+                return peeked = Token.NAME;
+            case DANGLING_NAME:
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("Expected ':' after property name");
+                }
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                return peeked = readValueToken(nextNonWhitespace());
+            default:
+                c = nextNonWhitespace();
+                if (c == -1) {
+                    return peeked = Token.END_DOCUMENT;
+                }
+                return peeked = readValueToken(c);
+        }
+    }
+
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        depth--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        depth--;
+    }
+
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        return readString();
+    }
+
+    public String nextString() throws IOException {
+        Token token = peek();
+        if (token == Token.STRING) {
+            peeked = null;
+            return readString();
+        }
+        if (token == Token.NUMBER || token == Token.BOOLEAN) {
+            peeked = null;
+            return scratch.toString();
+        }
+        throw syntaxError("Expected a string but was " + token);
+    }
+
+    /**
+     * Reads a string value, mapping a JSON null to a Java null
+     */
+    public String nextStringOrNull() throws IOException {
+        if (peek() == Token.NULL) {
+            nextNull();
+            return null;
+        }
+        return nextString();
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        return scratch.charAt(0) == 't';
+    }
+
+    public long nextLong() throws IOException {
+        Token token = peek();
+        if (token == Token.STRING) {
+            peeked = null;
+            return parseLong(readString());
+        }
+        expect(Token.NUMBER);
+        return parseLong(scratch.toString());
+    }
+
+    public double nextDouble() throws IOException {
+        Token token = peek();
+        String text;
+        if (token == Token.STRING) {
+            peeked = null;
+            text = readString();
+        } else {
+            expect(Token.NUMBER);
+            text = scratch.toString();
+        }
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Invalid number: " + text);
+        }
+    }
+
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+    }
+
+    /**
+     * Reads the next value as a plain Java tree
+     * Objects become LinkedHashMaps, arrays Lists, numbers Doubles. Intended for
+     * small documents such as configuration; stream large inputs token by token.
+     */
+    public Object nextValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT:
+                Map<String, Object> object = new LinkedHashMap<>();
+                beginObject();
+                while (hasNext()) {
+                    String name = nextName();
+                    object.put(name, nextValue());
+                }
+                endObject();
+                return object;
+            case BEGIN_ARRAY:
+                List<Object> array = new ArrayList<>();
+                beginArray();
+                while (hasNext()) {
+                    array.add(nextValue());
+                }
+                endArray();
+                return array;
+            case STRING:
+                return nextString();
+            case NUMBER:
+                return nextDouble();
+            case BOOLEAN:
+                return nextBoolean();
+            case NULL:
+                nextNull();
+                return null;
+            default:
+                throw syntaxError("Expected a value but was " + peek());
+        }
+    }
+
+    /**
+     * Skips the next value, including any nested objects or arrays
+     */
+    public void skipValue() throws IOException {
+        int nesting = 0;
+        do {
+            Token token = peek();
+            switch (token) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    nesting++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    nesting++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    nesting--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    nesting--;
+                    break;
+                case NAME:
+                case STRING:
+                    peeked = null;
+                    skipString();
+                    break;
+                case END_DOCUMENT:
+                    throw syntaxError("Unexpected end of input");
+                default:
+                    peeked = null;
+                    break;
+            }
+        } while (nesting > 0);
+    }
+
+    /**
+     * Current line number of the input, for error reporting
+     */
+    public long getLineNumber() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Token helpers
+
+    private Token readValueToken(int c) throws IOException {
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+                return Token.STRING;
+            case -1:
+                throw syntaxError("Unexpected end of input");
+            default:
+                readLiteral((char) c);
+                String literal = scratch.toString();
+                if ("true".equals(literal) || "false".equals(literal)) {
+                    return Token.BOOLEAN;
+                }
+                if ("null".equals(literal)) {
+                    return Token.NULL;
+                }
+                char first = literal.charAt(0);
+                if (first == '-' || (first >= '0' && first <= '9')) {
+                    return Token.NUMBER;
+                }
+                throw syntaxError("Unexpected literal: " + literal);
+        }
+    }
+
+    private void expect(Token expected) throws IOException {
+        Token actual = peek();
+        if (actual != expected) {
+            throw syntaxError("Expected " + expected + " but was " + actual);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (depth == stack.length) {
+            int[] grown = new int[depth * 2];
+            System.arraycopy(stack, 0, grown, 0, depth);
+            stack = grown;
+        }
+        stack[depth++] = scope;
+    }
+
+    private long parseLong(String text) throws IOException {
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Invalid integer: " + text);
+        }
+    }
+
+    // Character level helpers
+
+    private boolean fill() throws IOException {
+        if (pos < limit) {
+            return true;
+        }
+        limit = in.read(buffer, 0, buffer.length);
+        pos = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (fill()) {
+            char c = buffer[pos++];
+            if (c == '\n') {
+                line++;
+            } else if (c != ' ' && c != '\t' && c != '\r' && c != '\uFEFF') {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private void readLiteral(char first) throws IOException {
+        scratch.setLength(0);
+        scratch.append(first);
+        while (fill()) {
+            char c = buffer[pos];
+            if (c == ',' || c == '}' || c == ']' || c == ':' || c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+                return;
+            }
+            scratch.append(c);
+            pos++;
+        }
+    }
+
+    /**
+     * Reads string content after the opening quote into the scratch buffer
+     */
+    private String readString() throws IOException {
+        scratch.setLength(0);
+        while (true) {
+            if (!fill()) {
+                throw syntaxError("Unterminated string");
+            }
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos++];
+                if (c == '"') {
+                    scratch.append(buffer, start, pos - start - 1);
+                    return scratch.toString();
+                }
+                if (c == '\\') {
+                    scratch.append(buffer, start, pos - start - 1);
+                    scratch.append(readEscape());
+                    start = pos;
+                } else if (c == '\n') {
+                    line++;
+                }
+            }
+            scratch.append(buffer, start, pos - start);
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (fill()) {
+            char c = buffer[pos++];
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                readEscape();
+            }
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    private char readEscape() throws IOException {
+        if (!fill()) {
+            throw syntaxError("Unterminated escape sequence");
+        }
+        char escaped = buffer[pos++];
+        switch (escaped) {
+            case 'n': return '\n';
+            case 't': return '\t';
+            case 'r': return '\r';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    if (!fill()) {
+                        throw syntaxError("Unterminated escape sequence");
+                    }
+                    int digit = Character.digit(buffer[pos++], 16);
+                    if (digit < 0) {
+                        throw syntaxError("Invalid unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                return escaped;
+        }
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at line " + line);
+    }
+}
@@ -0,0 +1,236 @@
+package app.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Output file writer shared by every export
+ * Files are written to a temporary sibling and renamed into place, so
+ * readers (and a crashed export) never leave or see a partial file.
+ * Directories known to exist are cached, which saves the exists/mkdirs
+ * round trips that dominate small exports on network storage.
+ *
+ * Whole-file writes are queued to a single I/O thread that drains the
+ * queue in batches; queued writes to the same path are coalesced so only
+ * the latest contents are written. Streamed output (rendered pages,
+ * archives) is written on the caller's thread with the same atomic rename.
+ */
+public class OutputWriter {
+
+    private static final Logger logger = Logger.getLogger(OutputWriter.class.getName());
+
+    // Pending writes are given this long to finish when the JVM exits
+    private static final long SHUTDOWN_DRAIN_SECONDS = 5;
+
+    private static volatile OutputWriter instance;
+
+    private final Set<Path> knownDirectories = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<WriteRequest> queue = new LinkedBlockingQueue<>();
+    private final AtomicLong tempCounter = new AtomicLong();
+    private final Thread ioThread;
+
+    /**
+     * Streams a file's contents into the channel
+     */
+    @FunctionalInterface
+    public interface ChannelWriter {
+        void writeTo(WritableByteChannel channel) throws IOException;
+    }
+
+    private OutputWriter() {
+        this.ioThread = new Thread(this::drain, "output-writer");
+        this.ioThread.setDaemon(true);
+        this.ioThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(SHUTDOWN_DRAIN_SECONDS, TimeUnit.SECONDS)));
+    }
+
+    public static OutputWriter getInstance() {
+        if (instance == null) {
+            synchronized (OutputWriter.class) {
+                if (instance == null) {
+                    instance = new OutputWriter();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Queues a whole-file write on the I/O thread
+     *
+     * @return completes with the target once the file is in place
+     */
+    public CompletableFuture<Path> write(Path target, byte[] contents) {
+        WriteRequest request = new WriteRequest(target.toAbsolutePath().normalize(), contents);
+        queue.add(request);
+        return request.done;
+    }
+
+    /**
+     * Streams a file on the calling thread, then renames it into place
+     * Used for output produced incrementally, so it never has to be held in memory.
+     */
+    public Path writeAtomically(Path target, ChannelWriter writer) throws IOException {
+        writeFile(target.toAbsolutePath().normalize(), writer);
+        return target;
+    }
+
+    /**
+     * Creates the directory (and parents) unless it is already known to exist
+     */
+    public void ensureDirectory(Path directory) throws IOException {
+        Path absolute = directory.toAbsolutePath().normalize();
+        if (knownDirectories.contains(absolute)) {
+            return;
+        }
+        Files.createDirectories(absolute);
+        knownDirectories.add(absolute);
+    }
+
+    /**
+     * Waits until every write queued so far has finished
+     *
+     * @return false if the timeout elapsed first
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        WriteRequest marker = new WriteRequest(null, null);
+        queue.add(marker);
+        try {
+            marker.done.get(timeout, unit);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void writeFile(Path target, ChannelWriter writer) throws IOException {
+        Path directory = target.getParent();
+        if (directory != null) {
+            ensureDirectory(directory);
+        }
+
+        // Same directory, so the rename stays on one file system and can be atomic
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + tempCounter.incrementAndGet() + ".tmp");
+        try {
+            try (FileChannel channel = openTemp(temp)) {
+                writer.writeTo(channel);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private FileChannel openTemp(Path temp) throws IOException {
+        try {
+            return FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (NoSuchFileException e) {
+            // The directory was removed behind our back; forget it and create it again
+            Path directory = temp.getParent();
+            knownDirectories.remove(directory);
+            ensureDirectory(directory);
+            return FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        }
+    }
+
+    // I/O thread
+
+    private void drain() {
+        List<WriteRequest> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch);
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<WriteRequest> batch) {
+        // Latest contents per path; flush markers complete after the writes before them
+        Map<Path, WriteRequest> latest = new LinkedHashMap<>();
+        List<WriteRequest> markers = new ArrayList<>();
+        for (WriteRequest request : batch) {
+            if (request.target == null) {
+                markers.add(request);
+                continue;
+            }
+            WriteRequest superseded = latest.remove(request.target);
+            if (superseded != null) {
+                request.coalesced.add(superseded);
+            }
+            latest.put(request.target, request);
+        }
+
+        for (WriteRequest request : latest.values()) {
+            try {
+                writeAtomically(request.target, channel -> writeFully(channel, ByteBuffer.wrap(request.contents)));
+                request.complete(null);
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Failed to write " + request.target, e);
+                request.complete(e);
+            }
+        }
+        for (WriteRequest marker : markers) {
+            marker.complete(null);
+        }
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static final class WriteRequest {
+        final Path target;
+        final byte[] contents;
+        final CompletableFuture<Path> done = new CompletableFuture<>();
+        final List<WriteRequest> coalesced = new ArrayList<>(0);
+
+        WriteRequest(Path target, byte[] contents) {
+            this.target = target;
+            this.contents = contents;
+        }
+
+        void complete(Exception error) {
+            for (WriteRequest earlier : coalesced) {
+                earlier.complete(error);
+            }
+            if (error == null) {
+                done.complete(target);
+            } else {
+                done.completeExceptionally(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package app.utils;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Immutable, persistent vector (32-way bitmapped trie with a tail buffer)
+ * Every update returns a new vector that shares all untouched nodes with the
+ * original, so appends and point updates cost O(log32 n) and old versions stay
+ * valid and thread-safe forever.
+ */
+public final class PersistentVector<T> implements Iterable<T> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    // Lazily created read-only List view
+    private List<T> listView;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    public static <T> PersistentVector<T> copyOf(Collection<? extends T> values) {
+        if (values instanceof ListView) {
+            @SuppressWarnings("unchecked")
+            PersistentVector<T> shared = ((ListView<T>) values).vector();
+            return shared;
+        }
+        PersistentVector<T> vector = empty();
+        for (T value : values) {
+            vector = vector.append(value);
+        }
+        return vector;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index, size);
+        return (T) arrayFor(index)[index & MASK];
+    }
+
+    /**
+     * Returns a vector with the value appended
+     */
+    public PersistentVector<T> append(T value) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        // Tail is full: push it into the tree and start a new one
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] { value });
+    }
+
+    /**
+     * Returns a vector with the value at index replaced
+     */
+    public PersistentVector<T> set(int index, T value) {
+        checkIndex(index, size);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, doSet(shift, root, index, value), tail);
+    }
+
+    /**
+     * Returns a vector without its last element
+     */
+    public PersistentVector<T> pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Cannot pop an empty vector");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset() > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+
+        Object[] newTail = arrayFor(size - 2);
+        Object[] newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Returns a vector with the element at index removed
+     * Costs O((size - index) log n); elements before index stay shared.
+     */
+    public PersistentVector<T> remove(int index) {
+        checkIndex(index, size);
+        return splice(index, 1, null, false);
+    }
+
+    /**
+     * Returns a vector with the value inserted before index
+     */
+    public PersistentVector<T> insert(int index, T value) {
+        checkIndex(index, size + 1);
+        if (index == size) {
+            return append(value);
+        }
+        return splice(index, 0, value, true);
+    }
+
+    public int indexOf(Object value) {
+        for (int i = 0; i < size; i++) {
+            Object element = arrayFor(i)[i & MASK];
+            if (value == null ? element == null : value.equals(element)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read-only List view over this (immutable) vector
+     */
+    public List<T> asList() {
+        List<T> view = listView;
+        if (view == null) {
+            view = new ListView<>(this);
+            listView = view;
+        }
+        return view;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index;
+            private Object[] chunk = size > 0 ? arrayFor(0) : null;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if ((index & MASK) == 0 && index > 0) {
+                    chunk = arrayFor(index);
+                }
+                return (T) chunk[index++ & MASK];
+            }
+        };
+    }
+
+    // Trie helpers
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] arrayFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        Object[] nodeToInsert;
+        if (level == BITS) {
+            nodeToInsert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[subIndex];
+            nodeToInsert = child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+        result[subIndex] = nodeToInsert;
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] result = new Object[WIDTH];
+        result[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    private static Object[] doSet(int level, Object[] node, int index, Object value) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = value;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result[subIndex] = doSet(level - BITS, (Object[]) node[subIndex], index, value);
+        }
+        return result;
+    }
+
+    private Object[] popTail(int level, Object[] node) {
+        int subIndex = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] newChild = popTail(level - BITS, (Object[]) node[subIndex]);
+            if (newChild == null && subIndex == 0) {
+                return null;
+            }
+            Object[] result = node.clone();
+            result[subIndex] = newChild;
+            return result;
+        }
+        if (subIndex == 0) {
+            return null;
+        }
+        Object[] result = node.clone();
+        result[subIndex] = null;
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PersistentVector<T> splice(int index, int removeCount, T inserted, boolean insert) {
+        int suffixLength = size - index - removeCount;
+        Object[] suffix = new Object[suffixLength];
+        for (int i = 0; i < suffixLength; i++) {
+            int source = index + removeCount + i;
+            suffix[i] = arrayFor(source)[source & MASK];
+        }
+
+        PersistentVector<T> result = this;
+        for (int i = size; i > index; i--) {
+            result = result.pop();
+        }
+        if (insert) {
+            result = result.append(inserted);
+        }
+        for (Object value : suffix) {
+            result = result.append((T) value);
+        }
+        return result;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+        }
+    }
+
+    /**
+     * Unmodifiable List adapter that remembers its backing vector
+     */
+    private static final class ListView<T> extends AbstractList<T> implements RandomAccess {
+        private final PersistentVector<T> vector;
+
+        ListView(PersistentVector<T> vector) {
+            this.vector = vector;
+        }
+
+        PersistentVector<T> vector() {
+            return vector;
+        }
+
+        @Override
+        public T get(int index) {
+            return vector.get(index);
+        }
+
+        @Override
+        public int size() {
+            return vector.size;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return vector.iterator();
+        }
+    }
+}
@@ -5,8 +5,10 @@ import java.awt.Graphics2D;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
-import java.io.File;
 import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Paths;
+import java.util.Random;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import javax.imageio.ImageIO;
@@ -30,15 +32,9 @@ public class QRGenerator {
             // Create a placeholder QR code image
             BufferedImage qrImage = createPlaceholderQR(url, size);
             
-            // Ensure output directory exists
-            File outputFile = new File(outputPath);
-            File parentDir = outputFile.getParentFile();
-            if (parentDir != null && !parentDir.exists()) {
-                parentDir.mkdirs();
-            }
-            
-            // Save the image
-            ImageIO.write(qrImage, "PNG", outputFile);
+            // Save the image (the output writer creates the directory and renames the finished file into place)
+            OutputWriter.getInstance().writeAtomically(Paths.get(outputPath),
+                channel -> ImageIO.write(qrImage, "PNG", Channels.newOutputStream(channel)));
             
             logger.info("QR code generated successfully: " + outputPath);
             return true;
@@ -66,7 +62,7 @@ public class QRGenerator {
         g2d.drawRect(5, 5, size - 10, size - 10);
         
         // Draw QR pattern (simplified)
-        drawQRPattern(g2d, size);
+        drawQRPattern(g2d, size, RenderEnvironment.random(url));
         
         // Add text in center (for demonstration)
         g2d.setColor(Color.BLACK);
@@ -113,8 +109,10 @@ public class QRGenerator {
     
     /**
      * Draws a simplified QR code pattern
+     * 
+     * @param random Source of the module pattern (seeded from the URL in deterministic mode)
      */
-    private static void drawQRPattern(Graphics2D g2d, int size) {
+    private static void drawQRPattern(Graphics2D g2d, int size, Random random) {
         int moduleSize = Math.max(2, size / 25);
         g2d.setColor(Color.BLACK);
         
@@ -126,7 +124,7 @@ public class QRGenerator {
         // Draw some random modules for QR appearance
         for (int i = 0; i < size / moduleSize; i++) {
             for (int j = 0; j < size / moduleSize; j++) {
-                if (Math.random() > 0.6) {
+                if (random.nextDouble() > 0.6) {
                     int x = 10 + i * moduleSize;
                     int y = 10 + j * moduleSize;
                     
@@ -0,0 +1,93 @@
+package app.utils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Clock and randomness used by every renderer
+ * By default these are the system clock and unseeded randomness. In
+ * deterministic mode the clock is fixed and randomness is seeded from a fixed
+ * seed plus the content it decorates, so identical input always renders to
+ * identical bytes, whatever thread or order it renders in. That makes
+ * exports safe to cache and store by content hash, and lets a nightly
+ * re-render be diffed byte for byte.
+ *
+ * Deterministic mode is switched on with -Dresume.deterministic=true, or by
+ * setting SOURCE_DATE_EPOCH (seconds since the epoch, the reproducible-builds
+ * convention), which also sets the fixed time. Without it the fixed time is
+ * 1980-01-01T00:00Z, the earliest time a zip entry can record.
+ */
+public final class RenderEnvironment {
+
+    private static final Logger logger = Logger.getLogger(RenderEnvironment.class.getName());
+
+    public static final Instant DEFAULT_FIXED_TIME = Instant.parse("1980-01-01T00:00:00Z");
+    public static final long DEFAULT_SEED = 0x5EED_2024L;
+
+    private static volatile Clock clock = Clock.systemDefaultZone();
+    private static volatile boolean deterministic;
+    private static volatile long seed;
+
+    static {
+        String epoch = System.getenv("SOURCE_DATE_EPOCH");
+        if (epoch != null && !epoch.isBlank()) {
+            try {
+                useDeterministic(Clock.fixed(Instant.ofEpochSecond(Long.parseLong(epoch.trim())), ZoneOffset.UTC),
+                    DEFAULT_SEED);
+            } catch (NumberFormatException e) {
+                logger.warning("Ignoring SOURCE_DATE_EPOCH that is not a number: " + epoch);
+            }
+        }
+        if (!deterministic && Boolean.getBoolean("resume.deterministic")) {
+            useDeterministic(Clock.fixed(DEFAULT_FIXED_TIME, ZoneOffset.UTC), DEFAULT_SEED);
+        }
+    }
+
+    private RenderEnvironment() {
+    }
+
+    /**
+     * Renders from now on with the given clock and seed
+     */
+    public static void useDeterministic(Clock fixedClock, long randomSeed) {
+        seed = randomSeed;
+        clock = fixedClock;
+        deterministic = true;
+    }
+
+    /**
+     * Back to the system clock and unseeded randomness
+     */
+    public static void useSystem() {
+        deterministic = false;
+        clock = Clock.systemDefaultZone();
+    }
+
+    public static boolean isDeterministic() {
+        return deterministic;
+    }
+
+    public static Clock getClock() {
+        return clock;
+    }
+
+    public static LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    /**
+     * Randomness for decorating the given content
+     * Seeded from the content in deterministic mode, so the same content
+     * always gets the same sequence; unseeded otherwise.
+     */
+    public static Random random(String content) {
+        if (!deterministic) {
+            return new Random();
+        }
+        return new Random(seed * 31 + (content != null ? content.hashCode() : 0));
+    }
+}
@@ -0,0 +1,216 @@
+package app.utils;
+
+import app.model.ResumeData;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads ResumeData records from JSON Lines input
+ * Records are parsed one at a time from a streaming tokenizer with a reusable
+ * character buffer, so only the record being returned is held in memory.
+ * Unknown properties are skipped so ERP exports may carry extra columns.
+ */
+public class ResumeJsonlReader implements Closeable {
+
+    private final JsonReader json;
+    private long recordCount;
+
+    public ResumeJsonlReader(Reader reader) {
+        this.json = new JsonReader(reader);
+    }
+
+    public ResumeJsonlReader(InputStream inputStream) {
+        this(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    public static ResumeJsonlReader open(Path path) throws IOException {
+        return new ResumeJsonlReader(Files.newInputStream(path));
+    }
+
+    /**
+     * Reads the next resume record
+     *
+     * @return the next record, or null when the input is exhausted
+     * @throws IOException if the input is malformed or cannot be read
+     */
+    public ResumeData next() throws IOException {
+        if (json.peek() == JsonReader.Token.END_DOCUMENT) {
+            return null;
+        }
+        ResumeData resumeData = readObject(json);
+        recordCount++;
+        return resumeData;
+    }
+
+    /**
+     * Streams every remaining record to the consumer
+     */
+    public void forEach(Consumer<ResumeData> consumer) throws IOException {
+        ResumeData resumeData;
+        while ((resumeData = next()) != null) {
+            consumer.accept(resumeData);
+        }
+    }
+
+    /**
+     * Reads one resume JSON object from the given reader
+     */
+    public static ResumeData readObject(JsonReader json) throws IOException {
+        ResumeData resumeData = new ResumeData();
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String name = json.nextName();
+            if (json.peek() == JsonReader.Token.NULL) {
+                json.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "fullName": resumeData.setFullName(json.nextString()); break;
+                case "email": resumeData.setEmail(json.nextString()); break;
+                case "phone": resumeData.setPhone(json.nextString()); break;
+                case "address": resumeData.setAddress(json.nextString()); break;
+                case "linkedinUrl": resumeData.setLinkedinUrl(json.nextString()); break;
+                case "githubUrl": resumeData.setGithubUrl(json.nextString()); break;
+                case "portfolioUrl": resumeData.setPortfolioUrl(json.nextString()); break;
+                case "selectedRole": resumeData.setSelectedRole(json.nextString()); break;
+                case "objective": resumeData.setObjective(json.nextString()); break;
+                case "summary": resumeData.setSummary(json.nextString()); break;
+                case "educationList": resumeData.setEducationList(readEducationList(json)); break;
+                case "technicalSkills": resumeData.setTechnicalSkills(readStrings(json)); break;
+                case "softSkills": resumeData.setSoftSkills(readStrings(json)); break;
+                case "projects": resumeData.setProjects(readProjects(json)); break;
+                case "experiences": resumeData.setExperiences(readExperiences(json)); break;
+                case "achievements": resumeData.setAchievements(readStrings(json)); break;
+                case "certifications": resumeData.setCertifications(readStrings(json)); break;
+                case "languages": resumeData.setLanguages(readStrings(json)); break;
+                case "createdAt": resumeData.setCreatedAt(parseTimestamp(json)); break;
+                case "lastModified": resumeData.setLastModified(parseTimestamp(json)); break;
+                case "templateSelected": resumeData.setTemplateSelected(json.nextString()); break;
+                default: json.skipValue(); break;
+            }
+        }
+        json.endObject();
+
+        return resumeData;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        json.close();
+    }
+
+    // Nested list readers
+
+    private static List<ResumeData.Education> readEducationList(JsonReader json) throws IOException {
+        List<ResumeData.Education> educationList = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            ResumeData.Education education = new ResumeData.Education();
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                switch (name) {
+                    case "degree": education.setDegree(json.nextStringOrNull()); break;
+                    case "institution": education.setInstitution(json.nextStringOrNull()); break;
+                    case "year": education.setYear(json.nextStringOrNull()); break;
+                    case "grade": education.setGrade(json.nextStringOrNull()); break;
+                    case "location": education.setLocation(json.nextStringOrNull()); break;
+                    default: json.skipValue(); break;
+                }
+            }
+            json.endObject();
+            educationList.add(education);
+        }
+        json.endArray();
+        return educationList;
+    }
+
+    private static List<ResumeData.Project> readProjects(JsonReader json) throws IOException {
+        List<ResumeData.Project> projects = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            ResumeData.Project project = new ResumeData.Project();
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                switch (name) {
+                    case "title": project.setTitle(json.nextStringOrNull()); break;
+                    case "description": project.setDescription(json.nextStringOrNull()); break;
+                    case "technologies": project.setTechnologies(json.nextStringOrNull()); break;
+                    case "duration": project.setDuration(json.nextStringOrNull()); break;
+                    case "githubUrl": project.setGithubUrl(json.nextStringOrNull()); break;
+                    case "liveUrl": project.setLiveUrl(json.nextStringOrNull()); break;
+                    default: json.skipValue(); break;
+                }
+            }
+            json.endObject();
+            projects.add(project);
+        }
+        json.endArray();
+        return projects;
+    }
+
+    private static List<ResumeData.Experience> readExperiences(JsonReader json) throws IOException {
+        List<ResumeData.Experience> experiences = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            ResumeData.Experience experience = new ResumeData.Experience();
+            json.beginObject();
+            while (json.hasNext()) {
+                String name = json.nextName();
+                switch (name) {
+                    case "company": experience.setCompany(json.nextStringOrNull()); break;
+                    case "position": experience.setPosition(json.nextStringOrNull()); break;
+                    case "duration": experience.setDuration(json.nextStringOrNull()); break;
+                    case "location": experience.setLocation(json.nextStringOrNull()); break;
+                    case "description": experience.setDescription(json.nextStringOrNull()); break;
+                    default: json.skipValue(); break;
+                }
+            }
+            json.endObject();
+            experiences.add(experience);
+        }
+        json.endArray();
+        return experiences;
+    }
+
+    private static List<String> readStrings(JsonReader json) throws IOException {
+        List<String> values = new ArrayList<>();
+        json.beginArray();
+        while (json.hasNext()) {
+            String value = json.nextStringOrNull();
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        json.endArray();
+        return values;
+    }
+
+    private static LocalDateTime parseTimestamp(JsonReader json) throws IOException {
+        String value = json.nextString();
+        try {
+            return LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IOException("Invalid timestamp '" + value + "' at line " + json.getLineNumber(), e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package app.utils;
+
+import app.model.ResumeData;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Writes ResumeData records as JSON Lines (one resume object per line)
+ * Records are streamed straight to the underlying writer, so exporting a
+ * large cohort never needs more than the record currently being written.
+ */
+public class ResumeJsonlWriter implements Closeable, Flushable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer out;
+    private final JsonWriter json;
+    private long recordCount;
+
+    public ResumeJsonlWriter(Writer writer) {
+        this.out = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, BUFFER_SIZE);
+        this.json = new JsonWriter(out);
+    }
+
+    public ResumeJsonlWriter(OutputStream outputStream) {
+        this(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    public static ResumeJsonlWriter open(Path path) throws IOException {
+        return new ResumeJsonlWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Appends one resume as a single JSON line
+     */
+    public void write(ResumeData resumeData) throws IOException {
+        writeObject(json, resumeData);
+        out.write('\n');
+        recordCount++;
+    }
+
+    /**
+     * Writes one resume as a JSON object on the given writer, without a line terminator
+     */
+    public static void writeObject(JsonWriter json, ResumeData resumeData) throws IOException {
+        json.beginObject();
+
+        // Personal Information
+        json.optional("fullName", resumeData.getFullName());
+        json.optional("email", resumeData.getEmail());
+        json.optional("phone", resumeData.getPhone());
+        json.optional("address", resumeData.getAddress());
+        json.optional("linkedinUrl", resumeData.getLinkedinUrl());
+        json.optional("githubUrl", resumeData.getGithubUrl());
+        json.optional("portfolioUrl", resumeData.getPortfolioUrl());
+
+        // Role and Objective
+        json.optional("selectedRole", resumeData.getSelectedRole());
+        json.optional("objective", resumeData.getObjective());
+        json.optional("summary", resumeData.getSummary());
+
+        // Education
+        json.name("educationList").beginArray();
+        for (ResumeData.Education education : resumeData.getEducationList()) {
+            json.beginObject();
+            json.optional("degree", education.getDegree());
+            json.optional("institution", education.getInstitution());
+            json.optional("year", education.getYear());
+            json.optional("grade", education.getGrade());
+            json.optional("location", education.getLocation());
+            json.endObject();
+        }
+        json.endArray();
+
+        // Skills
+        writeStrings(json, "technicalSkills", resumeData.getTechnicalSkills());
+        writeStrings(json, "softSkills", resumeData.getSoftSkills());
+
+        // Projects
+        json.name("projects").beginArray();
+        for (ResumeData.Project project : resumeData.getProjects()) {
+            json.beginObject();
+            json.optional("title", project.getTitle());
+            json.optional("description", project.getDescription());
+            json.optional("technologies", project.getTechnologies());
+            json.optional("duration", project.getDuration());
+            json.optional("githubUrl", project.getGithubUrl());
+            json.optional("liveUrl", project.getLiveUrl());
+            json.endObject();
+        }
+        json.endArray();
+
+        // Work Experience
+        json.name("experiences").beginArray();
+        for (ResumeData.Experience experience : resumeData.getExperiences()) {
+            json.beginObject();
+            json.optional("company", experience.getCompany());
+            json.optional("position", experience.getPosition());
+            json.optional("duration", experience.getDuration());
+            json.optional("location", experience.getLocation());
+            json.optional("description", experience.getDescription());
+            json.endObject();
+        }
+        json.endArray();
+
+        writeStrings(json, "achievements", resumeData.getAchievements());
+        writeStrings(json, "certifications", resumeData.getCertifications());
+        writeStrings(json, "languages", resumeData.getLanguages());
+
+        // Metadata
+        json.optional("createdAt", formatTimestamp(resumeData.getCreatedAt()));
+        json.optional("lastModified", formatTimestamp(resumeData.getLastModified()));
+        json.optional("templateSelected", resumeData.getTemplateSelected());
+
+        json.endObject();
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private static void writeStrings(JsonWriter json, String name, List<String> values) throws IOException {
+        json.name(name).beginArray();
+        if (values != null) {
+            for (String value : values) {
+                json.value(value);
+            }
+        }
+        json.endArray();
+    }
+
+    private static String formatTimestamp(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null;
+    }
+}
@@ -0,0 +1,35 @@
+package app.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for blocking work, on virtual threads where the JDK has them
+ * The build targets Java 17, so the Java 21 factory is looked up at runtime;
+ * on older runtimes a growable pool of daemon platform threads stands in.
+ * Callers bound their own concurrency either way.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * A new thread per task
+     *
+     * @param fallbackName Name prefix for platform threads when virtual threads are unavailable
+     */
+    public static ExecutorService newPerTaskExecutor(String fallbackName) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, fallbackName + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}